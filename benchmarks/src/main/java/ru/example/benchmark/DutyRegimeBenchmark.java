@@ -0,0 +1,68 @@
+package ru.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.example.aggregation.FlightHoursAccumulator;
+import ru.example.aggregation.FlightHoursSummary;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyRegime;
+
+import java.time.LocalDateTime;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк проверки налета одного пилота по режиму труда и отдыха {@link CompiledDutyRegime#evaluate}.
+ * <p>
+ * История пилота — рейс почти каждый день в течение {@code years} лет. Режим {@code rolling} включает окно
+ * 365 дней: время проверки должно расти линейно по количеству дней, а не пропорционально длине окна.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DutyRegimeBenchmark {
+
+    @Param({"1", "10"})
+    private int years;
+
+    @Param({"standard", "rolling"})
+    private String regimeName;
+
+    private FlightHoursSummary summary;
+
+    private CompiledDutyRegime regime;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        Random random = new Random(42L);
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+        LocalDateTime start = LocalDateTime.of(2015, 1, 1, 6, 0);
+        for (int day = 0; day < years * 365; day++) {
+            if (random.nextInt(10) < 8) {
+                LocalDateTime departure = start.plusDays(day).plusMinutes(random.nextInt(12 * 60));
+                accumulator.addFlight(departure, departure.plusMinutes(60 + random.nextInt(10 * 60)));
+            }
+        }
+        summary = accumulator.summarize();
+        regime = ("rolling".equals(regimeName) ? DutyRegime.rolling() : DutyRegime.standard()).compile();
+    }
+
+    @Benchmark
+    public long[] evaluate() {
+        return regime.evaluate(summary);
+    }
+}
@@ -0,0 +1,66 @@
+package ru.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.service.IncrementalFlightTimeService;
+import ru.example.service.IncrementalFlightTimeServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк изменения одного рейса в {@link IncrementalFlightTimeServiceImpl}.
+ * <p>
+ * Расписание загружается один раз на пробу; каждый вызов переносит один рейс на другое время и
+ * возвращает его обратно, поэтому размер расписания в ходе замера не меняется.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IncrementalFlightTimeBenchmark {
+
+    @Param({"1000"})
+    private int pilots;
+
+    @Param({"100000"})
+    private int flights;
+
+    private IncrementalFlightTimeService service;
+
+    private Flight original;
+
+    private Flight moved;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InputPilotsAndFlights input = new RosterGenerator(pilots, flights, 10, 2, 42L).generate();
+        service = new IncrementalFlightTimeServiceImpl();
+        service.load(input);
+        original = input.getFlights().iterator().next();
+        moved = new Flight(original.getId(), original.getAircraftType(), original.getAircraftNumber(),
+                original.getDepartureTime().plusDays(40), original.getArrivalTime().plusDays(40),
+                original.getDepartureAirport(), original.getArrivalAirport(), original.getIdPilots());
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(2)
+    public boolean updateFlight() {
+        return service.updateFlight(moved) & service.updateFlight(original);
+    }
+}
@@ -0,0 +1,156 @@
+package ru.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.example.aggregation.FlightSnapshot;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.service.DataPersistenceService;
+import ru.example.service.DataPersistenceServiceImpl;
+import ru.example.service.PilotFlightHandler;
+import ru.example.service.PilotFlightServiceImpl;
+import ru.example.service.SpecialistWriter;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Collection;
+import java.util.concurrent.TimeUnit;
+
+import static ru.example.config.ObjectMapperConfig.createConfigObjectMapperTime;
+
+/**
+ * Бенчмарк чтения и записи JSON в {@link DataPersistenceServiceImpl}.
+ * <p>
+ * Входной файл и рассчитанный результат готовятся один раз на пробу, поэтому в замер попадает только
+ * работа с JSON: полное и потоковое чтение входных данных, полная и потоковая запись результата.
+ * Для сравнения измеряется открытие двоичного снимка тех же данных и построение результата по нему,
+ * а также полная обработка от входного файла до выходного: потоковая в одном потоке и конвейерная.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class JsonPersistenceBenchmark {
+
+    @Param({"1000"})
+    private int pilots;
+
+    @Param({"10000", "100000"})
+    private int flights;
+
+    @Param({"true", "false"})
+    private boolean indentOutput;
+
+    private DataPersistenceService persistenceService;
+
+    private OutputPilotsAndFlights output;
+
+    private File inputFile;
+
+    private File outputFile;
+
+    private File snapshotFile;
+
+    private PilotFlightServiceImpl pilotFlightService;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        persistenceService = new DataPersistenceServiceImpl(createConfigObjectMapperTime(indentOutput));
+        InputPilotsAndFlights input = new RosterGenerator(pilots, flights, 10, 2, 42L).generate();
+        inputFile = Files.createTempFile("flights-input", ".json").toFile();
+        outputFile = Files.createTempFile("flights-output", ".json").toFile();
+        persistenceService.writeFile(inputFile, input);
+        pilotFlightService = new PilotFlightServiceImpl();
+        output = pilotFlightService.process(input);
+        snapshotFile = Files.createTempFile("flights-snapshot", ".bin").toFile();
+        persistenceService.writeSnapshot(snapshotFile, input.getPilots(), pilotFlightService.savedPilotAndFlights(input),
+                FlightTimePrecision.HOURS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        Files.deleteIfExists(inputFile.toPath());
+        Files.deleteIfExists(outputFile.toPath());
+        Files.deleteIfExists(snapshotFile.toPath());
+    }
+
+    @Benchmark
+    public InputPilotsAndFlights readFile() throws IOException {
+        return persistenceService.readFile(inputFile, InputPilotsAndFlights.class);
+    }
+
+    @Benchmark
+    public void readStreaming(Blackhole blackhole) throws IOException {
+        persistenceService.readPilotsAndFlights(inputFile, new PilotFlightHandler() {
+            @Override
+            public void onPilots(Collection<Pilot> pilots) {
+                blackhole.consume(pilots);
+            }
+
+            @Override
+            public void onFlight(Flight flight) {
+                blackhole.consume(flight);
+            }
+        });
+    }
+
+    @Benchmark
+    public FlightSnapshot openSnapshot() throws IOException {
+        return persistenceService.loadSnapshot(snapshotFile);
+    }
+
+    @Benchmark
+    public OutputPilotsAndFlights processSnapshot() throws IOException {
+        return pilotFlightService.process(persistenceService.loadSnapshot(snapshotFile));
+    }
+
+    @Benchmark
+    public void writeFile() throws IOException {
+        persistenceService.writeFile(outputFile, output);
+    }
+
+    @Benchmark
+    public void writeStreaming() throws IOException {
+        try (SpecialistWriter writer = persistenceService.openSpecialistWriter(outputFile)) {
+            for (Pilot pilot : output.getSpecialists()) {
+                writer.write(pilot);
+            }
+            writer.commit();
+        }
+    }
+
+    @Benchmark
+    public void processStreamingFileToFile() throws IOException {
+        try (SpecialistWriter writer = persistenceService.openSpecialistWriter(outputFile)) {
+            pilotFlightService.process(handler -> persistenceService.readPilotsAndFlights(inputFile, handler), writer);
+            writer.commit();
+        }
+    }
+
+    @Benchmark
+    public void processPipelinedFileToFile() throws IOException {
+        try (SpecialistWriter writer = persistenceService.openSpecialistWriter(outputFile)) {
+            pilotFlightService.processPipelined(handler -> persistenceService.readPilotsAndFlights(inputFile, handler), writer);
+            writer.commit();
+        }
+    }
+}
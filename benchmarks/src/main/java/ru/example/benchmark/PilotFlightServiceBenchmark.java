@@ -0,0 +1,63 @@
+package ru.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.service.PilotFlightService;
+import ru.example.service.PilotFlightServiceImpl;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк полного расчета полетного времени {@link PilotFlightServiceImpl#process}.
+ * <p>
+ * Входные данные генерируются один раз на пробу; измеряются валидация, агрегация и построение
+ * выходной модели без чтения и записи JSON.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class PilotFlightServiceBenchmark {
+
+    @Param({"100", "1000"})
+    private int pilots;
+
+    @Param({"10000", "100000"})
+    private int flights;
+
+    @Param({"0", "20"})
+    private int multiDayPercent;
+
+    @Param({"2", "4"})
+    private int crewSize;
+
+    private InputPilotsAndFlights input;
+
+    private PilotFlightService service;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        input = new RosterGenerator(pilots, flights, multiDayPercent, crewSize, 42L).generate();
+        service = new PilotFlightServiceImpl();
+    }
+
+    @Benchmark
+    public OutputPilotsAndFlights process() {
+        return service.process(input);
+    }
+}
@@ -0,0 +1,122 @@
+package ru.example.benchmark;
+
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+/**
+ * Генератор синтетического расписания для бенчмарков.
+ * <p>
+ * Строит набор пилотов с корректными именами и набор рейсов, распределенных по году.
+ * Параметры позволяют менять число пилотов и рейсов, долю многодневных рейсов и размер экипажа.
+ * Генерация детерминирована: одинаковые параметры и зерно дают одинаковые данные.
+ * </p>
+ */
+public final class RosterGenerator {
+
+    private static final String[] FIRST_NAMES = {
+            "Иван", "Петр", "Алексей", "Сергей", "Дмитрий", "Андрей", "Михаил", "Николай"
+    };
+
+    private static final String[] LAST_NAMES = {
+            "Смирнов", "Иванов", "Кузнецов", "Попов", "Васильев", "Соколов", "Федоров", "Морозов"
+    };
+
+    private static final String[] AIRPORTS = {
+            "SVO", "DME", "VKO", "LED", "AER", "KZN", "OVB", "SVX", "JFK", "LAX"
+    };
+
+    private static final String[] AIRCRAFT_TYPES = {
+            "Boeing 737", "Airbus A320", "Airbus A321", "Sukhoi Superjet 100"
+    };
+
+    private static final LocalDateTime PERIOD_START = LocalDateTime.of(2025, 1, 1, 0, 0);
+
+    private static final int PERIOD_MINUTES = 365 * 24 * 60;
+
+    private final int pilotCount;
+    private final int flightCount;
+    private final int multiDayPercent;
+    private final int crewSize;
+    private final long seed;
+
+    /**
+     * @param pilotCount      Количество пилотов.
+     * @param flightCount     Количество рейсов.
+     * @param multiDayPercent Доля рейсов длительностью больше суток, в процентах.
+     * @param crewSize        Количество пилотов в экипаже каждого рейса.
+     * @param seed            Зерно генератора случайных чисел.
+     */
+    public RosterGenerator(int pilotCount, int flightCount, int multiDayPercent, int crewSize, long seed) {
+        if (pilotCount < crewSize) {
+            throw new IllegalArgumentException("Пилотов меньше, чем размер экипажа");
+        }
+        this.pilotCount = pilotCount;
+        this.flightCount = flightCount;
+        this.multiDayPercent = multiDayPercent;
+        this.crewSize = crewSize;
+        this.seed = seed;
+    }
+
+    /**
+     * Генерирует входные данные.
+     *
+     * @return Новый набор пилотов и рейсов.
+     */
+    public InputPilotsAndFlights generate() {
+        Random random = new Random(seed);
+        return new InputPilotsAndFlights(generatePilots(), generateFlights(random));
+    }
+
+    private Set<Pilot> generatePilots() {
+        Set<Pilot> pilots = new LinkedHashSet<>();
+        for (long id = 1; id <= pilotCount; id++) {
+            String fullName = FIRST_NAMES[(int) (id % FIRST_NAMES.length)] + " "
+                    + LAST_NAMES[(int) (id / FIRST_NAMES.length % LAST_NAMES.length)];
+            pilots.add(new Pilot(id, fullName, new ArrayList<>()));
+        }
+        return pilots;
+    }
+
+    private Set<Flight> generateFlights(Random random) {
+        Set<Flight> flights = new LinkedHashSet<>();
+        for (long id = 1; id <= flightCount; id++) {
+            LocalDateTime departure = PERIOD_START.plusMinutes(random.nextInt(PERIOD_MINUTES));
+            int durationMinutes = random.nextInt(100) < multiDayPercent
+                    ? 24 * 60 + random.nextInt(48 * 60)
+                    : 30 + random.nextInt(10 * 60);
+            int from = random.nextInt(AIRPORTS.length);
+            int to = (from + 1 + random.nextInt(AIRPORTS.length - 1)) % AIRPORTS.length;
+            flights.add(new Flight(
+                    id,
+                    AIRCRAFT_TYPES[random.nextInt(AIRCRAFT_TYPES.length)],
+                    "RA-" + (10000 + random.nextInt(90000)),
+                    departure,
+                    departure.plusMinutes(durationMinutes),
+                    AIRPORTS[from],
+                    AIRPORTS[to],
+                    generateCrew(random)));
+        }
+        return flights;
+    }
+
+    private List<Long> generateCrew(Random random) {
+        Set<Long> crew = new HashSet<>();
+        List<Long> idPilots = new ArrayList<>(crewSize);
+        while (idPilots.size() < crewSize) {
+            long idPilot = 1 + random.nextInt(pilotCount);
+            if (crew.add(idPilot)) {
+                idPilots.add(idPilot);
+            }
+        }
+        return idPilots;
+    }
+}
@@ -0,0 +1,73 @@
+package ru.example.benchmark;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.validator.FlightValidator;
+import ru.example.validator.PilotValidator;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Бенчмарк валидаторов {@link FlightValidator} и {@link PilotValidator}.
+ * <p>
+ * Каждый вызов проверяет {@value #BATCH} корректных объектов; результат приводится к времени
+ * проверки одного объекта.
+ * </p>
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ValidatorBenchmark {
+
+    private static final int BATCH = 1024;
+
+    private final FlightValidator flightValidator = new FlightValidator();
+
+    private final PilotValidator pilotValidator = new PilotValidator();
+
+    private Flight[] flights;
+
+    private Pilot[] pilots;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InputPilotsAndFlights input = new RosterGenerator(BATCH, BATCH, 10, 2, 42L).generate();
+        flights = input.getFlights().toArray(new Flight[0]);
+        pilots = input.getPilots().toArray(new Pilot[0]);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void validateFlight(Blackhole blackhole) {
+        for (Flight flight : flights) {
+            flightValidator.validate(flight);
+            blackhole.consume(flight);
+        }
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(BATCH)
+    public void validatePilot(Blackhole blackhole) {
+        for (Pilot pilot : pilots) {
+            pilotValidator.validate(pilot);
+            blackhole.consume(pilot);
+        }
+    }
+}
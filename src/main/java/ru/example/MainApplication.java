@@ -1,5 +1,6 @@
 package ru.example;
 
+import ru.example.config.ProcessingConfig;
 import ru.example.runner.PilotServiceRunner;
 
 /**
@@ -15,10 +16,10 @@ public class MainApplication {
      * Точка входа в приложение. Этот метод создаёт экземпляр {@link PilotServiceRunner} и
      * вызывает его метод {@link PilotServiceRunner#run}, инициируя выполнение сервиса.
      *
-     * @param args Параметры командной строки (не используются в данном классе).
+     * @param args Параметры командной строки, см. {@link ProcessingConfig#fromArgs(String[])}.
      */
     public static void main(String[] args) {
-        PilotServiceRunner pilot = new PilotServiceRunner();
+        PilotServiceRunner pilot = new PilotServiceRunner(ProcessingConfig.fromArgs(args));
         pilot.run();
     }
 }
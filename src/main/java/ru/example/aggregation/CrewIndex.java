@@ -0,0 +1,118 @@
+package ru.example.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Обратный индекс «пилот → рейсы», построенный по экипажам {@link FlightStore}.
+ * <p>
+ * Индекс строится один раз в два прохода по экипажам: сначала подсчитывается количество рейсов каждого
+ * пилота, затем индексы рейсов раскладываются в заранее выделенный массив. Рейсы пилота занимают
+ * непрерывный отрезок этого массива в порядке их индексов в хранилище. Пилоты адресуются примитивным
+ * идентификатором: идентификаторы хранятся отсортированными, поиск выполняется двоичным поиском.
+ * </p>
+ */
+public final class CrewIndex {
+
+    private final long[] pilotIds;
+    private final int[] offsets;
+    private final int[] flightIndices;
+
+    private CrewIndex(long[] pilotIds, int[] offsets, int[] flightIndices) {
+        this.pilotIds = pilotIds;
+        this.offsets = offsets;
+        this.flightIndices = flightIndices;
+    }
+
+    /**
+     * Строит индекс по экипажам всех рейсов хранилища.
+     *
+     * @param store Хранилище рейсов.
+     * @return Индекс рейсов по пилотам.
+     */
+    public static CrewIndex build(FlightStore store) {
+        int crewSize = store.size() == 0 ? 0 : store.crewEnd(store.size() - 1);
+        long[] crewIds = new long[crewSize];
+        for (int position = 0; position < crewSize; position++) {
+            crewIds[position] = store.crewId(position);
+        }
+        long[] pilotIds = distinctSorted(crewIds);
+
+        // Первый проход: количество рейсов каждого пилота
+        int[] offsets = new int[pilotIds.length + 1];
+        for (int position = 0; position < crewSize; position++) {
+            offsets[Arrays.binarySearch(pilotIds, store.crewId(position)) + 1]++;
+        }
+        for (int slot = 0; slot < pilotIds.length; slot++) {
+            offsets[slot + 1] += offsets[slot];
+        }
+
+        // Второй проход: раскладываем индексы рейсов по отрезкам пилотов
+        int[] flightIndices = new int[crewSize];
+        int[] next = Arrays.copyOf(offsets, pilotIds.length);
+        for (int flight = 0; flight < store.size(); flight++) {
+            for (int position = store.crewStart(flight); position < store.crewEnd(flight); position++) {
+                flightIndices[next[Arrays.binarySearch(pilotIds, store.crewId(position))]++] = flight;
+            }
+        }
+        return new CrewIndex(pilotIds, offsets, flightIndices);
+    }
+
+    /**
+     * @return Количество различных пилотов в экипажах.
+     */
+    public int pilotCount() {
+        return pilotIds.length;
+    }
+
+    /**
+     * @param slot Номер пилота в индексе, от {@code 0} до {@link #pilotCount()}.
+     * @return Идентификатор пилота; пилоты упорядочены по возрастанию идентификатора.
+     */
+    public long pilotId(int slot) {
+        return pilotIds[slot];
+    }
+
+    /**
+     * @param pilotId Идентификатор пилота.
+     * @return Номер пилота в индексе или отрицательное число, если пилот не входит ни в один экипаж.
+     */
+    public int slotOf(long pilotId) {
+        return Arrays.binarySearch(pilotIds, pilotId);
+    }
+
+    /**
+     * @param slot Номер пилота в индексе.
+     * @return Позиция первого рейса пилота.
+     */
+    public int flightsStart(int slot) {
+        return offsets[slot];
+    }
+
+    /**
+     * @param slot Номер пилота в индексе.
+     * @return Позиция, следующая за последним рейсом пилота.
+     */
+    public int flightsEnd(int slot) {
+        return offsets[slot + 1];
+    }
+
+    /**
+     * @param position Позиция от {@link #flightsStart(int)} до {@link #flightsEnd(int)}.
+     * @return Индекс рейса в {@link FlightStore}.
+     */
+    public int flightIndex(int position) {
+        return flightIndices[position];
+    }
+
+    private static long[] distinctSorted(long[] values) {
+        long[] sorted = values.clone();
+        Arrays.sort(sorted);
+        int distinct = 0;
+        for (int i = 0; i < sorted.length; i++) {
+            if (i == 0 || sorted[i] != sorted[i - 1]) {
+                sorted[distinct++] = sorted[i];
+            }
+        }
+        return Arrays.copyOf(sorted, distinct);
+    }
+}
@@ -0,0 +1,102 @@
+package ru.example.aggregation;
+
+import java.time.LocalDate;
+
+/**
+ * Арифметика над номерами дней от эпохи (1970-01-01) без создания объектов {@link LocalDate}.
+ * <p>
+ * Неделя начинается с понедельника, ее номер — количество полных недель от понедельника 1969-12-29.
+ * Номер месяца — {@code год * 12 + (месяц - 1)}. Преобразования между днями и месяцами выполняются
+ * по алгоритмам пролептического григорианского календаря (days_from_civil / civil_from_days).
+ * </p>
+ */
+public final class EpochDays {
+
+    /**
+     * Количество секунд в сутках.
+     */
+    public static final long SECONDS_PER_DAY = 86_400L;
+
+    /**
+     * Сдвиг от 0000-03-01 до 1970-01-01 в днях.
+     */
+    private static final long DAYS_0000_TO_1970 = 719_468L;
+    private static final long DAYS_PER_ERA = 146_097L;
+
+    private EpochDays() {
+    }
+
+    /**
+     * @param epochSecond Секунды от эпохи.
+     * @return Номер дня, содержащего указанную секунду.
+     * @throws ArithmeticException если номер дня не помещается в {@code int}.
+     */
+    public static int dayOfEpochSecond(long epochSecond) {
+        return Math.toIntExact(Math.floorDiv(epochSecond, SECONDS_PER_DAY));
+    }
+
+    /**
+     * @param epochDay Номер дня.
+     * @return Номер недели (с понедельника), содержащей день.
+     */
+    public static int weekIndex(int epochDay) {
+        return Math.floorDiv(epochDay + 3, 7);
+    }
+
+    /**
+     * @param weekIndex Номер недели.
+     * @return Номер дня понедельника этой недели.
+     */
+    public static int firstDayOfWeek(int weekIndex) {
+        return weekIndex * 7 - 3;
+    }
+
+    /**
+     * @param epochDay Номер дня.
+     * @return Номер месяца ({@code год * 12 + (месяц - 1)}), содержащего день.
+     */
+    public static int monthIndex(int epochDay) {
+        long z = epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(z, DAYS_PER_ERA);
+        long dayOfEra = z - era * DAYS_PER_ERA;
+        long yearOfEra = (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long shiftedMonth = (5 * dayOfYear + 2) / 153;
+        long month = shiftedMonth < 10 ? shiftedMonth + 3 : shiftedMonth - 9;
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        return (int) (year * 12 + month - 1);
+    }
+
+    /**
+     * @param monthIndex Номер месяца.
+     * @return Номер первого дня месяца.
+     */
+    public static int firstDayOfMonth(int monthIndex) {
+        long year = Math.floorDiv(monthIndex, 12);
+        int month = Math.floorMod(monthIndex, 12) + 1;
+        if (month <= 2) {
+            year--;
+        }
+        long era = Math.floorDiv(year, 400);
+        long yearOfEra = year - era * 400;
+        long dayOfYear = (153L * (month > 2 ? month - 3 : month + 9) + 2) / 5;
+        long dayOfEra = yearOfEra * 365 + yearOfEra / 4 - yearOfEra / 100 + dayOfYear;
+        return (int) (era * DAYS_PER_ERA + dayOfEra - DAYS_0000_TO_1970);
+    }
+
+    /**
+     * @param monthIndex Номер месяца.
+     * @return Номер последнего дня месяца.
+     */
+    public static int lastDayOfMonth(int monthIndex) {
+        return firstDayOfMonth(monthIndex + 1) - 1;
+    }
+
+    /**
+     * @param monthIndex Номер месяца.
+     * @return Первый день месяца в виде {@link LocalDate}.
+     */
+    public static LocalDate monthToLocalDate(int monthIndex) {
+        return LocalDate.of(Math.floorDiv(monthIndex, 12), Math.floorMod(monthIndex, 12) + 1, 1);
+    }
+}
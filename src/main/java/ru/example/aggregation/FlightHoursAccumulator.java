@@ -0,0 +1,190 @@
+package ru.example.aggregation;
+
+import ru.example.validator.ValidatedFlight;
+import ru.example.zone.ZoneTimeline;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+
+/**
+ * Накопитель налета одного пилота.
+ * <p>
+ * Часы полета хранятся по номерам дней от эпохи, количество полетов — по номерам месяцев вылета,
+ * в {@link IntLongHashMap}. Рейс, пересекающий полночь, разбивается по дням арифметически по секундам
+ * от эпохи; время каждого дня переводится в единицы {@link FlightTimePrecision} — по умолчанию отсекается
+ * до целых часов, как {@link java.time.Duration#toHours()}. Все суммы хранятся в этих единицах.
+ * Границы дней — полночь в базовом часовом поясе накопителя ({@link ZoneTimeline}); по умолчанию — UTC,
+ * то есть полночь того времени, в котором заданы рейсы. Отрезок дня — фактическое время между моментами,
+ * поэтому переход на летнее время в базовом поясе учитывается точно.
+ * Недельные и месячные суммы вычисляются в {@link #summarize()} по номерам дней.
+ * </p>
+ */
+public final class FlightHoursAccumulator {
+
+    private final FlightTimePrecision precision;
+    private final ZoneTimeline base;
+    private final IntLongHashMap hoursByDay = new IntLongHashMap();
+    private final IntLongHashMap flightsByMonth = new IntLongHashMap();
+
+    /**
+     * Создает накопитель налета в целых часах.
+     */
+    public FlightHoursAccumulator() {
+        this(FlightTimePrecision.HOURS);
+    }
+
+    /**
+     * @param precision Точность учета налета.
+     */
+    public FlightHoursAccumulator(FlightTimePrecision precision) {
+        this(precision, ZoneTimeline.UTC);
+    }
+
+    /**
+     * @param precision Точность учета налета.
+     * @param base Базовый часовой пояс, в котором налет делится по дням.
+     */
+    public FlightHoursAccumulator(FlightTimePrecision precision, ZoneTimeline base) {
+        this.precision = precision;
+        this.base = base;
+    }
+
+    /**
+     * Учитывает рейс, прошедший валидацию, по заранее вычисленному времени вылета и прилета.
+     *
+     * @param flight Рейс, прошедший валидацию.
+     */
+    public void addFlight(ValidatedFlight flight) {
+        addFlight(flight.getDepartureEpochSecond(), flight.getArrivalEpochSecond());
+    }
+
+    /**
+     * Учитывает рейс из колоночного хранилища, читая время вылета и прилета напрямую из его массивов.
+     *
+     * @param store Хранилище рейсов.
+     * @param index Индекс рейса в хранилище.
+     */
+    public void addFlight(FlightStore store, int index) {
+        addFlight(store.departureEpochSecond(index), store.arrivalEpochSecond(index));
+    }
+
+    /**
+     * Учитывает полет между двумя моментами локального времени.
+     *
+     * @param departureTime Время вылета.
+     * @param arrivalTime Время прилета.
+     */
+    public void addFlight(LocalDateTime departureTime, LocalDateTime arrivalTime) {
+        addFlight(departureTime.toEpochSecond(ZoneOffset.UTC), arrivalTime.toEpochSecond(ZoneOffset.UTC));
+    }
+
+    /**
+     * Учитывает полет между двумя моментами, заданными секундами от эпохи.
+     *
+     * @param departureEpochSecond Время вылета.
+     * @param arrivalEpochSecond Время прилета.
+     */
+    public void addFlight(long departureEpochSecond, long arrivalEpochSecond) {
+        int departureDay = EpochDays.dayOfEpochSecond(base.toLocalSecond(departureEpochSecond));
+        flightsByMonth.addTo(EpochDays.monthIndex(departureDay), 1L);
+
+        long start = departureEpochSecond;
+        int day = departureDay;
+        while (start < arrivalEpochSecond) {
+            long nextMidnight = base.toEpochSecond((day + 1L) * EpochDays.SECONDS_PER_DAY);
+            long end = Math.min(arrivalEpochSecond, nextMidnight);
+            hoursByDay.addTo(day, precision.fromSeconds(end - start));
+            start = nextMidnight;
+            day++;
+        }
+    }
+
+    /**
+     * @return {@code true}, если не учтено ни одного рейса.
+     */
+    public boolean isEmpty() {
+        return flightsByMonth.isEmpty();
+    }
+
+    /**
+     * Строит упорядоченную сводку налета по дням, неделям и месяцам.
+     * <p>
+     * Сводка строится одним проходом по дням в порядке возрастания. В том же проходе для каждого месяца
+     * вычисляются максимальный налет за день и максимальный налет за неделю среди недель, пересекающихся
+     * с этим месяцем. Неделя пересекается не более чем с двумя месяцами, поэтому при закрытии недели
+     * достаточно проверить два последних месяца, а при открытии месяца — последнюю закрытую неделю.
+     * </p>
+     *
+     * @return Сводка налета.
+     */
+    public FlightHoursSummary summarize() {
+        int[] days = hoursByDay.sortedKeys();
+        int n = days.length;
+        long[] dayHours = new long[n];
+        int[] weeks = new int[n];
+        long[] weekHours = new long[n];
+        int[] months = new int[n];
+        long[] monthHours = new long[n];
+        long[] monthFlights = new long[n];
+        long[] monthMaxDayHours = new long[n];
+        long[] monthMaxWeekHours = new long[n];
+
+        int w = -1;
+        int m = -1;
+        for (int i = 0; i < n; i++) {
+            int day = days[i];
+            long hours = hoursByDay.get(day);
+            dayHours[i] = hours;
+
+            int week = EpochDays.weekIndex(day);
+            if (w < 0 || weeks[w] != week) {
+                if (w >= 0) {
+                    applyWeek(weeks[w], weekHours[w], months, monthMaxWeekHours, m);
+                }
+                weeks[++w] = week;
+            }
+
+            int month = EpochDays.monthIndex(day);
+            if (m < 0 || months[m] != month) {
+                months[++m] = month;
+                monthFlights[m] = flightsByMonth.get(month);
+                // Предыдущая неделя может захватывать начало месяца без налета в эти дни
+                if (w > 0 && overlaps(weeks[w - 1], month)) {
+                    monthMaxWeekHours[m] = weekHours[w - 1];
+                }
+            }
+
+            weekHours[w] += hours;
+            monthHours[m] += hours;
+            monthMaxDayHours[m] = Math.max(monthMaxDayHours[m], hours);
+        }
+        if (w >= 0) {
+            applyWeek(weeks[w], weekHours[w], months, monthMaxWeekHours, m);
+        }
+
+        int weekCount = w + 1;
+        int monthCount = m + 1;
+        return new FlightHoursSummary(days, dayHours,
+                Arrays.copyOf(weeks, weekCount), Arrays.copyOf(weekHours, weekCount),
+                Arrays.copyOf(months, monthCount), Arrays.copyOf(monthHours, monthCount),
+                Arrays.copyOf(monthFlights, monthCount), Arrays.copyOf(monthMaxDayHours, monthCount),
+                Arrays.copyOf(monthMaxWeekHours, monthCount));
+    }
+
+    /**
+     * Учитывает закрытую неделю в максимумах последних двух месяцев, с которыми она пересекается.
+     */
+    private static void applyWeek(int week, long hours, int[] months, long[] monthMaxWeekHours, int lastMonth) {
+        for (int m = lastMonth; m >= 0 && m >= lastMonth - 1; m--) {
+            if (overlaps(week, months[m])) {
+                monthMaxWeekHours[m] = Math.max(monthMaxWeekHours[m], hours);
+            }
+        }
+    }
+
+    private static boolean overlaps(int week, int month) {
+        int weekStart = EpochDays.firstDayOfWeek(week);
+        return weekStart <= EpochDays.lastDayOfMonth(month) && weekStart + 6 >= EpochDays.firstDayOfMonth(month);
+    }
+}
@@ -0,0 +1,108 @@
+package ru.example.aggregation;
+
+import java.time.LocalDate;
+
+/**
+ * Упорядоченная сводка налета одного пилота, построенная {@link FlightHoursAccumulator#summarize()}.
+ * <p>
+ * Содержит параллельные примитивные массивы: дни с налетом и часы за день, недели (с понедельника)
+ * и часы за неделю, месяцы, часы и количество полетов за месяц. Для каждого месяца также хранятся
+ * максимальный налет за день месяца и максимальный налет за неделю, пересекающуюся с месяцем.
+ * Налет хранится в единицах {@link FlightTimePrecision} накопителя.
+ * Все массивы отсортированы по возрастанию номера дня, недели или месяца (см. {@link EpochDays}).
+ * </p>
+ */
+public final class FlightHoursSummary implements PilotHoursSeries {
+
+    private final int[] days;
+    private final long[] dayHours;
+    private final int[] weeks;
+    private final long[] weekHours;
+    private final int[] months;
+    private final long[] monthHours;
+    private final long[] monthFlights;
+    private final long[] monthMaxDayHours;
+    private final long[] monthMaxWeekHours;
+
+    FlightHoursSummary(int[] days, long[] dayHours, int[] weeks, long[] weekHours,
+                       int[] months, long[] monthHours, long[] monthFlights,
+                       long[] monthMaxDayHours, long[] monthMaxWeekHours) {
+        this.days = days;
+        this.dayHours = dayHours;
+        this.weeks = weeks;
+        this.weekHours = weekHours;
+        this.months = months;
+        this.monthHours = monthHours;
+        this.monthFlights = monthFlights;
+        this.monthMaxDayHours = monthMaxDayHours;
+        this.monthMaxWeekHours = monthMaxWeekHours;
+    }
+
+    @Override
+    public int dayCount() {
+        return days.length;
+    }
+
+    @Override
+    public int day(int index) {
+        return days[index];
+    }
+
+    @Override
+    public long dayHours(int index) {
+        return dayHours[index];
+    }
+
+    public int weekCount() {
+        return weeks.length;
+    }
+
+    public int week(int index) {
+        return weeks[index];
+    }
+
+    public long weekHours(int index) {
+        return weekHours[index];
+    }
+
+    @Override
+    public int monthCount() {
+        return months.length;
+    }
+
+    @Override
+    public int month(int index) {
+        return months[index];
+    }
+
+    @Override
+    public long monthHours(int index) {
+        return monthHours[index];
+    }
+
+    public long monthFlights(int index) {
+        return monthFlights[index];
+    }
+
+    @Override
+    public long monthMaxDayHours(int index) {
+        return monthMaxDayHours[index];
+    }
+
+    @Override
+    public long monthMaxWeekHours(int index) {
+        return monthMaxWeekHours[index];
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder builder = new StringBuilder("{");
+        for (int i = 0; i < days.length; i++) {
+            if (i > 0) {
+                builder.append(", ");
+            }
+            builder.append(LocalDate.ofEpochDay(days[i])).append('=').append(dayHours[i]);
+        }
+        return builder.append('}').toString();
+    }
+}
@@ -0,0 +1,680 @@
+package ru.example.aggregation;
+
+import ru.example.model.Pilot;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.ToIntFunction;
+
+/**
+ * Двоичный снимок рейсов, индекса экипажей и налета пилотов, открываемый через {@link FileChannel#map}.
+ * <p>
+ * Снимок содержит колонки {@link FlightStore}, {@link CrewIndex}, пилотов с именами и для каждого пилота
+ * индекса — готовую сводку налета ({@link FlightHoursSummary}) по дням, неделям и месяцам. При открытии
+ * файл только отображается в память: значения читаются из отображения при обращении, без разбора и
+ * без копирования массивов.
+ * </p>
+ * <p>
+ * Формат (порядок байтов big-endian): заголовок из десяти {@code int} — сигнатура, версия, количество
+ * рейсов, длина массива экипажей, количество пилотов индекса, количество пилотов, количество дней,
+ * недель и месяцев в сводках, точность налета в сводках (порядковый номер {@link FlightTimePrecision}). Затем все колонки {@code long}, все колонки {@code int} и
+ * словари строк (количество, смещения {@code int[n + 1]}, байты UTF-8). Колонки сводок хранятся в формате
+ * CSR: смещения по пилотам индекса и значения подряд. Размер файла ограничен 2 ГБ: смещения колонок
+ * хранятся в {@code int}, поэтому запись проверяет размер заранее и не создает файл, который нельзя открыть.
+ * </p>
+ */
+public final class FlightSnapshot {
+
+    private static final int MAGIC = 0x46544D53; // "FTMS"
+    private static final int VERSION = 2;
+    private static final int HEADER_SIZE = 10 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+
+    private final int flightCount;
+    private final int crewSize;
+    private final int indexPilotCount;
+    private final int pilotCount;
+    private final FlightTimePrecision precision;
+
+    private final int ids;
+    private final int departureSeconds;
+    private final int arrivalSeconds;
+    private final int crewIds;
+    private final int indexPilotIds;
+    private final int pilotIds;
+    private final int dayHours;
+    private final int weekHours;
+    private final int monthHours;
+    private final int monthFlights;
+    private final int monthMaxDayHours;
+    private final int monthMaxWeekHours;
+
+    private final int aircraftTypeCodes;
+    private final int aircraftNumberCodes;
+    private final int departureAirportCodes;
+    private final int arrivalAirportCodes;
+    private final int crewOffsets;
+    private final int indexOffsets;
+    private final int flightIndices;
+    private final int dayOffsets;
+    private final int days;
+    private final int weekOffsets;
+    private final int weeks;
+    private final int monthOffsets;
+    private final int months;
+    private final int pilotNameCodes;
+
+    private final int aircraftTypes;
+    private final int aircraftNumbers;
+    private final int airports;
+    private final int pilotNames;
+
+    private FlightSnapshot(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer;
+        if (buffer.capacity() < HEADER_SIZE || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Файл не является снимком рейсов");
+        }
+        if (buffer.getInt(4) != VERSION) {
+            throw new IOException("Неподдерживаемая версия снимка: " + buffer.getInt(4));
+        }
+        flightCount = buffer.getInt(8);
+        crewSize = buffer.getInt(12);
+        indexPilotCount = buffer.getInt(16);
+        pilotCount = buffer.getInt(20);
+        int dayCount = buffer.getInt(24);
+        int weekCount = buffer.getInt(28);
+        int monthCount = buffer.getInt(32);
+        int precisionOrdinal = buffer.getInt(36);
+        if (precisionOrdinal < 0 || precisionOrdinal >= FlightTimePrecision.values().length) {
+            throw new IOException("Неизвестная точность налета в снимке: " + precisionOrdinal);
+        }
+        precision = FlightTimePrecision.values()[precisionOrdinal];
+
+        ids = HEADER_SIZE;
+        departureSeconds = ids + flightCount * Long.BYTES;
+        arrivalSeconds = departureSeconds + flightCount * Long.BYTES;
+        crewIds = arrivalSeconds + flightCount * Long.BYTES;
+        indexPilotIds = crewIds + crewSize * Long.BYTES;
+        pilotIds = indexPilotIds + indexPilotCount * Long.BYTES;
+        dayHours = pilotIds + pilotCount * Long.BYTES;
+        weekHours = dayHours + dayCount * Long.BYTES;
+        monthHours = weekHours + weekCount * Long.BYTES;
+        monthFlights = monthHours + monthCount * Long.BYTES;
+        monthMaxDayHours = monthFlights + monthCount * Long.BYTES;
+        monthMaxWeekHours = monthMaxDayHours + monthCount * Long.BYTES;
+
+        aircraftTypeCodes = monthMaxWeekHours + monthCount * Long.BYTES;
+        aircraftNumberCodes = aircraftTypeCodes + flightCount * Integer.BYTES;
+        departureAirportCodes = aircraftNumberCodes + flightCount * Integer.BYTES;
+        arrivalAirportCodes = departureAirportCodes + flightCount * Integer.BYTES;
+        crewOffsets = arrivalAirportCodes + flightCount * Integer.BYTES;
+        indexOffsets = crewOffsets + (flightCount + 1) * Integer.BYTES;
+        flightIndices = indexOffsets + (indexPilotCount + 1) * Integer.BYTES;
+        dayOffsets = flightIndices + crewSize * Integer.BYTES;
+        days = dayOffsets + (indexPilotCount + 1) * Integer.BYTES;
+        weekOffsets = days + dayCount * Integer.BYTES;
+        weeks = weekOffsets + (indexPilotCount + 1) * Integer.BYTES;
+        monthOffsets = weeks + weekCount * Integer.BYTES;
+        months = monthOffsets + (indexPilotCount + 1) * Integer.BYTES;
+        pilotNameCodes = months + monthCount * Integer.BYTES;
+
+        aircraftTypes = pilotNameCodes + pilotCount * Integer.BYTES;
+        aircraftNumbers = nextDictionary(aircraftTypes);
+        airports = nextDictionary(aircraftNumbers);
+        pilotNames = nextDictionary(airports);
+        if (nextDictionary(pilotNames) != buffer.capacity()) {
+            throw new IOException("Размер снимка не соответствует заголовку");
+        }
+    }
+
+    /**
+     * Открывает снимок, отображая файл в память только для чтения.
+     *
+     * @param file Файл снимка.
+     * @return Снимок, читающий данные непосредственно из отображения файла.
+     * @throws IOException Если файл не удалось прочитать или он не является снимком.
+     */
+    public static FlightSnapshot open(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            if (channel.size() > Integer.MAX_VALUE) {
+                throw new IOException("Снимок больше 2 ГБ не поддерживается: " + file.getPath());
+            }
+            // Отображение остается действительным после закрытия канала
+            MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            return new FlightSnapshot(mapped);
+        }
+    }
+
+    /**
+     * Записывает снимок рейсов и налета пилотов.
+     * <p>
+     * Для рейсов строится {@link CrewIndex}, и для каждого пилота индекса налет рассчитывается
+     * через {@link FlightHoursAccumulator}. Пилоты записываются в порядке возрастания идентификатора,
+     * пилоты без идентификатора не записываются.
+     * </p>
+     *
+     * @param file Файл снимка.
+     * @param pilots Пилоты.
+     * @param store Рейсы, прошедшие валидацию.
+     * @throws IOException Если произошла ошибка при записи.
+     */
+    public static void write(File file, Collection<Pilot> pilots, FlightStore store) throws IOException {
+        write(file, pilots, store, FlightTimePrecision.HOURS);
+    }
+
+    /**
+     * Записывает снимок рейсов и налета пилотов, рассчитанного с указанной точностью.
+     *
+     * @param file Файл снимка.
+     * @param pilots Пилоты.
+     * @param store Рейсы, прошедшие валидацию.
+     * @param precision Точность налета в сводках.
+     * @throws IOException Если произошла ошибка при записи.
+     */
+    public static void write(File file, Collection<Pilot> pilots, FlightStore store,
+                             FlightTimePrecision precision) throws IOException {
+        CrewIndex index = CrewIndex.build(store);
+        FlightHoursSummary[] summaries = new FlightHoursSummary[index.pilotCount()];
+        long dayCount = 0;
+        long weekCount = 0;
+        long monthCount = 0;
+        for (int slot = 0; slot < index.pilotCount(); slot++) {
+            FlightHoursAccumulator accumulator = new FlightHoursAccumulator(precision);
+            for (int position = index.flightsStart(slot); position < index.flightsEnd(slot); position++) {
+                accumulator.addFlight(store, index.flightIndex(position));
+            }
+            summaries[slot] = accumulator.summarize();
+            dayCount += summaries[slot].dayCount();
+            weekCount += summaries[slot].weekCount();
+            monthCount += summaries[slot].monthCount();
+        }
+        List<Pilot> sortedPilots = pilots.stream()
+                .filter(pilot -> pilot.getIdPilot() != null)
+                .sorted(Comparator.comparing(Pilot::getIdPilot))
+                .toList();
+        int crewSize = store.size() == 0 ? 0 : store.crewEnd(store.size() - 1);
+        StringDictionary names = new StringDictionary();
+        int[] nameCodes = new int[sortedPilots.size()];
+        for (int i = 0; i < nameCodes.length; i++) {
+            nameCodes[i] = names.code(sortedPilots.get(i).getFullName());
+        }
+        byte[][][] dictionaries = {encode(store.aircraftTypes()), encode(store.aircraftNumbers()),
+                encode(store.airports()), encode(names)};
+
+        long size = size(store.size(), crewSize, index.pilotCount(), sortedPilots.size(),
+                dayCount, weekCount, monthCount, dictionaries);
+        if (size > Integer.MAX_VALUE) {
+            throw new IOException("Снимок больше 2 ГБ не поддерживается: " + file.getPath() + ", " + size + " байт");
+        }
+
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 64 * 1024))) {
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(store.size());
+            out.writeInt(crewSize);
+            out.writeInt(index.pilotCount());
+            out.writeInt(sortedPilots.size());
+            out.writeInt((int) dayCount);
+            out.writeInt((int) weekCount);
+            out.writeInt((int) monthCount);
+            out.writeInt(precision.ordinal());
+
+            // Колонки long
+            for (int i = 0; i < store.size(); i++) {
+                out.writeLong(store.id(i));
+            }
+            for (int i = 0; i < store.size(); i++) {
+                out.writeLong(store.departureEpochSecond(i));
+            }
+            for (int i = 0; i < store.size(); i++) {
+                out.writeLong(store.arrivalEpochSecond(i));
+            }
+            for (int position = 0; position < crewSize; position++) {
+                out.writeLong(store.crewId(position));
+            }
+            for (int slot = 0; slot < index.pilotCount(); slot++) {
+                out.writeLong(index.pilotId(slot));
+            }
+            for (Pilot pilot : sortedPilots) {
+                out.writeLong(pilot.getIdPilot());
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int d = 0; d < summary.dayCount(); d++) {
+                    out.writeLong(summary.dayHours(d));
+                }
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int w = 0; w < summary.weekCount(); w++) {
+                    out.writeLong(summary.weekHours(w));
+                }
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int m = 0; m < summary.monthCount(); m++) {
+                    out.writeLong(summary.monthHours(m));
+                }
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int m = 0; m < summary.monthCount(); m++) {
+                    out.writeLong(summary.monthFlights(m));
+                }
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int m = 0; m < summary.monthCount(); m++) {
+                    out.writeLong(summary.monthMaxDayHours(m));
+                }
+            }
+            for (FlightHoursSummary summary : summaries) {
+                for (int m = 0; m < summary.monthCount(); m++) {
+                    out.writeLong(summary.monthMaxWeekHours(m));
+                }
+            }
+
+            // Колонки int
+            for (int i = 0; i < store.size(); i++) {
+                out.writeInt(store.aircraftTypeCode(i));
+            }
+            for (int i = 0; i < store.size(); i++) {
+                out.writeInt(store.aircraftNumberCode(i));
+            }
+            for (int i = 0; i < store.size(); i++) {
+                out.writeInt(store.departureAirportCode(i));
+            }
+            for (int i = 0; i < store.size(); i++) {
+                out.writeInt(store.arrivalAirportCode(i));
+            }
+            out.writeInt(0);
+            for (int i = 0; i < store.size(); i++) {
+                out.writeInt(store.crewEnd(i));
+            }
+            for (int slot = 0; slot <= index.pilotCount(); slot++) {
+                out.writeInt(slot == index.pilotCount() ? crewSize : index.flightsStart(slot));
+            }
+            for (int position = 0; position < crewSize; position++) {
+                out.writeInt(index.flightIndex(position));
+            }
+            writeOffsets(out, summaries, FlightHoursSummary::dayCount);
+            for (FlightHoursSummary summary : summaries) {
+                for (int d = 0; d < summary.dayCount(); d++) {
+                    out.writeInt(summary.day(d));
+                }
+            }
+            writeOffsets(out, summaries, FlightHoursSummary::weekCount);
+            for (FlightHoursSummary summary : summaries) {
+                for (int w = 0; w < summary.weekCount(); w++) {
+                    out.writeInt(summary.week(w));
+                }
+            }
+            writeOffsets(out, summaries, FlightHoursSummary::monthCount);
+            for (FlightHoursSummary summary : summaries) {
+                for (int m = 0; m < summary.monthCount(); m++) {
+                    out.writeInt(summary.month(m));
+                }
+            }
+            for (int nameCode : nameCodes) {
+                out.writeInt(nameCode);
+            }
+
+            // Словари строк
+            for (byte[][] dictionary : dictionaries) {
+                writeDictionary(out, dictionary);
+            }
+        }
+    }
+
+    private static void writeOffsets(DataOutputStream out, FlightHoursSummary[] summaries,
+                                     ToIntFunction<FlightHoursSummary> count) throws IOException {
+        int offset = 0;
+        out.writeInt(offset);
+        for (FlightHoursSummary summary : summaries) {
+            offset += count.applyAsInt(summary);
+            out.writeInt(offset);
+        }
+    }
+
+    /**
+     * Рассчитывает размер файла снимка в {@code long}, чтобы превышение 2 ГБ не терялось при переполнении.
+     *
+     * @param flightCount Количество рейсов.
+     * @param crewSize Длина массива экипажей.
+     * @param indexPilotCount Количество пилотов индекса.
+     * @param pilotCount Количество пилотов.
+     * @param dayCount Количество дней в сводках.
+     * @param weekCount Количество недель в сводках.
+     * @param monthCount Количество месяцев в сводках.
+     * @param dictionaries Значения словарей строк в UTF-8.
+     * @return Размер файла в байтах.
+     */
+    static long size(long flightCount, long crewSize, long indexPilotCount, long pilotCount,
+                     long dayCount, long weekCount, long monthCount, byte[][]... dictionaries) {
+        long longColumns = 3 * flightCount + crewSize + indexPilotCount + pilotCount
+                + dayCount + weekCount + 4 * monthCount;
+        long intColumns = 4 * flightCount + (flightCount + 1) + 4 * (indexPilotCount + 1) + crewSize
+                + dayCount + weekCount + monthCount + pilotCount;
+        long size = HEADER_SIZE + longColumns * Long.BYTES + intColumns * Integer.BYTES;
+        for (byte[][] values : dictionaries) {
+            size += (values.length + 2L) * Integer.BYTES;
+            for (byte[] value : values) {
+                size += value.length;
+            }
+        }
+        return size;
+    }
+
+    private static byte[][] encode(StringDictionary dictionary) {
+        byte[][] values = new byte[dictionary.size()][];
+        for (int code = 0; code < values.length; code++) {
+            values[code] = dictionary.value(code).getBytes(StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static void writeDictionary(DataOutputStream out, byte[][] values) throws IOException {
+        out.writeInt(values.length);
+        int offset = 0;
+        out.writeInt(offset);
+        for (byte[] value : values) {
+            offset += value.length;
+            out.writeInt(offset);
+        }
+        for (byte[] value : values) {
+            out.write(value);
+        }
+    }
+
+    private int nextDictionary(int dictionary) {
+        int count = buffer.getInt(dictionary);
+        int bytes = dictionary + Integer.BYTES + (count + 1) * Integer.BYTES;
+        return bytes + buffer.getInt(bytes - Integer.BYTES);
+    }
+
+    private String dictionaryValue(int dictionary, int code) {
+        if (code == StringDictionary.NULL_CODE) {
+            return null;
+        }
+        int count = buffer.getInt(dictionary);
+        Objects.checkIndex(code, count);
+        int offsets = dictionary + Integer.BYTES;
+        int bytes = offsets + (count + 1) * Integer.BYTES;
+        int start = buffer.getInt(offsets + code * Integer.BYTES);
+        int end = buffer.getInt(offsets + (code + 1) * Integer.BYTES);
+        byte[] value = new byte[end - start];
+        buffer.get(bytes + start, value);
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private long longAt(int column, int index) {
+        return buffer.getLong(column + index * Long.BYTES);
+    }
+
+    private int intAt(int column, int index) {
+        return buffer.getInt(column + index * Integer.BYTES);
+    }
+
+    // Рейсы
+
+    /**
+     * @return Количество рейсов.
+     */
+    public int flightCount() {
+        return flightCount;
+    }
+
+    public long flightId(int flight) {
+        return longAt(ids, Objects.checkIndex(flight, flightCount));
+    }
+
+    public long departureEpochSecond(int flight) {
+        return longAt(departureSeconds, Objects.checkIndex(flight, flightCount));
+    }
+
+    public long arrivalEpochSecond(int flight) {
+        return longAt(arrivalSeconds, Objects.checkIndex(flight, flightCount));
+    }
+
+    public String aircraftType(int flight) {
+        return dictionaryValue(aircraftTypes, intAt(aircraftTypeCodes, Objects.checkIndex(flight, flightCount)));
+    }
+
+    public String aircraftNumber(int flight) {
+        return dictionaryValue(aircraftNumbers, intAt(aircraftNumberCodes, Objects.checkIndex(flight, flightCount)));
+    }
+
+    public String departureAirport(int flight) {
+        return dictionaryValue(airports, intAt(departureAirportCodes, Objects.checkIndex(flight, flightCount)));
+    }
+
+    public String arrivalAirport(int flight) {
+        return dictionaryValue(airports, intAt(arrivalAirportCodes, Objects.checkIndex(flight, flightCount)));
+    }
+
+    /**
+     * @param flight Индекс рейса.
+     * @return Позиция первого пилота экипажа рейса.
+     */
+    public int crewStart(int flight) {
+        return intAt(crewOffsets, Objects.checkIndex(flight, flightCount));
+    }
+
+    /**
+     * @param flight Индекс рейса.
+     * @return Позиция, следующая за последним пилотом экипажа рейса.
+     */
+    public int crewEnd(int flight) {
+        return intAt(crewOffsets, Objects.checkIndex(flight, flightCount) + 1);
+    }
+
+    /**
+     * @param position Позиция в массиве экипажей.
+     * @return Идентификатор пилота.
+     */
+    public long crewId(int position) {
+        return longAt(crewIds, Objects.checkIndex(position, crewSize));
+    }
+
+    // Пилоты
+
+    /**
+     * @return Количество пилотов; пилоты упорядочены по возрастанию идентификатора.
+     */
+    public int pilotCount() {
+        return pilotCount;
+    }
+
+    public long pilotId(int pilot) {
+        return longAt(pilotIds, Objects.checkIndex(pilot, pilotCount));
+    }
+
+    public String pilotFullName(int pilot) {
+        return dictionaryValue(pilotNames, intAt(pilotNameCodes, Objects.checkIndex(pilot, pilotCount)));
+    }
+
+    // Индекс экипажей
+
+    /**
+     * @return Количество различных пилотов в экипажах (см. {@link CrewIndex#pilotCount()}).
+     */
+    public int indexPilotCount() {
+        return indexPilotCount;
+    }
+
+    public long indexPilotId(int slot) {
+        return longAt(indexPilotIds, Objects.checkIndex(slot, indexPilotCount));
+    }
+
+    /**
+     * @param pilotId Идентификатор пилота.
+     * @return Номер пилота в индексе или отрицательное число, если пилот не входит ни в один экипаж.
+     */
+    public int slotOf(long pilotId) {
+        int low = 0;
+        int high = indexPilotCount - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            long value = longAt(indexPilotIds, mid);
+            if (value < pilotId) {
+                low = mid + 1;
+            } else if (value > pilotId) {
+                high = mid - 1;
+            } else {
+                return mid;
+            }
+        }
+        return -(low + 1);
+    }
+
+    public int flightsStart(int slot) {
+        return intAt(indexOffsets, Objects.checkIndex(slot, indexPilotCount));
+    }
+
+    public int flightsEnd(int slot) {
+        return intAt(indexOffsets, Objects.checkIndex(slot, indexPilotCount) + 1);
+    }
+
+    public int flightIndex(int position) {
+        return intAt(flightIndices, Objects.checkIndex(position, crewSize));
+    }
+
+    // Налет пилотов индекса
+
+    /**
+     * @return Точность, с которой рассчитан налет в сводках снимка.
+     */
+    public FlightTimePrecision precision() {
+        return precision;
+    }
+
+    public int daysStart(int slot) {
+        return intAt(dayOffsets, Objects.checkIndex(slot, indexPilotCount));
+    }
+
+    public int daysEnd(int slot) {
+        return intAt(dayOffsets, Objects.checkIndex(slot, indexPilotCount) + 1);
+    }
+
+    public int day(int position) {
+        return intAt(days, position);
+    }
+
+    public long dayHours(int position) {
+        return longAt(dayHours, position);
+    }
+
+    public int weeksStart(int slot) {
+        return intAt(weekOffsets, Objects.checkIndex(slot, indexPilotCount));
+    }
+
+    public int weeksEnd(int slot) {
+        return intAt(weekOffsets, Objects.checkIndex(slot, indexPilotCount) + 1);
+    }
+
+    public int week(int position) {
+        return intAt(weeks, position);
+    }
+
+    public long weekHours(int position) {
+        return longAt(weekHours, position);
+    }
+
+    /**
+     * @param slot Номер пилота в индексе.
+     * @return Позиция первого месяца пилота; месяцы пилота упорядочены по возрастанию.
+     */
+    public int monthsStart(int slot) {
+        return intAt(monthOffsets, Objects.checkIndex(slot, indexPilotCount));
+    }
+
+    /**
+     * @param slot Номер пилота в индексе.
+     * @return Позиция, следующая за последним месяцем пилота.
+     */
+    public int monthsEnd(int slot) {
+        return intAt(monthOffsets, Objects.checkIndex(slot, indexPilotCount) + 1);
+    }
+
+    public int month(int position) {
+        return intAt(months, position);
+    }
+
+    public long monthHours(int position) {
+        return longAt(monthHours, position);
+    }
+
+    public long monthFlights(int position) {
+        return longAt(monthFlights, position);
+    }
+
+    public long monthMaxDayHours(int position) {
+        return longAt(monthMaxDayHours, position);
+    }
+
+    public long monthMaxWeekHours(int position) {
+        return longAt(monthMaxWeekHours, position);
+    }
+
+    /**
+     * Возвращает налет пилота индекса по дням и месяцам без копирования: значения читаются из отображения.
+     *
+     * @param slot Номер пилота в индексе.
+     * @return Налет пилота по месяцам.
+     */
+    public PilotHoursSeries hours(int slot) {
+        int start = monthsStart(slot);
+        int count = monthsEnd(slot) - start;
+        int daysStart = daysStart(slot);
+        int dayCount = daysEnd(slot) - daysStart;
+        return new PilotHoursSeries() {
+            @Override
+            public int dayCount() {
+                return dayCount;
+            }
+
+            @Override
+            public int day(int index) {
+                return FlightSnapshot.this.day(daysStart + Objects.checkIndex(index, dayCount));
+            }
+
+            @Override
+            public long dayHours(int index) {
+                return FlightSnapshot.this.dayHours(daysStart + Objects.checkIndex(index, dayCount));
+            }
+
+            @Override
+            public int monthCount() {
+                return count;
+            }
+
+            @Override
+            public int month(int index) {
+                return FlightSnapshot.this.month(start + Objects.checkIndex(index, count));
+            }
+
+            @Override
+            public long monthHours(int index) {
+                return FlightSnapshot.this.monthHours(start + Objects.checkIndex(index, count));
+            }
+
+            @Override
+            public long monthMaxDayHours(int index) {
+                return FlightSnapshot.this.monthMaxDayHours(start + Objects.checkIndex(index, count));
+            }
+
+            @Override
+            public long monthMaxWeekHours(int index) {
+                return FlightSnapshot.this.monthMaxWeekHours(start + Objects.checkIndex(index, count));
+            }
+        };
+    }
+}
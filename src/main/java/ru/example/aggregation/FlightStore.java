@@ -0,0 +1,215 @@
+package ru.example.aggregation;
+
+import ru.example.model.Flight;
+import ru.example.validator.ValidatedFlight;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Колоночное хранилище рейсов, прошедших валидацию.
+ * <p>
+ * Вместо объектов {@link Flight} каждый атрибут рейса хранится в отдельном примитивном массиве:
+ * идентификаторы, время вылета и прилета в секундах от эпохи, коды типа и номера
+ * воздушного судна и аэропортов из {@link StringDictionary}. Экипажи хранятся в формате CSR: идентификаторы
+ * пилотов всех рейсов подряд в одном массиве и смещения начала экипажа каждого рейса.
+ * Рейс адресуется индексом в порядке добавления.
+ * </p>
+ */
+public final class FlightStore {
+
+    private static final int DEFAULT_CAPACITY = 64;
+
+    private final StringDictionary aircraftTypes = new StringDictionary();
+    private final StringDictionary aircraftNumbers = new StringDictionary();
+    private final StringDictionary airports = new StringDictionary();
+
+    private long[] ids;
+    private long[] departureSeconds;
+    private long[] arrivalSeconds;
+    private int[] aircraftTypeCodes;
+    private int[] aircraftNumberCodes;
+    private int[] departureAirportCodes;
+    private int[] arrivalAirportCodes;
+    private int[] crewOffsets;
+    private long[] crewIds;
+
+    private int size;
+    private int crewSize;
+
+    /**
+     * Создает пустое хранилище.
+     */
+    public FlightStore() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустое хранилище, вмещающее {@code expectedFlights} рейсов без расширения.
+     *
+     * @param expectedFlights Ожидаемое количество рейсов.
+     */
+    public FlightStore(int expectedFlights) {
+        int capacity = Math.max(1, expectedFlights);
+        ids = new long[capacity];
+        departureSeconds = new long[capacity];
+        arrivalSeconds = new long[capacity];
+        aircraftTypeCodes = new int[capacity];
+        aircraftNumberCodes = new int[capacity];
+        departureAirportCodes = new int[capacity];
+        arrivalAirportCodes = new int[capacity];
+        crewOffsets = new int[capacity + 1];
+        crewIds = new long[capacity * 2];
+    }
+
+    /**
+     * Добавляет рейс, прошедший валидацию.
+     *
+     * @param validatedFlight Рейс, прошедший валидацию.
+     * @return Индекс рейса в хранилище.
+     */
+    public int add(ValidatedFlight validatedFlight) {
+        Flight flight = validatedFlight.getFlight();
+        if (size == ids.length) {
+            grow();
+        }
+        int index = size;
+        ids[index] = flight.getId();
+        departureSeconds[index] = validatedFlight.getDepartureEpochSecond();
+        arrivalSeconds[index] = validatedFlight.getArrivalEpochSecond();
+        aircraftTypeCodes[index] = aircraftTypes.code(flight.getAircraftType());
+        aircraftNumberCodes[index] = aircraftNumbers.code(flight.getAircraftNumber());
+        departureAirportCodes[index] = airports.code(flight.getDepartureAirport());
+        arrivalAirportCodes[index] = airports.code(flight.getArrivalAirport());
+
+        List<Long> crew = flight.getIdPilots();
+        if (crewSize + crew.size() > crewIds.length) {
+            crewIds = Arrays.copyOf(crewIds, Math.max(crewIds.length * 2, crewSize + crew.size()));
+        }
+        for (Long pilotId : crew) {
+            crewIds[crewSize++] = pilotId;
+        }
+        crewOffsets[index + 1] = crewSize;
+        size++;
+        return index;
+    }
+
+    /**
+     * @return Количество рейсов в хранилище.
+     */
+    public int size() {
+        return size;
+    }
+
+    public long id(int index) {
+        return ids[index];
+    }
+
+    public long departureEpochSecond(int index) {
+        return departureSeconds[index];
+    }
+
+    public long arrivalEpochSecond(int index) {
+        return arrivalSeconds[index];
+    }
+
+    public String aircraftType(int index) {
+        return aircraftTypes.value(aircraftTypeCodes[index]);
+    }
+
+    public String aircraftNumber(int index) {
+        return aircraftNumbers.value(aircraftNumberCodes[index]);
+    }
+
+    public String departureAirport(int index) {
+        return airports.value(departureAirportCodes[index]);
+    }
+
+    public String arrivalAirport(int index) {
+        return airports.value(arrivalAirportCodes[index]);
+    }
+
+    int aircraftTypeCode(int index) {
+        return aircraftTypeCodes[index];
+    }
+
+    int aircraftNumberCode(int index) {
+        return aircraftNumberCodes[index];
+    }
+
+    int departureAirportCode(int index) {
+        return departureAirportCodes[index];
+    }
+
+    int arrivalAirportCode(int index) {
+        return arrivalAirportCodes[index];
+    }
+
+    StringDictionary aircraftTypes() {
+        return aircraftTypes;
+    }
+
+    StringDictionary aircraftNumbers() {
+        return aircraftNumbers;
+    }
+
+    StringDictionary airports() {
+        return airports;
+    }
+
+    /**
+     * @param index Индекс рейса.
+     * @return Позиция первого пилота экипажа рейса в массиве экипажей.
+     */
+    public int crewStart(int index) {
+        return crewOffsets[index];
+    }
+
+    /**
+     * @param index Индекс рейса.
+     * @return Позиция, следующая за последним пилотом экипажа рейса.
+     */
+    public int crewEnd(int index) {
+        return crewOffsets[index + 1];
+    }
+
+    /**
+     * @param position Позиция в массиве экипажей, от {@link #crewStart(int)} до {@link #crewEnd(int)}.
+     * @return Идентификатор пилота.
+     */
+    public long crewId(int position) {
+        return crewIds[position];
+    }
+
+    /**
+     * Восстанавливает объект {@link Flight} по индексу рейса.
+     *
+     * @param index Индекс рейса.
+     * @return Новый объект рейса.
+     */
+    public Flight toFlight(int index) {
+        List<Long> crew = new ArrayList<>(crewEnd(index) - crewStart(index));
+        for (int position = crewStart(index); position < crewEnd(index); position++) {
+            crew.add(crewIds[position]);
+        }
+        return new Flight(ids[index], aircraftType(index), aircraftNumber(index),
+                LocalDateTime.ofEpochSecond(departureSeconds[index], 0, ZoneOffset.UTC),
+                LocalDateTime.ofEpochSecond(arrivalSeconds[index], 0, ZoneOffset.UTC),
+                departureAirport(index), arrivalAirport(index), crew);
+    }
+
+    private void grow() {
+        int capacity = ids.length * 2;
+        ids = Arrays.copyOf(ids, capacity);
+        departureSeconds = Arrays.copyOf(departureSeconds, capacity);
+        arrivalSeconds = Arrays.copyOf(arrivalSeconds, capacity);
+        aircraftTypeCodes = Arrays.copyOf(aircraftTypeCodes, capacity);
+        aircraftNumberCodes = Arrays.copyOf(aircraftNumberCodes, capacity);
+        departureAirportCodes = Arrays.copyOf(departureAirportCodes, capacity);
+        arrivalAirportCodes = Arrays.copyOf(arrivalAirportCodes, capacity);
+        crewOffsets = Arrays.copyOf(crewOffsets, capacity + 1);
+    }
+}
@@ -0,0 +1,46 @@
+package ru.example.aggregation;
+
+/**
+ * Точность учета налета: единица, в которой накапливается время рейса по дням.
+ * <p>
+ * Рейс разбивается по дням арифметически по секундам от эпохи; отрезок рейса в каждом дне переводится
+ * в единицы точности с отсечением остатка. Все суммы по дням, неделям и месяцам, а также лимиты
+ * правил налета хранятся в этих единицах как {@code long}.
+ * </p>
+ */
+public enum FlightTimePrecision {
+
+    /**
+     * Целые часы: отрезок рейса в каждом дне отсекается до целых часов, как {@link java.time.Duration#toHours()}.
+     * Исходный способ расчета.
+     */
+    HOURS(3_600L),
+
+    /**
+     * Целые минуты: отрезки суммируются без потери неполных часов, часы вычисляются по итоговым суммам.
+     */
+    MINUTES(60L);
+
+    private static final long SECONDS_PER_HOUR = 3_600L;
+
+    private final long unitSeconds;
+
+    FlightTimePrecision(long unitSeconds) {
+        this.unitSeconds = unitSeconds;
+    }
+
+    /**
+     * @param seconds Длительность в секундах.
+     * @return Длительность в единицах точности с отсечением остатка.
+     */
+    public long fromSeconds(long seconds) {
+        return seconds / unitSeconds;
+    }
+
+    /**
+     * @return Количество единиц точности в часе.
+     */
+    public long unitsPerHour() {
+        return SECONDS_PER_HOUR / unitSeconds;
+    }
+}
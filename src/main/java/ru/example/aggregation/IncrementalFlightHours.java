@@ -0,0 +1,184 @@
+package ru.example.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Налет одного пилота, поддерживающий добавление и удаление рейсов.
+ * <p>
+ * В отличие от {@link FlightHoursAccumulator}, суммы по неделям и месяцам хранятся постоянно и
+ * обновляются при каждом изменении, поэтому показатели любого месяца вычисляются без полного пересчета:
+ * максимум за день — не более чем по 31 дню месяца, максимум за неделю — не более чем по 6 неделям.
+ * Рейс разбивается по дням так же, как в {@link FlightHoursAccumulator}, поэтому удаление рейса
+ * вычитает ровно те часы, которые были добавлены.
+ * </p>
+ * <p>
+ * Месяц присутствует в налете, пока в нем есть хотя бы один день с отрезком рейса, в том числе
+ * отрезком короче единицы точности, — так же, как в {@link FlightHoursAccumulator#summarize()}.
+ * </p>
+ */
+public final class IncrementalFlightHours {
+
+    private final FlightTimePrecision precision;
+    private final IntLongHashMap hoursByDay = new IntLongHashMap();
+    private final IntLongHashMap segmentsByDay = new IntLongHashMap();
+    private final IntLongHashMap daysByMonth = new IntLongHashMap();
+    private final IntLongHashMap hoursByWeek = new IntLongHashMap();
+    private final IntLongHashMap hoursByMonth = new IntLongHashMap();
+    private final IntLongHashMap flightsByMonth = new IntLongHashMap();
+
+    /**
+     * Создает налет в целых часах.
+     */
+    public IncrementalFlightHours() {
+        this(FlightTimePrecision.HOURS);
+    }
+
+    /**
+     * @param precision Точность учета налета; все суммы хранятся в ее единицах.
+     */
+    public IncrementalFlightHours(FlightTimePrecision precision) {
+        this.precision = precision;
+    }
+
+    /**
+     * Учитывает рейс.
+     *
+     * @param departureEpochSecond Время вылета.
+     * @param arrivalEpochSecond Время прилета.
+     */
+    public void addFlight(long departureEpochSecond, long arrivalEpochSecond) {
+        apply(departureEpochSecond, arrivalEpochSecond, 1);
+    }
+
+    /**
+     * Исключает ранее учтенный рейс с тем же временем вылета и прилета.
+     *
+     * @param departureEpochSecond Время вылета.
+     * @param arrivalEpochSecond Время прилета.
+     */
+    public void removeFlight(long departureEpochSecond, long arrivalEpochSecond) {
+        apply(departureEpochSecond, arrivalEpochSecond, -1);
+    }
+
+    private void apply(long departureEpochSecond, long arrivalEpochSecond, int sign) {
+        int departureDay = EpochDays.dayOfEpochSecond(departureEpochSecond);
+        addOrRemove(flightsByMonth, EpochDays.monthIndex(departureDay), sign);
+
+        long start = departureEpochSecond;
+        int day = departureDay;
+        while (start < arrivalEpochSecond) {
+            long nextMidnight = (day + 1L) * EpochDays.SECONDS_PER_DAY;
+            long hours = sign * precision.fromSeconds(Math.min(arrivalEpochSecond, nextMidnight) - start);
+            int month = EpochDays.monthIndex(day);
+
+            long segments = segmentsByDay.addTo(day, sign);
+            if (segments == 0) {
+                segmentsByDay.remove(day);
+                hoursByDay.remove(day);
+                addOrRemove(daysByMonth, month, -1);
+            } else {
+                if (segments == 1 && sign > 0) {
+                    daysByMonth.addTo(month, 1);
+                }
+                hoursByDay.addTo(day, hours);
+            }
+            addOrRemove(hoursByWeek, EpochDays.weekIndex(day), hours);
+            addOrRemove(hoursByMonth, month, hours);
+
+            start = nextMidnight;
+            day++;
+        }
+    }
+
+    /**
+     * Прибавляет значение к ключу и удаляет ключ, если значение стало нулевым.
+     */
+    private static void addOrRemove(IntLongHashMap map, int key, long delta) {
+        if (delta != 0 && map.addTo(key, delta) == 0) {
+            map.remove(key);
+        }
+    }
+
+    /**
+     * Возвращает месяцы, показатели которых зависят от рейса: месяцы всех недель, которые он затрагивает.
+     * Неделя на стыке месяцев влияет на недельный максимум обоих месяцев.
+     *
+     * @param departureEpochSecond Время вылета.
+     * @param arrivalEpochSecond Время прилета.
+     * @return Номера месяцев (см. {@link EpochDays#monthIndex(int)}) в порядке возрастания, без повторов.
+     */
+    public static int[] affectedMonths(long departureEpochSecond, long arrivalEpochSecond) {
+        int firstWeek = EpochDays.weekIndex(EpochDays.dayOfEpochSecond(departureEpochSecond));
+        int lastWeek = EpochDays.weekIndex(EpochDays.dayOfEpochSecond(Math.max(departureEpochSecond, arrivalEpochSecond - 1)));
+        int firstMonth = EpochDays.monthIndex(EpochDays.firstDayOfWeek(firstWeek));
+        int lastMonth = EpochDays.monthIndex(EpochDays.firstDayOfWeek(lastWeek) + 6);
+
+        int[] months = new int[lastMonth - firstMonth + 1];
+        Arrays.setAll(months, i -> firstMonth + i);
+        return months;
+    }
+
+    /**
+     * @return {@code true}, если не учтено ни одного рейса.
+     */
+    public boolean isEmpty() {
+        return flightsByMonth.isEmpty() && segmentsByDay.isEmpty();
+    }
+
+    /**
+     * @param month Номер месяца.
+     * @return {@code true}, если в месяце есть хотя бы один день с отрезком рейса.
+     */
+    public boolean hasMonth(int month) {
+        return daysByMonth.get(month) > 0;
+    }
+
+    /**
+     * @param day Номер дня.
+     * @return Налет за день в часах.
+     */
+    public long dayHours(int day) {
+        return hoursByDay.get(day);
+    }
+
+    /**
+     * @param month Номер месяца.
+     * @return Налет за месяц в часах.
+     */
+    public long monthHours(int month) {
+        return hoursByMonth.get(month);
+    }
+
+    /**
+     * @param month Номер месяца.
+     * @return Количество рейсов с вылетом в этом месяце.
+     */
+    public long monthFlights(int month) {
+        return flightsByMonth.get(month);
+    }
+
+    /**
+     * @param month Номер месяца.
+     * @return Максимальный налет за день этого месяца.
+     */
+    public long monthMaxDayHours(int month) {
+        long max = 0;
+        for (int day = EpochDays.firstDayOfMonth(month); day <= EpochDays.lastDayOfMonth(month); day++) {
+            max = Math.max(max, hoursByDay.get(day));
+        }
+        return max;
+    }
+
+    /**
+     * @param month Номер месяца.
+     * @return Максимальный налет среди недель (с понедельника), пересекающихся с месяцем.
+     */
+    public long monthMaxWeekHours(int month) {
+        long max = 0;
+        int lastWeek = EpochDays.weekIndex(EpochDays.lastDayOfMonth(month));
+        for (int week = EpochDays.weekIndex(EpochDays.firstDayOfMonth(month)); week <= lastWeek; week++) {
+            max = Math.max(max, hoursByWeek.get(week));
+        }
+        return max;
+    }
+}
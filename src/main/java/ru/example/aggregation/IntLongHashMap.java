@@ -0,0 +1,191 @@
+package ru.example.aggregation;
+
+import java.util.Arrays;
+
+/**
+ * Хеш-таблица с открытой адресацией, отображающая {@code int} в {@code long}.
+ * <p>
+ * Ключи и значения хранятся в примитивных массивах, поэтому добавление значений не создает объектов
+ * (кроме редкого расширения таблицы). Используется для накопления налета по номерам дней и месяцев.
+ * Значение {@link Integer#MIN_VALUE} зарезервировано как признак пустой ячейки и не может быть ключом.
+ * </p>
+ */
+public final class IntLongHashMap {
+
+    private static final int EMPTY = Integer.MIN_VALUE;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private int[] keys;
+    private long[] values;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    /**
+     * Создает пустую таблицу с начальной емкостью по умолчанию.
+     */
+    public IntLongHashMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Создает пустую таблицу, вмещающую {@code expectedSize} ключей без расширения.
+     *
+     * @param expectedSize Ожидаемое количество ключей.
+     */
+    public IntLongHashMap(int expectedSize) {
+        allocate(Math.max(DEFAULT_CAPACITY, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1));
+    }
+
+    /**
+     * Прибавляет {@code delta} к значению ключа. Отсутствующий ключ считается равным нулю.
+     *
+     * @param key Ключ.
+     * @param delta Прибавляемое значение.
+     * @return Новое значение ключа.
+     * @throws IllegalArgumentException если ключ равен {@link Integer#MIN_VALUE}.
+     */
+    public long addTo(int key, long delta) {
+        int slot = findSlot(key);
+        if (keys[slot] == EMPTY) {
+            keys[slot] = key;
+            values[slot] = delta;
+            if (++size > resizeThreshold) {
+                rehash(keys.length << 1);
+            }
+            return delta;
+        }
+        return values[slot] += delta;
+    }
+
+    /**
+     * Возвращает значение ключа или ноль, если ключ отсутствует.
+     *
+     * @param key Ключ.
+     * @return Значение ключа.
+     */
+    public long get(int key) {
+        int slot = findSlot(key);
+        return keys[slot] == EMPTY ? 0L : values[slot];
+    }
+
+    /**
+     * Удаляет ключ. Следующие за ним ключи той же цепочки сдвигаются назад, поэтому удаление
+     * не оставляет служебных отметок и не замедляет последующий поиск.
+     *
+     * @param key Ключ.
+     * @return Значение удаленного ключа или ноль, если ключ отсутствовал.
+     */
+    public long remove(int key) {
+        int gap = findSlot(key);
+        if (keys[gap] == EMPTY) {
+            return 0L;
+        }
+        long removed = values[gap];
+        int slot = (gap + 1) & mask;
+        while (keys[slot] != EMPTY) {
+            int home = hash(keys[slot]) & mask;
+            // Ключ можно сдвинуть в освободившуюся ячейку, если она лежит между его исходной ячейкой и текущей
+            if (((slot - home) & mask) >= ((slot - gap) & mask)) {
+                keys[gap] = keys[slot];
+                values[gap] = values[slot];
+                gap = slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        keys[gap] = EMPTY;
+        values[gap] = 0L;
+        size--;
+        return removed;
+    }
+
+    /**
+     * Проверяет наличие ключа.
+     *
+     * @param key Ключ.
+     * @return {@code true}, если ключ присутствует в таблице.
+     */
+    public boolean containsKey(int key) {
+        return keys[findSlot(key)] != EMPTY;
+    }
+
+    /**
+     * @return Количество ключей в таблице.
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return {@code true}, если таблица пуста.
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Возвращает все ключи таблицы в порядке возрастания.
+     *
+     * @return Новый отсортированный массив ключей.
+     */
+    public int[] sortedKeys() {
+        int[] result = new int[size];
+        int index = 0;
+        for (int key : keys) {
+            if (key != EMPTY) {
+                result[index++] = key;
+            }
+        }
+        Arrays.sort(result);
+        return result;
+    }
+
+    /**
+     * Удаляет все ключи, сохраняя выделенную емкость.
+     */
+    public void clear() {
+        Arrays.fill(keys, EMPTY);
+        Arrays.fill(values, 0L);
+        size = 0;
+    }
+
+    private int findSlot(int key) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Ключ " + key + " зарезервирован");
+        }
+        int slot = hash(key) & mask;
+        while (keys[slot] != EMPTY && keys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(int key) {
+        int h = key * 0x9E3779B9;
+        return h ^ (h >>> 16);
+    }
+
+    private void allocate(int capacity) {
+        keys = new int[capacity];
+        Arrays.fill(keys, EMPTY);
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity >> 1;
+    }
+
+    private void rehash(int capacity) {
+        int[] oldKeys = keys;
+        long[] oldValues = values;
+        allocate(capacity);
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = hash(oldKeys[i]) & mask;
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+}
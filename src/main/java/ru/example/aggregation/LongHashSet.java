@@ -0,0 +1,98 @@
+package ru.example.aggregation;
+
+/**
+ * Множество значений {@code long} на хеш-таблице с открытой адресацией.
+ * <p>
+ * Значения хранятся в примитивном массиве, поэтому добавление не создает объектов (кроме редкого
+ * расширения таблицы). Используется для отбора повторяющихся идентификаторов рейсов при потоковой обработке.
+ * Ноль служит признаком пустой ячейки, его наличие в множестве хранится отдельным флагом.
+ * </p>
+ */
+public final class LongHashSet {
+
+    private static final long EMPTY = 0L;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private long[] values;
+    private boolean containsEmpty;
+    private int size;
+    private int mask;
+    private int resizeThreshold;
+
+    /**
+     * Создает пустое множество с начальной емкостью по умолчанию.
+     */
+    public LongHashSet() {
+        allocate(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Добавляет значение.
+     *
+     * @param value Значение.
+     * @return {@code true}, если значения не было в множестве.
+     */
+    public boolean add(long value) {
+        if (value == EMPTY) {
+            if (containsEmpty) {
+                return false;
+            }
+            containsEmpty = true;
+            size++;
+            return true;
+        }
+        int slot = findSlot(value);
+        if (values[slot] == value) {
+            return false;
+        }
+        values[slot] = value;
+        if (++size > resizeThreshold) {
+            rehash(values.length << 1);
+        }
+        return true;
+    }
+
+    /**
+     * @param value Значение.
+     * @return {@code true}, если значение есть в множестве.
+     */
+    public boolean contains(long value) {
+        return value == EMPTY ? containsEmpty : values[findSlot(value)] == value;
+    }
+
+    /**
+     * @return Количество значений в множестве.
+     */
+    public int size() {
+        return size;
+    }
+
+    private int findSlot(long value) {
+        int slot = hash(value) & mask;
+        while (values[slot] != EMPTY && values[slot] != value) {
+            slot = (slot + 1) & mask;
+        }
+        return slot;
+    }
+
+    private static int hash(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32));
+    }
+
+    private void allocate(int capacity) {
+        values = new long[capacity];
+        mask = capacity - 1;
+        resizeThreshold = capacity >> 1;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldValues = values;
+        allocate(capacity);
+        for (long value : oldValues) {
+            if (value != EMPTY) {
+                values[findSlot(value)] = value;
+            }
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package ru.example.aggregation;
+
+/**
+ * Налет одного пилота по дням и месяцам в виде упорядоченных рядов, доступных по индексу.
+ * <p>
+ * Реализуется сводкой {@link FlightHoursSummary} и представлением сводки пилота в {@link FlightSnapshot},
+ * поэтому правила налета проверяются одинаково по рассчитанным и по сохраненным данным.
+ * Дни с налетом и месяцы упорядочены по возрастанию номера (см. {@link EpochDays}).
+ * </p>
+ */
+public interface PilotHoursSeries {
+
+    int dayCount();
+
+    int day(int index);
+
+    long dayHours(int index);
+
+    int monthCount();
+
+    int month(int index);
+
+    long monthHours(int index);
+
+    long monthMaxDayHours(int index);
+
+    long monthMaxWeekHours(int index);
+}
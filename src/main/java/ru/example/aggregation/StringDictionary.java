@@ -0,0 +1,59 @@
+package ru.example.aggregation;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Словарь строк с целочисленными кодами.
+ * <p>
+ * Каждая уникальная строка хранится один раз и получает код по порядку добавления, начиная с нуля.
+ * Используется для хранения аэропортов и воздушных судов в {@link FlightStore} в виде кодов.
+ * Для {@code null} используется код {@link #NULL_CODE}.
+ * </p>
+ */
+public final class StringDictionary {
+
+    /**
+     * Код для значения {@code null}.
+     */
+    public static final int NULL_CODE = -1;
+
+    private final Map<String, Integer> codes = new HashMap<>();
+    private final List<String> values = new ArrayList<>();
+
+    /**
+     * Возвращает код строки, добавляя ее в словарь при первом обращении.
+     *
+     * @param value Строка или {@code null}.
+     * @return Код строки.
+     */
+    public int code(String value) {
+        if (value == null) {
+            return NULL_CODE;
+        }
+        Integer code = codes.get(value);
+        if (code == null) {
+            code = values.size();
+            codes.put(value, code);
+            values.add(value);
+        }
+        return code;
+    }
+
+    /**
+     * @param code Код строки.
+     * @return Строка с указанным кодом или {@code null} для {@link #NULL_CODE}.
+     */
+    public String value(int code) {
+        return code == NULL_CODE ? null : values.get(code);
+    }
+
+    /**
+     * @return Количество уникальных строк в словаре.
+     */
+    public int size() {
+        return values.size();
+    }
+}
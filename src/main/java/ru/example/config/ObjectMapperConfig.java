@@ -25,9 +25,22 @@ public class ObjectMapperConfig {
      * @return Конфигурированный экземпляр {@link ObjectMapper}.
      */
     public static ObjectMapper createConfigObjectMapperTime() {
+        return createConfigObjectMapperTime(true);
+    }
+
+    /**
+     * Создает и настраивает {@link ObjectMapper} для работы с типами времени.
+     * <p>
+     * При {@code indentOutput = false} JSON записывается компактно, без отступов и переводов строк.
+     * </p>
+     *
+     * @param indentOutput Включить ли {@link SerializationFeature#INDENT_OUTPUT}.
+     * @return Конфигурированный экземпляр {@link ObjectMapper}.
+     */
+    public static ObjectMapper createConfigObjectMapperTime(boolean indentOutput) {
         ObjectMapper objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
-        objectMapper.enable(SerializationFeature.INDENT_OUTPUT);
+        objectMapper.configure(SerializationFeature.INDENT_OUTPUT, indentOutput);
         return objectMapper;
     }
 }
@@ -0,0 +1,218 @@
+package ru.example.config;
+
+import lombok.Data;
+
+import java.io.File;
+
+/**
+ * Параметры запуска обработки данных о пилотах и рейсах.
+ * <p>
+ * Значения по умолчанию соответствуют исходному поведению приложения: входной файл читается целиком
+ * в {@link ru.example.dto.InputPilotsAndFlights}. Параметры можно задать аргументами командной строки
+ * через {@link #fromArgs(String[])}.
+ * </p>
+ */
+@Data
+public class ProcessingConfig {
+
+    /**
+     * Количество подробных записей об ошибках валидации по умолчанию.
+     */
+    public static final long DEFAULT_MAX_REJECTION_DETAILS = 10_000;
+
+    /**
+     * Входной файл с данными о пилотах и рейсах в формате JSON.
+     */
+    private File inputFile = new File("src/main/resources/InputPilotsAndFlights.json");
+
+    /**
+     * Выходной файл для сохранения обработанных данных о пилотах и рейсах в формате JSON.
+     */
+    private File outputFile = new File("src/main/resources/OutputPilotsAndFlights.json");
+
+    /**
+     * Входные файлы-шарды: каталог, шаблон glob или путь к файлу; {@code null} — используется {@link #inputFile}.
+     */
+    private String shards;
+
+    /**
+     * Каталог для выходных файлов шардов; {@code null} — каталог {@link #outputFile}.
+     */
+    private File shardOutputDirectory;
+
+    /**
+     * Каталог, за которым наблюдает демон: каждый новый входной файл обрабатывается, результат записывается
+     * рядом с ним; {@code null} — обрабатывается один {@link #inputFile}.
+     */
+    private File watchDirectory;
+
+    /**
+     * Порт локального HTTP-сервера запросов налета (см. {@link ru.example.query.FlightHoursQueryServer});
+     * {@code null} — сервер не запускается.
+     */
+    private Integer servePort;
+
+    /**
+     * Потоковое чтение входного файла: рейсы обрабатываются по одному, без загрузки всего документа в память.
+     */
+    private boolean streamingInput;
+
+    /**
+     * Потоковая запись выходного файла: каждый пилот записывается сразу после расчета его налета.
+     */
+    private boolean streamingOutput;
+
+    /**
+     * Конвейерная обработка: чтение, валидация, расчет налета и запись результата выполняются одновременно
+     * в отдельных виртуальных потоках, связанных ограниченными очередями.
+     */
+    private boolean pipelined;
+
+    /**
+     * Компактный вывод JSON без отступов и переводов строк.
+     */
+    private boolean compactOutput;
+
+    /**
+     * Количество потоков для параллельного расчета налета пилотов; {@code 0} — последовательный расчет.
+     */
+    private int parallelism;
+
+    /**
+     * Файл отчета об ошибках валидации ({@code .csv} или JSON Lines); {@code null} — вывод в {@link System#err}.
+     */
+    private File rejectionsFile;
+
+    /**
+     * Максимальное количество подробных записей об ошибках валидации; остальные ошибки только подсчитываются.
+     */
+    private long maxRejectionDetails = DEFAULT_MAX_REJECTION_DETAILS;
+
+    /**
+     * Двоичный снимок, по которому строится результат вместо чтения входного JSON; {@code null} — не используется.
+     */
+    private File snapshotInput;
+
+    /**
+     * Файл, в который записывается двоичный снимок прочитанных данных; {@code null} — снимок не записывается.
+     */
+    private File snapshotOutput;
+
+    /**
+     * Файл режима труда и отдыха в формате JSON (см. {@link ru.example.rules.DutyRegime}); {@code null} — режим
+     * по умолчанию {@link ru.example.rules.DutyRegime#standard()}.
+     */
+    private File dutyRegimeFile;
+
+    /**
+     * Режим со скользящими окнами {@link ru.example.rules.DutyRegime#rolling()} вместо календарных недель и месяцев;
+     * не используется, если задан {@link #dutyRegimeFile}.
+     */
+    private boolean rollingWindows;
+
+    /**
+     * Учет налета в минутах без отсечения неполных часов по дням; налет за месяц выводится также с дробной частью.
+     */
+    private boolean minutePrecision;
+
+    /**
+     * Учет часовых поясов: время рейса — местное время аэропортов, налет делится по дням в поясе базы экипажа.
+     */
+    private boolean timeZones;
+
+    /**
+     * Таблица часовых поясов аэропортов ({@code КОД,ЧАСОВОЙ_ПОЯС}); {@code null} — встроенная таблица.
+     * Включает учет часовых поясов.
+     */
+    private File airportZonesFile;
+
+    /**
+     * Базовый часовой пояс для пилотов без базового аэропорта.
+     */
+    private String baseZone = "UTC";
+
+    /**
+     * Создает параметры запуска из аргументов командной строки.
+     * <p>
+     * Поддерживаемые аргументы:
+     * <ul>
+     *     <li>{@code --input=FILE} — входной файл {@code FILE};</li>
+     *     <li>{@code --output=FILE} — выходной файл {@code FILE};</li>
+     *     <li>{@code --shards=DIR|GLOB} — входные шарды: все {@code *.json} каталога {@code DIR} или файлы по шаблону {@code GLOB};</li>
+     *     <li>{@code --shard-output-dir=DIR} — каталог {@code DIR} для выходных файлов шардов;</li>
+     *     <li>{@code --watch=DIR} — режим демона: обработка входных файлов, поступающих в каталог {@code DIR};</li>
+     *     <li>{@code --serve=PORT} — HTTP-сервер запросов налета на порту {@code PORT} локального адреса;</li>
+     *     <li>{@code --streaming-input} — потоковое чтение входного файла;</li>
+     *     <li>{@code --streaming-output} — потоковая запись выходного файла;</li>
+     *     <li>{@code --pipelined} — конвейерная обработка: чтение, расчет и запись одновременно;</li>
+     *     <li>{@code --compact-output} — компактный вывод JSON;</li>
+     *     <li>{@code --parallel} — параллельный расчет на всех доступных процессорах;</li>
+     *     <li>{@code --parallelism=N} — параллельный расчет в {@code N} потоках;</li>
+     *     <li>{@code --rejections=FILE} — отчет об ошибках валидации в файл {@code FILE};</li>
+     *     <li>{@code --max-rejection-details=N} — не более {@code N} подробных записей об ошибках валидации;</li>
+     *     <li>{@code --snapshot-in=FILE} — результат по двоичному снимку {@code FILE};</li>
+     *     <li>{@code --snapshot-out=FILE} — запись двоичного снимка в {@code FILE};</li>
+     *     <li>{@code --duty-regime=FILE} — режим труда и отдыха из {@code FILE};</li>
+     *     <li>{@code --rolling-windows} — режим со скользящими окнами 7, 28 и 365 дней;</li>
+     *     <li>{@code --minute-precision} — учет налета с точностью до минуты;</li>
+     *     <li>{@code --time-zones} — учет часовых поясов аэропортов по встроенной таблице;</li>
+     *     <li>{@code --airport-zones=FILE} — учет часовых поясов по таблице аэропортов {@code FILE};</li>
+     *     <li>{@code --base-zone=ZONE} — базовый часовой пояс {@code ZONE} для пилотов без базового аэропорта.</li>
+     * </ul>
+     * </p>
+     *
+     * @param args Аргументы командной строки.
+     * @return Параметры запуска.
+     * @throws IllegalArgumentException если передан неизвестный аргумент.
+     */
+    public static ProcessingConfig fromArgs(String[] args) {
+        ProcessingConfig config = new ProcessingConfig();
+        for (String arg : args) {
+            switch (arg) {
+                case "--streaming-input" -> config.setStreamingInput(true);
+                case "--streaming-output" -> config.setStreamingOutput(true);
+                case "--compact-output" -> config.setCompactOutput(true);
+                case "--pipelined" -> config.setPipelined(true);
+                case "--rolling-windows" -> config.setRollingWindows(true);
+                case "--minute-precision" -> config.setMinutePrecision(true);
+                case "--time-zones" -> config.setTimeZones(true);
+                case "--parallel" -> config.setParallelism(Runtime.getRuntime().availableProcessors());
+                default -> {
+                    if (arg.startsWith("--input=")) {
+                        config.setInputFile(new File(arg.substring("--input=".length())));
+                    } else if (arg.startsWith("--output=")) {
+                        config.setOutputFile(new File(arg.substring("--output=".length())));
+                    } else if (arg.startsWith("--shards=")) {
+                        config.setShards(arg.substring("--shards=".length()));
+                    } else if (arg.startsWith("--shard-output-dir=")) {
+                        config.setShardOutputDirectory(new File(arg.substring("--shard-output-dir=".length())));
+                    } else if (arg.startsWith("--watch=")) {
+                        config.setWatchDirectory(new File(arg.substring("--watch=".length())));
+                    } else if (arg.startsWith("--serve=")) {
+                        config.setServePort(Integer.parseInt(arg.substring("--serve=".length())));
+                    } else if (arg.startsWith("--parallelism=")) {
+                        config.setParallelism(Integer.parseInt(arg.substring("--parallelism=".length())));
+                    } else if (arg.startsWith("--rejections=")) {
+                        config.setRejectionsFile(new File(arg.substring("--rejections=".length())));
+                    } else if (arg.startsWith("--max-rejection-details=")) {
+                        config.setMaxRejectionDetails(Long.parseLong(arg.substring("--max-rejection-details=".length())));
+                    } else if (arg.startsWith("--snapshot-in=")) {
+                        config.setSnapshotInput(new File(arg.substring("--snapshot-in=".length())));
+                    } else if (arg.startsWith("--snapshot-out=")) {
+                        config.setSnapshotOutput(new File(arg.substring("--snapshot-out=".length())));
+                    } else if (arg.startsWith("--airport-zones=")) {
+                        config.setAirportZonesFile(new File(arg.substring("--airport-zones=".length())));
+                        config.setTimeZones(true);
+                    } else if (arg.startsWith("--base-zone=")) {
+                        config.setBaseZone(arg.substring("--base-zone=".length()));
+                    } else if (arg.startsWith("--duty-regime=")) {
+                        config.setDutyRegimeFile(new File(arg.substring("--duty-regime=".length())));
+                    } else {
+                        throw new IllegalArgumentException("Неизвестный аргумент: " + arg);
+                    }
+                }
+            }
+        }
+        return config;
+    }
+}
@@ -0,0 +1,243 @@
+package ru.example.metrics;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.example.validator.ValidationRule;
+
+import javax.management.InstanceNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Метрики обработки на {@link LongAdder}: запись метрики из нескольких потоков не требует блокировок
+ * и почти не конкурирует за кэш-линии, поэтому метрики можно держать включенными постоянно.
+ * <p>
+ * Счетчики нарушений и этапов хранятся в массивах по порядковому номеру правила и этапа.
+ * Выделение памяти за этап — разница общего объема памяти, выделенной всеми потоками JVM
+ * ({@link com.sun.management.ThreadMXBean#getTotalThreadAllocatedBytes()}), поэтому при одновременном
+ * выполнении нескольких обработок память каждой из них учитывается во всех пересекающихся этапах.
+ * </p>
+ */
+@Slf4j
+public final class LongAdderProcessingMetrics implements ProcessingMetrics, ProcessingMetricsMXBean {
+
+    /**
+     * Имя JMX-объекта метрик.
+     */
+    public static final String OBJECT_NAME = "ru.example:type=ProcessingMetrics";
+
+    private static final ValidationRule[] RULES = ValidationRule.values();
+    private static final Phase[] PHASES = Phase.values();
+
+    private final LongAdder pilotsRead = new LongAdder();
+    private final LongAdder flightsRead = new LongAdder();
+    private final LongAdder[] rejectedByRule = adders(RULES.length);
+    private final LongAdder pilotsProcessed = new LongAdder();
+    private final LongAdder bytesRead = new LongAdder();
+    private final LongAdder bytesWritten = new LongAdder();
+    private final LongAdder[] phaseNanos = adders(PHASES.length);
+    private final LongAdder[] phaseCount = adders(PHASES.length);
+    private final LongAdder[] phaseAllocatedBytes = adders(PHASES.length);
+
+    /**
+     * Учет выделенной памяти; {@code null}, если JVM его не поддерживает.
+     */
+    private final com.sun.management.ThreadMXBean allocation = allocationBean();
+
+    private static LongAdder[] adders(int count) {
+        LongAdder[] adders = new LongAdder[count];
+        for (int i = 0; i < count; i++) {
+            adders[i] = new LongAdder();
+        }
+        return adders;
+    }
+
+    private static com.sun.management.ThreadMXBean allocationBean() {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        if (threads instanceof com.sun.management.ThreadMXBean bean && bean.isThreadAllocatedMemorySupported()) {
+            if (!bean.isThreadAllocatedMemoryEnabled()) {
+                bean.setThreadAllocatedMemoryEnabled(true);
+            }
+            return bean;
+        }
+        return null;
+    }
+
+    @Override
+    public void pilotsRead(long count) {
+        pilotsRead.add(count);
+    }
+
+    @Override
+    public void flightsRead(long count) {
+        flightsRead.add(count);
+    }
+
+    @Override
+    public void rejected(ValidationRule rule) {
+        rejectedByRule[rule.ordinal()].increment();
+    }
+
+    @Override
+    public void pilotsProcessed(long count) {
+        pilotsProcessed.add(count);
+    }
+
+    @Override
+    public void bytesRead(long bytes) {
+        bytesRead.add(bytes);
+    }
+
+    @Override
+    public void bytesWritten(long bytes) {
+        bytesWritten.add(bytes);
+    }
+
+    @Override
+    public PhaseTimer startPhase(Phase phase) {
+        long startAllocated = allocatedBytes();
+        long startNanos = System.nanoTime();
+        return () -> {
+            int index = phase.ordinal();
+            phaseNanos[index].add(System.nanoTime() - startNanos);
+            phaseCount[index].increment();
+            if (startAllocated >= 0) {
+                phaseAllocatedBytes[index].add(allocatedBytes() - startAllocated);
+            }
+        };
+    }
+
+    /**
+     * @return Память, выделенная в куче всеми потоками JVM, или {@code -1}, если учет не поддерживается.
+     */
+    private long allocatedBytes() {
+        return allocation == null ? -1 : allocation.getTotalThreadAllocatedBytes();
+    }
+
+    @Override
+    public long getPilotsRead() {
+        return pilotsRead.sum();
+    }
+
+    @Override
+    public long getFlightsRead() {
+        return flightsRead.sum();
+    }
+
+    @Override
+    public long getRejected() {
+        long total = 0;
+        for (LongAdder adder : rejectedByRule) {
+            total += adder.sum();
+        }
+        return total;
+    }
+
+    @Override
+    public Map<String, Long> getRejectedByRule() {
+        Map<String, Long> rejected = new LinkedHashMap<>();
+        for (ValidationRule rule : RULES) {
+            long count = rejectedByRule[rule.ordinal()].sum();
+            if (count > 0) {
+                rejected.put(rule.name(), count);
+            }
+        }
+        return rejected;
+    }
+
+    @Override
+    public long getPilotsProcessed() {
+        return pilotsProcessed.sum();
+    }
+
+    @Override
+    public double getPilotsPerSecond() {
+        long nanos = phaseNanos[Phase.AGGREGATION.ordinal()].sum();
+        return nanos == 0 ? 0 : pilotsProcessed.sum() * 1e9 / nanos;
+    }
+
+    @Override
+    public long getBytesRead() {
+        return bytesRead.sum();
+    }
+
+    @Override
+    public long getBytesWritten() {
+        return bytesWritten.sum();
+    }
+
+    @Override
+    public Map<String, Long> getPhaseMillis() {
+        return byPhase(phaseNanos, TimeUnit.MILLISECONDS.toNanos(1));
+    }
+
+    @Override
+    public Map<String, Long> getPhaseCount() {
+        return byPhase(phaseCount, 1);
+    }
+
+    @Override
+    public Map<String, Long> getPhaseAllocatedBytes() {
+        return allocation == null ? Map.of() : byPhase(phaseAllocatedBytes, 1);
+    }
+
+    private static Map<String, Long> byPhase(LongAdder[] adders, long divisor) {
+        Map<String, Long> values = new LinkedHashMap<>();
+        for (Phase phase : PHASES) {
+            values.put(phase.name(), adders[phase.ordinal()].sum() / divisor);
+        }
+        return values;
+    }
+
+    @Override
+    public void reset() {
+        for (LongAdder adder : new LongAdder[]{pilotsRead, flightsRead, pilotsProcessed, bytesRead, bytesWritten}) {
+            adder.reset();
+        }
+        for (LongAdder[] adders : new LongAdder[][]{rejectedByRule, phaseNanos, phaseCount, phaseAllocatedBytes}) {
+            for (LongAdder adder : adders) {
+                adder.reset();
+            }
+        }
+    }
+
+    /**
+     * Регистрирует метрики в платформенном MBean-сервере под именем {@link #OBJECT_NAME}.
+     * Ранее зарегистрированные под этим именем метрики заменяются.
+     *
+     * @throws IllegalStateException если регистрация не удалась.
+     */
+    public void register() {
+        MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+        try {
+            ObjectName name = new ObjectName(OBJECT_NAME);
+            try {
+                server.unregisterMBean(name);
+            } catch (InstanceNotFoundException e) {
+                // Метрики под этим именем еще не зарегистрированы
+            }
+            server.registerMBean(this, name);
+        } catch (JMException e) {
+            throw new IllegalStateException("Не удалось зарегистрировать метрики в JMX", e);
+        }
+    }
+
+    /**
+     * Выводит накопленные метрики в лог одной строкой на каждую группу.
+     */
+    public void logSummary() {
+        log.info("Метрики: прочитано пилотов {}, рейсов {}, байт {}; записано байт {}; рассчитано пилотов {} ({} в секунду)",
+                getPilotsRead(), getFlightsRead(), getBytesRead(), getBytesWritten(), getPilotsProcessed(),
+                Math.round(getPilotsPerSecond()));
+        log.info("Метрики этапов: время, мс {}; выделено байт {}", getPhaseMillis(), getPhaseAllocatedBytes());
+        if (getRejected() > 0) {
+            log.info("Метрики валидации: нарушений {}", getRejectedByRule());
+        }
+    }
+}
@@ -0,0 +1,31 @@
+package ru.example.metrics;
+
+/**
+ * Этапы обработки, время и выделение памяти которых учитываются в {@link ProcessingMetrics}.
+ * <p>
+ * При потоковой обработке этапы совмещены: чтение документа выполняется вместе с валидацией
+ * и учитывается в {@link #VALIDATION}, а потоковая запись результата — в {@link #AGGREGATION}.
+ * </p>
+ */
+public enum Phase {
+
+    /**
+     * Чтение и разбор входного документа целиком.
+     */
+    PARSING,
+
+    /**
+     * Валидация пилотов и рейсов и сохранение рейсов в хранилище ({@code savedPilotAndFlights}).
+     */
+    VALIDATION,
+
+    /**
+     * Расчет налета пилотов по месяцам ({@code calculateFlightTime}) и проверка режима труда и отдыха.
+     */
+    AGGREGATION,
+
+    /**
+     * Запись результата в выходной файл.
+     */
+    SERIALIZATION
+}
@@ -0,0 +1,20 @@
+package ru.example.metrics;
+
+/**
+ * Замер одного выполнения этапа обработки: время и выделенная память учитываются при закрытии.
+ * Используется в {@code try}-with-resources.
+ */
+public interface PhaseTimer extends AutoCloseable {
+
+    /**
+     * Замер, который ничего не учитывает.
+     */
+    PhaseTimer NOOP = () -> {
+    };
+
+    /**
+     * Завершает замер этапа.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,89 @@
+package ru.example.metrics;
+
+import ru.example.validator.ValidationRule;
+
+/**
+ * Приемник метрик обработки данных о пилотах и рейсах.
+ * <p>
+ * Методы вызываются из потоков обработки, в том числе одновременно, поэтому реализации должны быть
+ * потокобезопасными и дешевыми: метрики собираются постоянно, а не только при отладке.
+ * Реализация по умолчанию {@link #NOOP} ничего не учитывает, {@link LongAdderProcessingMetrics}
+ * накапливает значения в памяти и публикует их через JMX.
+ * </p>
+ */
+public interface ProcessingMetrics {
+
+    /**
+     * Метрики, которые ничего не учитывают.
+     */
+    ProcessingMetrics NOOP = new ProcessingMetrics() {
+        @Override
+        public void pilotsRead(long count) {
+        }
+
+        @Override
+        public void flightsRead(long count) {
+        }
+
+        @Override
+        public void rejected(ValidationRule rule) {
+        }
+
+        @Override
+        public void pilotsProcessed(long count) {
+        }
+
+        @Override
+        public void bytesRead(long bytes) {
+        }
+
+        @Override
+        public void bytesWritten(long bytes) {
+        }
+
+        @Override
+        public PhaseTimer startPhase(Phase phase) {
+            return PhaseTimer.NOOP;
+        }
+    };
+
+    /**
+     * @param count Количество прочитанных пилотов.
+     */
+    void pilotsRead(long count);
+
+    /**
+     * @param count Количество прочитанных рейсов.
+     */
+    void flightsRead(long count);
+
+    /**
+     * Учитывает нарушение правила валидации.
+     *
+     * @param rule Нарушенное правило.
+     */
+    void rejected(ValidationRule rule);
+
+    /**
+     * @param count Количество пилотов, налет которых рассчитан и передан в результат.
+     */
+    void pilotsProcessed(long count);
+
+    /**
+     * @param bytes Количество прочитанных байт входных данных.
+     */
+    void bytesRead(long bytes);
+
+    /**
+     * @param bytes Количество записанных байт результата.
+     */
+    void bytesWritten(long bytes);
+
+    /**
+     * Начинает замер этапа обработки.
+     *
+     * @param phase Этап обработки.
+     * @return Замер, который нужно закрыть по завершении этапа.
+     */
+    PhaseTimer startPhase(Phase phase);
+}
@@ -0,0 +1,70 @@
+package ru.example.metrics;
+
+import java.util.Map;
+
+/**
+ * Метрики обработки, публикуемые через JMX (см. {@link LongAdderProcessingMetrics#register()}).
+ * Значения накапливаются с момента создания метрик или последнего вызова {@link #reset()}.
+ */
+public interface ProcessingMetricsMXBean {
+
+    /**
+     * @return Количество прочитанных пилотов.
+     */
+    long getPilotsRead();
+
+    /**
+     * @return Количество прочитанных рейсов.
+     */
+    long getFlightsRead();
+
+    /**
+     * @return Общее количество нарушений правил валидации.
+     */
+    long getRejected();
+
+    /**
+     * @return Количество нарушений по правилам валидации; правила без нарушений не включаются.
+     */
+    Map<String, Long> getRejectedByRule();
+
+    /**
+     * @return Количество пилотов, налет которых рассчитан.
+     */
+    long getPilotsProcessed();
+
+    /**
+     * @return Количество пилотов, рассчитанных за секунду этапа {@link Phase#AGGREGATION}.
+     */
+    double getPilotsPerSecond();
+
+    /**
+     * @return Количество прочитанных байт входных данных.
+     */
+    long getBytesRead();
+
+    /**
+     * @return Количество записанных байт результата.
+     */
+    long getBytesWritten();
+
+    /**
+     * @return Суммарное время этапов в миллисекундах.
+     */
+    Map<String, Long> getPhaseMillis();
+
+    /**
+     * @return Количество выполнений этапов.
+     */
+    Map<String, Long> getPhaseCount();
+
+    /**
+     * @return Память, выделенная в куче за время этапов, в байтах; пустое значение, если JVM не поддерживает учет.
+     */
+    Map<String, Long> getPhaseAllocatedBytes();
+
+    /**
+     * Обнуляет все метрики.
+     */
+    void reset();
+}
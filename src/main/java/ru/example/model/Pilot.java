@@ -1,5 +1,6 @@
 package ru.example.model;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.EqualsAndHashCode;
@@ -30,9 +31,27 @@ public class Pilot {
      */
     private String fullName;
 
+    /**
+     * Код IATA базового аэропорта экипажа; в его часовом поясе налет делится по дням при учете часовых поясов.
+     * Необязателен.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private String baseAirport;
+
     /**
      * Список объектов {@link TimeMonth}, представляющих информацию о времени, проведенном пилотом
      * в каждом месяце.
      */
     private List<TimeMonth> timeMonthList = new ArrayList<>();
+
+    /**
+     * Создает пилота без базового аэропорта.
+     *
+     * @param idPilot Уникальный идентификатор пилота.
+     * @param fullName Полное имя пилота.
+     * @param timeMonthList Налет пилота по месяцам.
+     */
+    public Pilot(Long idPilot, String fullName, List<TimeMonth> timeMonthList) {
+        this(idPilot, fullName, null, timeMonthList);
+    }
 }
\ No newline at end of file
@@ -1,15 +1,22 @@
 package ru.example.model;
 
 import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonInclude;
 import lombok.Data;
 
+import java.math.BigDecimal;
 import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
 
 /**
  * Модель, представляющая информацию о времени и полетах пилота за месяц.
  * <p>
  * Этот класс содержит данные о времени, проведенном пилотом в определенном месяце,
  * а также информацию о количестве полетов и нарушении различных лимитов (ежемесячных, еженедельных, ежедневных).
+ * Флаги лимитов отражают нарушение любого правила соответствующего периода, а {@link #violatedRules} —
+ * все нарушенные правила. Правило скользящего окна относится к наименьшему периоду, не короче окна:
+ * окно в 7 дней — к неделе, в 28 дней — к месяцу (см. {@link ru.example.rules.CompiledDutyRegime#exceedsLimit}).
  * </p>
  */
 @Data
@@ -27,6 +34,13 @@ public class TimeMonth {
      */
     private Long totalFlightHours;
 
+    /**
+     * Налет за месяц в часах с дробной частью (два знака) при учете налета в минутах;
+     * не выводится при учете в целых часах.
+     */
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private BigDecimal preciseFlightHours;
+
     /**
      * Общее количество полетов, совершенных в указанном месяце.
      */
@@ -46,4 +60,11 @@ public class TimeMonth {
      * Флаг, указывающий, превышает ли пилот ежедневный лимит полетов.
      */
     private boolean exceedsDailyLimit;
+
+    /**
+     * Названия всех правил режима труда и отдыха, нарушенных в этом месяце (см. {@link ru.example.rules.DutyRegime}).
+     * Не выводится, если нарушений нет.
+     */
+    @JsonInclude(JsonInclude.Include.NON_EMPTY)
+    private List<String> violatedRules = new ArrayList<>();
 }
@@ -0,0 +1,188 @@
+package ru.example.query;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * HTTP-сервер запросов налета пилотов на основе {@link HttpServer} JDK.
+ * <p>
+ * Каждый запрос обрабатывается в отдельном виртуальном потоке. Ответы строятся по текущему
+ * {@link PilotHoursIndex}, который хранится в {@link AtomicReference}: новый индекс публикуется
+ * методом {@link #publish(PilotHoursIndex)} после обработки очередных входных данных, и запросы,
+ * начатые после публикации, видят его целиком, а начатые раньше — дорабатывают по прежнему индексу.
+ * </p>
+ * <p>
+ * Запросы:
+ * <ul>
+ *     <li>{@code GET /pilots/{id}?date=YYYY-MM-DD} — налет пилота за день, неделю и месяц, содержащие дату,
+ *     и нарушения режима труда и отдыха в месяце (см. {@link PilotHours}); без {@code date} — на текущую дату;
+ *     дата вне диапазона {@link #MIN_DATE}–{@link #MAX_DATE} получает ответ 400;</li>
+ *     <li>{@code GET /status} — количество пилотов, источник и время загрузки текущего индекса.</li>
+ * </ul>
+ * Пока индекс не опубликован, запросы налета получают ответ 503.
+ * </p>
+ */
+@Slf4j
+public final class FlightHoursQueryServer implements Closeable {
+
+    private static final String PILOTS_PATH = "/pilots/";
+    private static final String STATUS_PATH = "/status";
+
+    /**
+     * Диапазон дат запроса: {@link LocalDate#parse} принимает годы до 999999999, а номера дней, недель
+     * и месяцев индекса хранятся в {@code int}.
+     */
+    private static final LocalDate MIN_DATE = LocalDate.of(1, 1, 1);
+    private static final LocalDate MAX_DATE = LocalDate.of(9999, 12, 31);
+
+    private final HttpServer server;
+    private final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+    private final ObjectMapper objectMapper;
+    private final Clock clock;
+    private final AtomicReference<PilotHoursIndex> index = new AtomicReference<>();
+
+    /**
+     * Создает сервер; прием запросов начинается после {@link #start()}.
+     *
+     * @param address Адрес и порт сервера; порт {@code 0} — любой свободный порт.
+     * @param objectMapper Преобразователь ответов в JSON.
+     * @param clock Часы, определяющие текущую дату запросов без {@code date}.
+     * @throws IOException Если не удалось занять адрес.
+     */
+    public FlightHoursQueryServer(InetSocketAddress address, ObjectMapper objectMapper, Clock clock) throws IOException {
+        this.objectMapper = objectMapper;
+        this.clock = clock;
+        this.server = HttpServer.create(address, 0);
+        server.setExecutor(executor);
+        server.createContext(PILOTS_PATH, this::handlePilot);
+        server.createContext(STATUS_PATH, this::handleStatus);
+    }
+
+    /**
+     * Начинает прием запросов.
+     */
+    public void start() {
+        server.start();
+        log.info("Сервер запросов налета запущен на порту {}", port());
+    }
+
+    /**
+     * @return Порт, на котором сервер принимает запросы.
+     */
+    public int port() {
+        return server.getAddress().getPort();
+    }
+
+    /**
+     * Публикует новый индекс налета; последующие запросы отвечают по нему.
+     *
+     * @param pilotHoursIndex Индекс налета.
+     */
+    public void publish(PilotHoursIndex pilotHoursIndex) {
+        index.set(pilotHoursIndex);
+        log.info("Индекс налета обновлен: пилотов {}, источник {}", pilotHoursIndex.size(), pilotHoursIndex.source());
+    }
+
+    private void handlePilot(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            if (!"GET".equals(exchange.getRequestMethod())) {
+                sendError(exchange, 405, "Поддерживается только GET");
+                return;
+            }
+            PilotHoursIndex current = index.get();
+            if (current == null) {
+                sendError(exchange, 503, "Данные о налете еще не загружены");
+                return;
+            }
+            long pilotId;
+            LocalDate date;
+            try {
+                pilotId = Long.parseLong(exchange.getRequestURI().getPath().substring(PILOTS_PATH.length()));
+                String dateParameter = queryParameter(exchange, "date");
+                date = dateParameter == null ? LocalDate.now(clock) : LocalDate.parse(dateParameter);
+                if (date.isBefore(MIN_DATE) || date.isAfter(MAX_DATE)) {
+                    throw new DateTimeParseException("Дата вне поддерживаемого диапазона", dateParameter, 0);
+                }
+            } catch (NumberFormatException | DateTimeParseException e) {
+                sendError(exchange, 400, "Ожидается запрос /pilots/{id}?date=YYYY-MM-DD");
+                return;
+            }
+            PilotHours hours = current.hours(pilotId, date);
+            if (hours == null) {
+                sendError(exchange, 404, "Пилот с ID " + pilotId + " не найден");
+                return;
+            }
+            send(exchange, 200, hours);
+        }
+    }
+
+    private void handleStatus(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            PilotHoursIndex current = index.get();
+            Map<String, Object> status = new LinkedHashMap<>();
+            status.put("loaded", current != null);
+            if (current != null) {
+                status.put("pilots", current.size());
+                status.put("source", current.source());
+                status.put("loadedAt", current.loadedAt().toString());
+            }
+            send(exchange, 200, status);
+        }
+    }
+
+    /**
+     * @return Значение параметра запроса или {@code null}, если параметра нет.
+     */
+    private static String queryParameter(HttpExchange exchange, String name) {
+        String query = exchange.getRequestURI().getQuery();
+        if (query == null) {
+            return null;
+        }
+        for (String parameter : query.split("&")) {
+            int separator = parameter.indexOf('=');
+            if (separator > 0 && parameter.substring(0, separator).equals(name)) {
+                return parameter.substring(separator + 1);
+            }
+        }
+        return null;
+    }
+
+    private void sendError(HttpExchange exchange, int status, String message) throws IOException {
+        send(exchange, status, Map.of("error", message));
+    }
+
+    private void send(HttpExchange exchange, int status, Object response) throws IOException {
+        byte[] bytes = objectMapper.writeValueAsBytes(response);
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=" + StandardCharsets.UTF_8.name());
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream body = exchange.getResponseBody()) {
+            body.write(bytes);
+        }
+    }
+
+    /**
+     * Останавливает сервер, не дожидаясь завершения начатых запросов.
+     */
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+        log.info("Сервер запросов налета остановлен");
+    }
+}
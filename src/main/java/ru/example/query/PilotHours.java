@@ -0,0 +1,64 @@
+package ru.example.query;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import lombok.Data;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Ответ на запрос налета пилота на дату: налет за день, за неделю (с понедельника) и за месяц, содержащие
+ * эту дату, и правила режима труда и отдыха, нарушенные в этом месяце.
+ */
+@Data
+public class PilotHours {
+
+    /**
+     * Идентификатор пилота.
+     */
+    private Long idPilot;
+
+    /**
+     * Полное имя пилота.
+     */
+    private String fullName;
+
+    /**
+     * Дата запроса.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate date;
+
+    /**
+     * Первый день (понедельник) недели, содержащей дату запроса.
+     */
+    @JsonFormat(pattern = "yyyy-MM-dd")
+    private LocalDate weekStart;
+
+    /**
+     * Налет за день в часах.
+     */
+    private BigDecimal dayFlightHours;
+
+    /**
+     * Налет за неделю в часах.
+     */
+    private BigDecimal weekFlightHours;
+
+    /**
+     * Налет за месяц в часах.
+     */
+    private BigDecimal monthFlightHours;
+
+    /**
+     * Флаг, указывающий, нарушено ли в месяце хотя бы одно правило режима труда и отдыха.
+     */
+    private boolean exceedsLimit;
+
+    /**
+     * Правила режима труда и отдыха, нарушенные в месяце.
+     */
+    private List<String> violatedRules = new ArrayList<>();
+}
@@ -0,0 +1,199 @@
+package ru.example.query;
+
+import ru.example.aggregation.EpochDays;
+import ru.example.aggregation.FlightHoursSummary;
+import ru.example.model.Pilot;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.service.PilotHoursListener;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.IntUnaryOperator;
+
+/**
+ * Неизменяемый индекс налета пилотов для запросов: сводки {@link FlightHoursSummary}, построенные
+ * {@link ru.example.service.PilotFlightService} при обработке входных данных, и маски нарушений режима
+ * труда и отдыха по месяцам.
+ * <p>
+ * Запрос на дату находит день, неделю и месяц двоичным поиском по отсортированным массивам сводки пилота,
+ * поэтому время ответа не зависит от количества пилотов и растет логарифмически с историей налета.
+ * Индекс строится {@link Builder} и после построения не изменяется, поэтому безопасно читается
+ * из любого количества потоков.
+ * </p>
+ */
+public final class PilotHoursIndex {
+
+    /**
+     * Количество знаков после запятой в налете, если налет учитывается точнее часа.
+     */
+    private static final int PRECISE_HOURS_SCALE = 2;
+
+    private final Map<Long, Entry> pilots;
+    private final CompiledDutyRegime dutyRegime;
+    private final String source;
+    private final Instant loadedAt;
+
+    /**
+     * Налет пилота; {@code summary} равен {@code null}, если у пилота нет рейсов.
+     */
+    private record Entry(String fullName, FlightHoursSummary summary, long[] violations) {
+    }
+
+    private PilotHoursIndex(Map<Long, Entry> pilots, CompiledDutyRegime dutyRegime, String source, Instant loadedAt) {
+        this.pilots = pilots;
+        this.dutyRegime = dutyRegime;
+        this.source = source;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Создает построитель индекса. Пилоты без рейсов входят в индекс с нулевым налетом.
+     *
+     * @param dutyRegime Режим труда и отдыха, по которому рассчитаны маски нарушений.
+     * @param source Описание источника данных, например имя входного файла.
+     * @param pilots Пилоты входных данных.
+     * @return Построитель индекса; передается в сервис как {@link PilotHoursListener}.
+     */
+    public static Builder builder(CompiledDutyRegime dutyRegime, String source, Collection<Pilot> pilots) {
+        return new Builder(dutyRegime, source, pilots);
+    }
+
+    /**
+     * @return Количество пилотов в индексе.
+     */
+    public int size() {
+        return pilots.size();
+    }
+
+    /**
+     * @return Описание источника данных индекса.
+     */
+    public String source() {
+        return source;
+    }
+
+    /**
+     * @return Время построения индекса.
+     */
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Возвращает налет пилота за день, неделю и месяц, содержащие дату, и нарушения режима в этом месяце.
+     *
+     * @param pilotId Идентификатор пилота.
+     * @param date Дата.
+     * @return Налет пилота или {@code null}, если пилота нет в индексе.
+     * @throws ArithmeticException Если номер дня даты не помещается в {@code int}.
+     */
+    public PilotHours hours(long pilotId, LocalDate date) {
+        Entry entry = pilots.get(pilotId);
+        if (entry == null) {
+            return null;
+        }
+        int day = Math.toIntExact(date.toEpochDay());
+        int week = EpochDays.weekIndex(day);
+        int month = EpochDays.monthIndex(day);
+
+        PilotHours hours = new PilotHours();
+        hours.setIdPilot(pilotId);
+        hours.setFullName(entry.fullName());
+        hours.setDate(date);
+        hours.setWeekStart(LocalDate.ofEpochDay(EpochDays.firstDayOfWeek(week)));
+
+        long dayHours = 0;
+        long weekHours = 0;
+        long monthHours = 0;
+        FlightHoursSummary summary = entry.summary();
+        if (summary != null) {
+            int dayIndex = search(summary.dayCount(), summary::day, day);
+            dayHours = dayIndex < 0 ? 0 : summary.dayHours(dayIndex);
+            int weekIndex = search(summary.weekCount(), summary::week, week);
+            weekHours = weekIndex < 0 ? 0 : summary.weekHours(weekIndex);
+            int monthIndex = search(summary.monthCount(), summary::month, month);
+            if (monthIndex >= 0) {
+                monthHours = summary.monthHours(monthIndex);
+                long violations = entry.violations()[monthIndex];
+                hours.setExceedsLimit(violations != 0);
+                hours.setViolatedRules(dutyRegime.ruleNames(violations));
+            }
+        }
+        hours.setDayFlightHours(toHours(dayHours));
+        hours.setWeekFlightHours(toHours(weekHours));
+        hours.setMonthFlightHours(toHours(monthHours));
+        return hours;
+    }
+
+    /**
+     * Переводит налет из единиц точности режима в часы; при учете в целых часах — без дробной части.
+     */
+    private BigDecimal toHours(long units) {
+        long unitsPerHour = dutyRegime.precision().unitsPerHour();
+        return unitsPerHour == 1
+                ? BigDecimal.valueOf(units)
+                : BigDecimal.valueOf(units).divide(BigDecimal.valueOf(unitsPerHour), PRECISE_HOURS_SCALE, RoundingMode.HALF_UP);
+    }
+
+    /**
+     * Двоичный поиск по возрастающей последовательности.
+     *
+     * @param count Длина последовательности.
+     * @param key Элемент последовательности по индексу.
+     * @param target Искомое значение.
+     * @return Индекс значения или {@code -1}, если его нет.
+     */
+    private static int search(int count, IntUnaryOperator key, int target) {
+        int low = 0;
+        int high = count - 1;
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int value = key.applyAsInt(middle);
+            if (value < target) {
+                low = middle + 1;
+            } else if (value > target) {
+                high = middle - 1;
+            } else {
+                return middle;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Построитель индекса: получает сводки пилотов от сервиса, в том числе одновременно из нескольких потоков.
+     */
+    public static final class Builder implements PilotHoursListener {
+
+        private final Map<Long, Entry> pilots = new ConcurrentHashMap<>();
+        private final CompiledDutyRegime dutyRegime;
+        private final String source;
+
+        private Builder(CompiledDutyRegime dutyRegime, String source, Collection<Pilot> pilots) {
+            this.dutyRegime = dutyRegime;
+            this.source = source;
+            for (Pilot pilot : pilots) {
+                if (pilot.getIdPilot() != null) {
+                    this.pilots.put(pilot.getIdPilot(), new Entry(pilot.getFullName(), null, null));
+                }
+            }
+        }
+
+        @Override
+        public void onPilot(Pilot pilot, FlightHoursSummary summary, long[] violations) {
+            pilots.put(pilot.getIdPilot(), new Entry(pilot.getFullName(), summary, violations));
+        }
+
+        /**
+         * @return Индекс по полученным сводкам.
+         */
+        public PilotHoursIndex build() {
+            return new PilotHoursIndex(Map.copyOf(pilots), dutyRegime, source, Instant.now());
+        }
+    }
+}
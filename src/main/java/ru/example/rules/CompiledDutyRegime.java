@@ -0,0 +1,374 @@
+package ru.example.rules;
+
+import ru.example.aggregation.EpochDays;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.aggregation.IncrementalFlightHours;
+import ru.example.aggregation.PilotHoursSeries;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Режим труда и отдыха, подготовленный к проверке налета.
+ * <p>
+ * Налет и лимиты сравниваются в единицах точности {@link #precision()}: лимиты в часах переводятся в эти
+ * единицы при компиляции. Правила группируются по периодам; в каждой группе лимиты хранятся в примитивном массиве по возрастанию
+ * вместе с битами правил. Нарушенные правила месяца возвращаются битовой маской ({@code long}, бит — номер
+ * правила в режиме): проверка периода сравнивает одно значение налета с лимитами группы и останавливается
+ * на первом ненарушенном лимите, не создавая объектов. Названия правил строятся по маске только для
+ * месяцев с нарушениями.
+ * </p>
+ * <p>
+ * Правила скользящих окон группируются по длине окна. Для каждой длины максимальный налет среди окон,
+ * заканчивающихся в месяце, вычисляется одним проходом по упорядоченным дням с налетом со скользящей суммой:
+ * сумма окна между днями с налетом только убывает, поэтому достаточно проверить окна, заканчивающиеся
+ * в первый день месяца и в дни месяца с налетом. Проход линеен по количеству дней с налетом и не зависит
+ * от длины окна.
+ * </p>
+ * <p>
+ * Экземпляр неизменяем и может использоваться из нескольких потоков одновременно.
+ * </p>
+ */
+public final class CompiledDutyRegime {
+
+    /**
+     * Максимальное количество правил в режиме — по числу битов маски нарушений.
+     */
+    public static final int MAX_RULES = Long.SIZE;
+
+    private static final int MONTHS_PER_YEAR = 12;
+    private static final int DAYS_PER_WEEK = 7;
+    private static final int MAX_DAYS_PER_MONTH = 31;
+
+    private final String name;
+    private final FlightTimePrecision precision;
+    private final String[] ruleNames;
+
+    /**
+     * Лимиты правил по порядковому номеру периода, по возрастанию.
+     */
+    private final long[][] limits;
+
+    /**
+     * Биты правил, соответствующие {@link #limits}.
+     */
+    private final long[][] bits;
+
+    /**
+     * Маска всех правил периода по его порядковому номеру.
+     */
+    private final long[] periodMasks;
+
+    /**
+     * Маска правил, нарушение которых означает превышение лимита периода, по его порядковому номеру:
+     * правила самого периода и скользящих окон не длиннее периода (см. {@link #exceedsLimit}).
+     */
+    private final long[] limitMasks;
+
+    /**
+     * Длины скользящих окон по возрастанию.
+     */
+    private final int[] windowDays;
+
+    /**
+     * Лимиты и биты правил скользящих окон по индексу в {@link #windowDays}, лимиты по возрастанию.
+     */
+    private final long[][] windowLimits;
+    private final long[][] windowBits;
+
+    CompiledDutyRegime(String name, List<DutyRule> rules, FlightTimePrecision precision) {
+        if (rules.size() > MAX_RULES) {
+            throw new IllegalArgumentException("Правил в режиме не может быть больше " + MAX_RULES);
+        }
+        this.name = name;
+        this.precision = precision;
+        this.ruleNames = new String[rules.size()];
+
+        DutyPeriod[] periods = DutyPeriod.values();
+        List<List<Integer>> rulesByPeriod = new ArrayList<>(periods.length);
+        for (int p = 0; p < periods.length; p++) {
+            rulesByPeriod.add(new ArrayList<>());
+        }
+        TreeMap<Integer, List<Integer>> rulesByWindow = new TreeMap<>();
+        Set<String> names = new HashSet<>();
+        for (int i = 0; i < rules.size(); i++) {
+            DutyRule rule = rules.get(i);
+            if (rule == null || rule.getName() == null || rule.getName().isBlank()) {
+                throw new IllegalArgumentException("У правила режима должно быть название");
+            }
+            if (!names.add(rule.getName())) {
+                throw new IllegalArgumentException("Название правила повторяется: " + rule.getName());
+            }
+            if (rule.getPeriod() == null) {
+                throw new IllegalArgumentException("Не указан период правила " + rule.getName());
+            }
+            if (rule.getPeriod() == DutyPeriod.ROLLING && rule.getDays() < 1) {
+                throw new IllegalArgumentException("Длина окна правила " + rule.getName() + " должна быть положительной");
+            }
+            if (rule.getMaxHours() < 0) {
+                throw new IllegalArgumentException("Лимит правила " + rule.getName() + " не может быть отрицательным");
+            }
+            ruleNames[i] = rule.getName();
+            if (rule.getPeriod() == DutyPeriod.ROLLING) {
+                rulesByWindow.computeIfAbsent(rule.getDays(), days -> new ArrayList<>()).add(i);
+            } else {
+                rulesByPeriod.get(rule.getPeriod().ordinal()).add(i);
+            }
+        }
+
+        this.limits = new long[periods.length][];
+        this.bits = new long[periods.length][];
+        this.periodMasks = new long[periods.length];
+        this.limitMasks = new long[periods.length];
+        for (int p = 0; p < periods.length; p++) {
+            limits[p] = sortedLimits(rules, rulesByPeriod.get(p), precision);
+            bits[p] = sortedBits(rules, rulesByPeriod.get(p));
+        }
+
+        this.windowDays = new int[rulesByWindow.size()];
+        this.windowLimits = new long[rulesByWindow.size()][];
+        this.windowBits = new long[rulesByWindow.size()][];
+        int w = 0;
+        for (Map.Entry<Integer, List<Integer>> window : rulesByWindow.entrySet()) {
+            windowDays[w] = window.getKey();
+            windowLimits[w] = sortedLimits(rules, window.getValue(), precision);
+            windowBits[w] = sortedBits(rules, window.getValue());
+            w++;
+        }
+
+        for (int i = 0; i < ruleNames.length; i++) {
+            periodMasks[rules.get(i).getPeriod().ordinal()] |= 1L << i;
+            limitMasks[limitPeriod(rules.get(i)).ordinal()] |= 1L << i;
+        }
+    }
+
+    /**
+     * Период, лимит которого нарушается при нарушении правила: для скользящего окна — наименьший
+     * календарный период, не короче окна.
+     */
+    private static DutyPeriod limitPeriod(DutyRule rule) {
+        if (rule.getPeriod() != DutyPeriod.ROLLING) {
+            return rule.getPeriod();
+        }
+        if (rule.getDays() <= 1) {
+            return DutyPeriod.DAY;
+        }
+        if (rule.getDays() <= DAYS_PER_WEEK) {
+            return DutyPeriod.WEEK;
+        }
+        return rule.getDays() <= MAX_DAYS_PER_MONTH ? DutyPeriod.MONTH : DutyPeriod.YEAR;
+    }
+
+    private static long[] sortedLimits(List<DutyRule> rules, List<Integer> group, FlightTimePrecision precision) {
+        group.sort((a, b) -> Long.compare(rules.get(a).getMaxHours(), rules.get(b).getMaxHours()));
+        return group.stream().mapToLong(i -> Math.multiplyExact(rules.get(i).getMaxHours(), precision.unitsPerHour())).toArray();
+    }
+
+    private static long[] sortedBits(List<DutyRule> rules, List<Integer> group) {
+        group.sort((a, b) -> Long.compare(rules.get(a).getMaxHours(), rules.get(b).getMaxHours()));
+        return group.stream().mapToLong(i -> 1L << i).toArray();
+    }
+
+    /**
+     * @return Название режима.
+     */
+    public String name() {
+        return name;
+    }
+
+    /**
+     * @return Точность учета налета, для которой скомпилирован режим.
+     */
+    public FlightTimePrecision precision() {
+        return precision;
+    }
+
+    /**
+     * Проверяет все месяцы налета пилота одним проходом.
+     *
+     * @param hours Налет пилота по месяцам.
+     * @return Маски нарушенных правил по индексам месяцев {@code hours}.
+     */
+    public long[] evaluate(PilotHoursSeries hours) {
+        long[] violations = new long[hours.monthCount()];
+        int year = Integer.MIN_VALUE;
+        long yearHours = 0;
+        for (int m = 0; m < violations.length; m++) {
+            int monthYear = Math.floorDiv(hours.month(m), MONTHS_PER_YEAR);
+            if (monthYear != year) {
+                year = monthYear;
+                yearHours = 0;
+            }
+            yearHours += hours.monthHours(m);
+            violations[m] = check(hours.monthMaxDayHours(m), hours.monthMaxWeekHours(m), hours.monthHours(m), yearHours);
+        }
+
+        long[] windowMax = new long[violations.length];
+        for (int w = 0; w < windowDays.length; w++) {
+            maxWindowHoursByMonth(hours, windowDays[w], windowMax);
+            for (int m = 0; m < violations.length; m++) {
+                violations[m] |= exceeded(windowLimits[w], windowBits[w], windowMax[m]);
+            }
+        }
+        return violations;
+    }
+
+    /**
+     * Вычисляет для каждого месяца максимальный налет среди окон из {@code days} дней, заканчивающихся в месяце.
+     * Концы окон перебираются по возрастанию, поэтому левая и правая границы окна только сдвигаются вперед.
+     */
+    private static void maxWindowHoursByMonth(PilotHoursSeries hours, int days, long[] maxByMonth) {
+        int left = 0;
+        int right = 0;
+        long sum = 0;
+        for (int m = 0; m < maxByMonth.length; m++) {
+            int firstDay = EpochDays.firstDayOfMonth(hours.month(m));
+            int lastDay = EpochDays.lastDayOfMonth(hours.month(m));
+            long max = 0;
+            // Окно, заканчивающееся в первый день месяца, затем окна, заканчивающиеся в дни с налетом
+            int end = firstDay;
+            while (end <= lastDay) {
+                while (right < hours.dayCount() && hours.day(right) <= end) {
+                    sum += hours.dayHours(right++);
+                }
+                while (left < right && hours.day(left) <= end - days) {
+                    sum -= hours.dayHours(left++);
+                }
+                max = Math.max(max, sum);
+                end = right < hours.dayCount() ? Math.max(end + 1, hours.day(right)) : lastDay + 1;
+            }
+            maxByMonth[m] = max;
+        }
+    }
+
+    /**
+     * Проверяет один месяц налета, хранимого для инкрементального расчета.
+     *
+     * @param hours Налет пилота.
+     * @param month Номер месяца.
+     * @return Маска нарушенных правил.
+     */
+    public long evaluate(IncrementalFlightHours hours, int month) {
+        long yearHours = 0;
+        if (limits[DutyPeriod.YEAR.ordinal()].length > 0) {
+            for (int m = month - Math.floorMod(month, MONTHS_PER_YEAR); m <= month; m++) {
+                yearHours += hours.monthHours(m);
+            }
+        }
+        long violations = check(hours.monthMaxDayHours(month), hours.monthMaxWeekHours(month), hours.monthHours(month), yearHours);
+        for (int w = 0; w < windowDays.length; w++) {
+            violations |= exceeded(windowLimits[w], windowBits[w], maxWindowHours(hours, month, windowDays[w]));
+        }
+        return violations;
+    }
+
+    /**
+     * Вычисляет максимальный налет среди окон из {@code days} дней, заканчивающихся в месяце,
+     * скользящей суммой по дням от начала первого окна до конца месяца. Сумма начинается с дня перед
+     * первым окном, который вычитается на первом шаге.
+     */
+    private static long maxWindowHours(IncrementalFlightHours hours, int month, int days) {
+        int firstDay = EpochDays.firstDayOfMonth(month);
+        int lastDay = EpochDays.lastDayOfMonth(month);
+        long sum = 0;
+        for (int day = firstDay - days; day < firstDay; day++) {
+            sum += hours.dayHours(day);
+        }
+        long max = 0;
+        for (int day = firstDay; day <= lastDay; day++) {
+            sum += hours.dayHours(day) - hours.dayHours(day - days);
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+
+    /**
+     * Возвращает последний месяц, показатели которого зависят от налета в указанном месяце.
+     * Для годовых правил это декабрь того же года, для скользящих окон — месяц, в котором заканчивается
+     * самое длинное окно, начинающееся в последний день месяца; без таких правил — сам месяц.
+     *
+     * @param month Номер месяца.
+     * @return Номер последнего зависимого месяца.
+     */
+    public int lastDependentMonth(int month) {
+        int last = month;
+        if (limits[DutyPeriod.YEAR.ordinal()].length > 0) {
+            last = month - Math.floorMod(month, MONTHS_PER_YEAR) + MONTHS_PER_YEAR - 1;
+        }
+        if (windowDays.length > 0) {
+            int windowEnd = EpochDays.lastDayOfMonth(month) + windowDays[windowDays.length - 1] - 1;
+            last = Math.max(last, EpochDays.monthIndex(windowEnd));
+        }
+        return last;
+    }
+
+    /**
+     * @param violations Маска нарушенных правил.
+     * @param period Период.
+     * @return {@code true}, если нарушено хотя бы одно правило периода.
+     */
+    public boolean violates(long violations, DutyPeriod period) {
+        return (violations & periodMasks[period.ordinal()]) != 0;
+    }
+
+    /**
+     * Проверяет превышение лимита периода с учетом скользящих окон: правило окна относится к наименьшему
+     * календарному периоду, не короче окна (окно в 1 день — к дню, до 7 дней — к неделе, до 31 дня — к месяцу,
+     * длиннее — к году). Так флаги превышения лимитов месяца заполняются и для режима скользящих окон.
+     *
+     * @param violations Маска нарушенных правил.
+     * @param period Календарный период.
+     * @return {@code true}, если нарушено правило периода или скользящего окна, отнесенного к периоду.
+     */
+    public boolean exceedsLimit(long violations, DutyPeriod period) {
+        return (violations & limitMasks[period.ordinal()]) != 0;
+    }
+
+    /**
+     * @param violations Маска нарушенных правил.
+     * @return Названия нарушенных правил в порядке их объявления в режиме.
+     */
+    public List<String> ruleNames(long violations) {
+        if (violations == 0) {
+            return Collections.emptyList();
+        }
+        List<String> names = new ArrayList<>(Long.bitCount(violations));
+        for (long rest = violations; rest != 0; rest &= rest - 1) {
+            names.add(ruleNames[Long.numberOfTrailingZeros(rest)]);
+        }
+        return names;
+    }
+
+    private long check(long maxDayHours, long maxWeekHours, long monthHours, long yearHours) {
+        return exceeded(DutyPeriod.DAY, maxDayHours)
+                | exceeded(DutyPeriod.WEEK, maxWeekHours)
+                | exceeded(DutyPeriod.MONTH, monthHours)
+                | exceeded(DutyPeriod.YEAR, yearHours);
+    }
+
+    /**
+     * Лимиты группы упорядочены по возрастанию, поэтому нарушенные правила образуют ее начало.
+     */
+    private long exceeded(DutyPeriod period, long hours) {
+        return exceeded(limits[period.ordinal()], bits[period.ordinal()], hours);
+    }
+
+    private static long exceeded(long[] periodLimits, long[] periodBits, long hours) {
+        long mask = 0;
+        for (int i = 0; i < periodLimits.length && hours > periodLimits[i]; i++) {
+            mask |= periodBits[i];
+        }
+        return mask;
+    }
+
+    @Override
+    public String toString() {
+        return name + Arrays.toString(ruleNames) + ", точность: " + precision;
+    }
+}
@@ -0,0 +1,34 @@
+package ru.example.rules;
+
+/**
+ * Период, за который правило {@link DutyRule} ограничивает налет.
+ */
+public enum DutyPeriod {
+
+    /**
+     * Календарный день; проверяется максимальный налет за день месяца.
+     */
+    DAY,
+
+    /**
+     * Календарная неделя с понедельника; проверяется максимальный налет среди недель, пересекающихся с месяцем.
+     */
+    WEEK,
+
+    /**
+     * Календарный месяц; проверяется налет за месяц.
+     */
+    MONTH,
+
+    /**
+     * Календарный год; проверяется налет с начала года по конец месяца включительно,
+     * поэтому нарушение отмечается начиная с месяца, в котором годовой лимит превышен.
+     */
+    YEAR,
+
+    /**
+     * Скользящее окно из {@link DutyRule#getDays()} дней; проверяется максимальный налет среди окон,
+     * последний день которых приходится на месяц.
+     */
+    ROLLING
+}
@@ -0,0 +1,91 @@
+package ru.example.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.example.aggregation.FlightTimePrecision;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Режим труда и отдыха — набор правил {@link DutyRule}, проверяемых для каждого месяца налета пилота.
+ * <p>
+ * Режим задается в JSON, например:
+ * <pre>{@code
+ * {
+ *   "name" : "Стандартный",
+ *   "rules" : [
+ *     { "name" : "MONTH_80", "period" : "MONTH", "maxHours" : 80 },
+ *     { "name" : "YEAR_800", "period" : "YEAR", "maxHours" : 800 },
+ *     { "name" : "ROLLING_28D_100", "period" : "ROLLING", "days" : 28, "maxHours" : 100 }
+ *   ]
+ * }
+ * }</pre>
+ * Перед расчетом режим компилируется один раз методом {@link #compile(FlightTimePrecision)}.
+ * </p>
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DutyRegime {
+
+    /**
+     * Название режима.
+     */
+    private String name;
+
+    /**
+     * Правила режима в порядке вывода нарушений.
+     */
+    private List<DutyRule> rules = new ArrayList<>();
+
+    /**
+     * Создает режим по умолчанию: не более 80 часов в месяц, 36 часов в неделю и 8 часов в день.
+     *
+     * @return Режим по умолчанию.
+     */
+    public static DutyRegime standard() {
+        return new DutyRegime("Стандартный", new ArrayList<>(List.of(
+                new DutyRule("MONTH_80", DutyPeriod.MONTH, 80),
+                new DutyRule("WEEK_36", DutyPeriod.WEEK, 36),
+                new DutyRule("DAY_8", DutyPeriod.DAY, 8))));
+    }
+
+    /**
+     * Создает режим со скользящими окнами вместо календарных недель и месяцев: не более 8 часов в день,
+     * 36 часов за любые 7 дней подряд, 80 часов за любые 28 дней и 1000 часов за любые 365 дней.
+     *
+     * @return Режим со скользящими окнами.
+     */
+    public static DutyRegime rolling() {
+        return new DutyRegime("Скользящие окна", new ArrayList<>(List.of(
+                DutyRule.rolling("ROLLING_7D_36", 7, 36),
+                DutyRule.rolling("ROLLING_28D_80", 28, 80),
+                DutyRule.rolling("ROLLING_365D_1000", 365, 1000),
+                new DutyRule("DAY_8", DutyPeriod.DAY, 8))));
+    }
+
+    /**
+     * Проверяет правила и строит по ним {@link CompiledDutyRegime}.
+     *
+     * @return Скомпилированный режим.
+     * @throws IllegalArgumentException если правило задано некорректно, названия правил повторяются
+     *                                  или правил больше {@link CompiledDutyRegime#MAX_RULES}.
+     */
+    public CompiledDutyRegime compile() {
+        return compile(FlightTimePrecision.HOURS);
+    }
+
+    /**
+     * Проверяет правила и строит по ним {@link CompiledDutyRegime} для налета, учитываемого с указанной точностью.
+     *
+     * @param precision Точность учета налета; лимиты переводятся в ее единицы.
+     * @return Скомпилированный режим.
+     * @throws IllegalArgumentException если правило задано некорректно, названия правил повторяются
+     *                                  или правил больше {@link CompiledDutyRegime#MAX_RULES}.
+     */
+    public CompiledDutyRegime compile(FlightTimePrecision precision) {
+        return new CompiledDutyRegime(name, rules == null ? List.of() : rules, precision);
+    }
+}
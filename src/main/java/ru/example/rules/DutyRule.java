@@ -0,0 +1,57 @@
+package ru.example.rules;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Правило режима труда и отдыха: налет за период {@link #period} не должен превышать {@link #maxHours}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class DutyRule {
+
+    /**
+     * Название правила; выводится в {@link ru.example.model.TimeMonth#getViolatedRules()} при нарушении.
+     */
+    private String name;
+
+    /**
+     * Период, за который ограничивается налет.
+     */
+    private DutyPeriod period;
+
+    /**
+     * Допустимый налет за период в часах; правило нарушено, если налет больше этого значения.
+     */
+    private long maxHours;
+
+    /**
+     * Длина скользящего окна в днях для периода {@link DutyPeriod#ROLLING}; для остальных периодов не используется.
+     */
+    private int days;
+
+    /**
+     * Создает правило календарного периода.
+     *
+     * @param name Название правила.
+     * @param period Период.
+     * @param maxHours Допустимый налет за период в часах.
+     */
+    public DutyRule(String name, DutyPeriod period, long maxHours) {
+        this(name, period, maxHours, 0);
+    }
+
+    /**
+     * Создает правило скользящего окна.
+     *
+     * @param name Название правила.
+     * @param days Длина окна в днях.
+     * @param maxHours Допустимый налет за окно в часах.
+     * @return Правило периода {@link DutyPeriod#ROLLING}.
+     */
+    public static DutyRule rolling(String name, int days, long maxHours) {
+        return new DutyRule(name, DutyPeriod.ROLLING, maxHours, days);
+    }
+}
@@ -0,0 +1,209 @@
+package ru.example.runner;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Наблюдение за входным каталогом: каждый новый или измененный входной файл {@code *.json} передается
+ * в {@link FileProcessor}, результат записывается рядом — в файл с суффиксом {@link #OUTPUT_SUFFIX}.
+ * <p>
+ * Событие создания файла приходит, когда запись файла еще может продолжаться, поэтому файл обрабатывается
+ * только после того, как его размер и время изменения не менялись {@code settleMillis} миллисекунд.
+ * При запуске обрабатываются входные файлы, результат для которых отсутствует или старше входного файла;
+ * так же каталог просматривается заново при переполнении очереди событий.
+ * </p>
+ * <p>
+ * Наблюдение выполняется в вызывающем потоке методом {@link #run()} до вызова {@link #close()}.
+ * </p>
+ */
+@Slf4j
+final class DirectoryWatcher implements Closeable {
+
+    /**
+     * Суффикс выходного файла: для {@code base.json} результат записывается в {@code base.out.json}.
+     */
+    static final String OUTPUT_SUFFIX = ".out.json";
+
+    private static final String INPUT_SUFFIX = ".json";
+
+    /**
+     * Обработка одного входного файла.
+     */
+    @FunctionalInterface
+    interface FileProcessor {
+
+        /**
+         * @param input Входной файл.
+         * @param output Выходной файл рядом с входным.
+         * @throws Exception Если обработка не удалась; наблюдение при этом продолжается.
+         */
+        void process(Path input, Path output) throws Exception;
+    }
+
+    private final Path directory;
+    private final FileProcessor processor;
+    private final long settleMillis;
+    private final WatchService watchService;
+
+    /**
+     * Входные файлы, ожидающие окончания записи: размер и время изменения при последней проверке.
+     */
+    private final Map<Path, FileState> pending = new LinkedHashMap<>();
+
+    private record FileState(long size, FileTime modified, long checkedNanos) {
+    }
+
+    /**
+     * @param directory Наблюдаемый каталог.
+     * @param processor Обработка входного файла.
+     * @param settleMillis Время без изменений файла, после которого запись файла считается завершенной.
+     * @throws IOException Если не удалось начать наблюдение за каталогом.
+     */
+    DirectoryWatcher(Path directory, FileProcessor processor, long settleMillis) throws IOException {
+        this.directory = directory;
+        this.processor = processor;
+        this.settleMillis = settleMillis;
+        this.watchService = directory.getFileSystem().newWatchService();
+        directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE, StandardWatchEventKinds.ENTRY_MODIFY);
+    }
+
+    /**
+     * @param input Входной файл.
+     * @return Выходной файл рядом с входным.
+     */
+    static Path outputOf(Path input) {
+        String name = input.getFileName().toString();
+        return input.resolveSibling(name.substring(0, name.length() - INPUT_SUFFIX.length()) + OUTPUT_SUFFIX);
+    }
+
+    /**
+     * @param file Файл каталога.
+     * @return {@code true}, если файл — входной, а не результат обработки.
+     */
+    static boolean isInput(Path file) {
+        String name = file.getFileName().toString();
+        return name.endsWith(INPUT_SUFFIX) && !name.endsWith(OUTPUT_SUFFIX) && !name.startsWith(".");
+    }
+
+    /**
+     * Наблюдает за каталогом и обрабатывает входные файлы до вызова {@link #close()} или прерывания потока.
+     *
+     * @throws IOException Если не удалось просмотреть каталог.
+     */
+    void run() throws IOException {
+        log.info("Наблюдение за каталогом {}", directory);
+        scan();
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                WatchKey key = pending.isEmpty()
+                        ? watchService.take()
+                        : watchService.poll(settleMillis, TimeUnit.MILLISECONDS);
+                if (key != null) {
+                    for (WatchEvent<?> event : key.pollEvents()) {
+                        if (event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                            scan();
+                        } else {
+                            Path file = directory.resolve((Path) event.context());
+                            if (isInput(file)) {
+                                pending.putIfAbsent(file, null);
+                            }
+                        }
+                    }
+                    key.reset();
+                }
+                processSettled();
+            }
+        } catch (ClosedWatchServiceException e) {
+            // Наблюдение остановлено вызовом close()
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Наблюдение за каталогом {} остановлено", directory);
+    }
+
+    /**
+     * Ставит в очередь входные файлы каталога, результат для которых отсутствует или устарел.
+     */
+    private void scan() throws IOException {
+        try (DirectoryStream<Path> files = Files.newDirectoryStream(directory, "*" + INPUT_SUFFIX)) {
+            for (Path file : files) {
+                if (isInput(file) && isOutdated(file)) {
+                    pending.putIfAbsent(file, null);
+                }
+            }
+        }
+    }
+
+    private static boolean isOutdated(Path input) throws IOException {
+        Path output = outputOf(input);
+        return !Files.exists(output)
+                || Files.getLastModifiedTime(output).compareTo(Files.getLastModifiedTime(input)) < 0;
+    }
+
+    /**
+     * Обрабатывает ожидающие файлы, которые не менялись {@link #settleMillis} миллисекунд.
+     */
+    private void processSettled() {
+        long now = System.nanoTime();
+        List<Path> settled = new ArrayList<>();
+        for (Iterator<Map.Entry<Path, FileState>> it = pending.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Path, FileState> entry = it.next();
+            Path file = entry.getKey();
+            FileState current;
+            try {
+                current = new FileState(Files.size(file), Files.getLastModifiedTime(file), now);
+            } catch (IOException e) {
+                // Файл удален или переименован до обработки
+                it.remove();
+                continue;
+            }
+            FileState previous = entry.getValue();
+            if (previous != null && previous.size() == current.size() && previous.modified().equals(current.modified())) {
+                if (now - previous.checkedNanos() >= TimeUnit.MILLISECONDS.toNanos(settleMillis)) {
+                    settled.add(file);
+                    it.remove();
+                }
+            } else {
+                entry.setValue(current);
+            }
+        }
+        settled.forEach(this::process);
+    }
+
+    private void process(Path input) {
+        Path output = outputOf(input);
+        long start = System.nanoTime();
+        try {
+            processor.process(input, output);
+            log.info("Файл {} обработан за {} мс, результат: {}", input.getFileName(),
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), output.getFileName());
+        } catch (Exception e) {
+            log.error("Ошибка при обработке файла {}", input, e);
+        }
+    }
+
+    /**
+     * Останавливает наблюдение; {@link #run()} завершается.
+     */
+    @Override
+    public void close() throws IOException {
+        watchService.close();
+    }
+}
@@ -0,0 +1,213 @@
+package ru.example.runner;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.service.DataPersistenceService;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+
+/**
+ * Входные данные, разбитые на несколько файлов (шардов), например по базам или по месяцам.
+ * <p>
+ * Шарды читаются параллельно и объединяются в один набор: рейс с одним и тем же идентификатором
+ * учитывается один раз, пилот — тоже, поэтому налет пилота, летавшего в нескольких шардах,
+ * рассчитывается по всем его рейсам. Каждый пилот закрепляется за первым шардом (в порядке имен файлов),
+ * в котором он объявлен, и попадает в выходной файл этого шарда.
+ * </p>
+ */
+@Slf4j
+final class InputShards {
+
+    private static final String GLOB_CHARS = "*?[{";
+
+    /**
+     * Объединенные данные шардов.
+     *
+     * @param input Пилоты и рейсы всех шардов без повторов.
+     * @param shardByPilot Номер шарда, за которым закреплен пилот, по идентификатору пилота.
+     */
+    record Merged(InputPilotsAndFlights input, Map<Long, Integer> shardByPilot) {
+    }
+
+    private InputShards() {
+    }
+
+    /**
+     * Находит файлы шардов.
+     *
+     * @param location Каталог (берутся все файлы {@code *.json}), шаблон glob для имен файлов
+     *                 (например, {@code data/flights-*.json}) или путь к одному файлу.
+     * @return Файлы шардов в порядке имен.
+     * @throws IOException Если каталог не удалось прочитать или не найдено ни одного файла.
+     */
+    static List<Path> resolve(String location) throws IOException {
+        Path path = Paths.get(location);
+        String pattern;
+        Path directory;
+        if (Files.isDirectory(path)) {
+            directory = path;
+            pattern = "*.json";
+        } else if (location.chars().anyMatch(c -> GLOB_CHARS.indexOf(c) >= 0)) {
+            directory = path.getParent() == null ? Paths.get(".") : path.getParent();
+            pattern = path.getFileName().toString();
+        } else {
+            return List.of(path);
+        }
+
+        List<Path> shards = new ArrayList<>();
+        try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory, pattern)) {
+            stream.forEach(file -> {
+                if (Files.isRegularFile(file)) {
+                    shards.add(file);
+                }
+            });
+        }
+        if (shards.isEmpty()) {
+            throw new IOException("Не найдено ни одного файла шарда: " + location);
+        }
+        shards.sort(null);
+        return shards;
+    }
+
+    /**
+     * Читает шарды параллельно.
+     *
+     * @param persistence Сервис чтения данных.
+     * @param shards Файлы шардов.
+     * @param executor Исполнитель для чтения.
+     * @return Данные шардов в порядке файлов.
+     * @throws IOException Если не удалось прочитать один из шардов.
+     */
+    static List<InputPilotsAndFlights> readAll(DataPersistenceService persistence, List<Path> shards,
+                                               ExecutorService executor) throws IOException {
+        List<Future<InputPilotsAndFlights>> futures = new ArrayList<>(shards.size());
+        for (Path shard : shards) {
+            futures.add(executor.submit(() -> {
+                log.info("Чтение шарда {}", shard);
+                return persistence.readFile(shard.toFile(), InputPilotsAndFlights.class);
+            }));
+        }
+        List<InputPilotsAndFlights> inputs = new ArrayList<>(shards.size());
+        for (int i = 0; i < futures.size(); i++) {
+            inputs.add(await(futures.get(i), shards.get(i)));
+        }
+        return inputs;
+    }
+
+    /**
+     * Объединяет данные шардов. Рейсы с одинаковым идентификатором считаются одним рейсом:
+     * сохраняется первый из них, расхождения в повторах выводятся в лог. Пилоты и рейсы без идентификатора
+     * передаются без объединения, чтобы их отклонила валидация.
+     *
+     * @param shards Данные шардов в порядке файлов.
+     * @return Объединенные данные и закрепление пилотов за шардами.
+     */
+    static Merged merge(List<InputPilotsAndFlights> shards) {
+        Map<Long, Pilot> pilots = new LinkedHashMap<>();
+        Map<Long, Integer> shardByPilot = new HashMap<>();
+        List<Pilot> pilotsWithoutId = new ArrayList<>();
+        Map<Long, Flight> flights = new LinkedHashMap<>();
+        List<Flight> flightsWithoutId = new ArrayList<>();
+        int duplicateFlights = 0;
+
+        for (int shard = 0; shard < shards.size(); shard++) {
+            InputPilotsAndFlights input = shards.get(shard);
+            if (input.getPilots() != null) {
+                for (Pilot pilot : input.getPilots()) {
+                    if (pilot.getIdPilot() == null) {
+                        // Пилот без идентификатора не закрепляется за шардом, он будет отклонен валидацией
+                        pilotsWithoutId.add(pilot);
+                    } else if (pilots.putIfAbsent(pilot.getIdPilot(), pilot) == null) {
+                        shardByPilot.put(pilot.getIdPilot(), shard);
+                    }
+                }
+            }
+            if (input.getFlights() != null) {
+                for (Flight flight : input.getFlights()) {
+                    if (flight.getId() == null) {
+                        // Рейс без идентификатора нельзя сопоставить, он будет отклонен валидацией
+                        flightsWithoutId.add(flight);
+                        continue;
+                    }
+                    Flight existing = flights.putIfAbsent(flight.getId(), flight);
+                    if (existing != null) {
+                        duplicateFlights++;
+                        if (!sameSchedule(existing, flight)) {
+                            log.warn("Рейс с ID {} в шардах различается, используется первая версия", flight.getId());
+                        }
+                    }
+                }
+            }
+        }
+        if (duplicateFlights > 0) {
+            log.info("Повторяющихся рейсов в шардах: {}", duplicateFlights);
+        }
+
+        LinkedHashSet<Pilot> mergedPilots = new LinkedHashSet<>(pilots.values());
+        mergedPilots.addAll(pilotsWithoutId);
+        LinkedHashSet<Flight> mergedFlights = new LinkedHashSet<>(flights.values());
+        mergedFlights.addAll(flightsWithoutId);
+        return new Merged(new InputPilotsAndFlights(mergedPilots, mergedFlights), shardByPilot);
+    }
+
+    /**
+     * Распределяет обработанных пилотов по шардам, за которыми они закреплены, сохраняя порядок.
+     *
+     * @param output Результат обработки объединенных данных.
+     * @param shardByPilot Номер шарда по идентификатору пилота.
+     * @param shardCount Количество шардов.
+     * @return Результат для каждого шарда.
+     */
+    static List<OutputPilotsAndFlights> partition(OutputPilotsAndFlights output, Map<Long, Integer> shardByPilot,
+                                                  int shardCount) {
+        List<OutputPilotsAndFlights> partitions = new ArrayList<>(shardCount);
+        for (int shard = 0; shard < shardCount; shard++) {
+            partitions.add(new OutputPilotsAndFlights());
+        }
+        for (Pilot pilot : output.getSpecialists()) {
+            partitions.get(shardByPilot.get(pilot.getIdPilot())).getSpecialists().add(pilot);
+        }
+        return partitions;
+    }
+
+    private static boolean sameSchedule(Flight first, Flight second) {
+        return Objects.equals(first.getDepartureTime(), second.getDepartureTime())
+                && Objects.equals(first.getArrivalTime(), second.getArrivalTime())
+                && Objects.equals(first.getIdPilots(), second.getIdPilots());
+    }
+
+    static <T> T await(Future<T> future, Path shard) throws IOException {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IOException("Прервана обработка шарда " + shard, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof IOException ioException) {
+                throw ioException;
+            }
+            if (e.getCause() instanceof UncheckedIOException uncheckedIOException) {
+                throw uncheckedIOException.getCause();
+            }
+            throw new IOException("Ошибка обработки шарда " + shard, e.getCause());
+        }
+    }
+}
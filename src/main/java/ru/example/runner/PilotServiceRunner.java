@@ -1,15 +1,42 @@
 package ru.example.runner;
 
 import lombok.extern.slf4j.Slf4j;
+import ru.example.aggregation.FlightTimePrecision;
 import ru.example.config.ObjectMapperConfig;
+import ru.example.config.ProcessingConfig;
 import ru.example.dto.InputPilotsAndFlights;
 import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.metrics.LongAdderProcessingMetrics;
+import ru.example.metrics.Phase;
+import ru.example.metrics.PhaseTimer;
+import ru.example.query.FlightHoursQueryServer;
+import ru.example.query.PilotHoursIndex;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyRegime;
+import ru.example.service.ConsoleRejectionSink;
 import ru.example.service.DataPersistenceService;
 import ru.example.service.DataPersistenceServiceImpl;
 import ru.example.service.PilotFlightService;
 import ru.example.service.PilotFlightServiceImpl;
+import ru.example.service.PilotFlightSource;
+import ru.example.service.RejectionSink;
+import ru.example.service.SpecialistWriter;
+import ru.example.zone.AirportZones;
 
 import java.io.File;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 /**
  * Класс для обработки данных о пилотах и рейсах.
@@ -26,15 +53,25 @@ import java.io.File;
 @Slf4j
 public class PilotServiceRunner {
 
+    /**
+     * Время без изменений входного файла в режиме демона, после которого запись файла считается завершенной.
+     */
+    private static final long DAEMON_SETTLE_MILLIS = 500;
+
+    /**
+     * Время, в течение которого при остановке JVM демон дорабатывает текущий файл и освобождает ресурсы.
+     */
+    private static final long DAEMON_SHUTDOWN_MILLIS = 30_000;
+
     /**
      * Входной файл с данными о пилотах и рейсах в формате JSON.
      */
-    private final File inputFile = new File("src/main/resources/InputPilotsAndFlights.json");
+    private final File inputFile;
 
     /**
      * Выходной файл для сохранения обработанных данных о пилотах и рейсах в формате JSON.
      */
-    private final File outputFile = new File("src/main/resources/OutputPilotsAndFlights.json");
+    private final File outputFile;
 
     /**
      * Сервис для чтения и записи данных.
@@ -42,43 +79,438 @@ public class PilotServiceRunner {
     private final DataPersistenceService dataPersistenceServiceImpl;
 
     /**
-     * Сервис для обработки данных о пилотах и рейсах.
+     * Пул для параллельного расчета налета пилотов; {@code null} — последовательный расчет.
+     */
+    private final ForkJoinPool pilotPool;
+
+    /**
+     * Параметры запуска обработки.
+     */
+    private final ProcessingConfig config;
+
+    /**
+     * Метрики обработки, публикуемые через JMX под именем {@link LongAdderProcessingMetrics#OBJECT_NAME}.
      */
-    private final PilotFlightService pilotFlightServiceImpl;
+    private final LongAdderProcessingMetrics metrics = new LongAdderProcessingMetrics();
+
+    /**
+     * Сервер запросов налета; {@code null} — сервер не запускается.
+     */
+    private FlightHoursQueryServer queryServer;
+
+    /**
+     * Конструктор для инициализации сервисов с параметрами запуска по умолчанию.
+     */
+    public PilotServiceRunner() {
+        this(new ProcessingConfig());
+    }
 
     /**
      * Конструктор для инициализации сервисов.
      * Создает экземпляры сервисов для обработки данных с использованием конфигурации {@link ObjectMapperConfig}.
+     *
+     * @param config Параметры запуска обработки.
      */
-    public PilotServiceRunner() {
-        this.dataPersistenceServiceImpl = new DataPersistenceServiceImpl(ObjectMapperConfig.createConfigObjectMapperTime());
-        this.pilotFlightServiceImpl = new PilotFlightServiceImpl();
+    public PilotServiceRunner(ProcessingConfig config) {
+        this.config = config;
+        this.inputFile = config.getInputFile();
+        this.outputFile = config.getOutputFile();
+        this.dataPersistenceServiceImpl = new DataPersistenceServiceImpl(
+                ObjectMapperConfig.createConfigObjectMapperTime(!config.isCompactOutput()));
+        this.pilotPool = config.getParallelism() > 0 ? new ForkJoinPool(config.getParallelism()) : null;
     }
 
     /**
      * Метод для выполнения обработки данных.
      * <p>
      * Процесс включает в себя:
-     * 1. Чтение данных из входного файла ({@link InputPilotsAndFlights}).
-     * 2. Обработку данных с использованием {@link PilotFlightService}.
-     * 3. Запись обработанных данных в выходной файл.
+     * 1. Чтение данных из входного файла ({@link InputPilotsAndFlights}) — целиком либо потоково,
+     * если включен {@link ProcessingConfig#isStreamingInput()}.
+     * 2. Обработку данных с использованием {@link PilotFlightService}; ошибки валидации передаются
+     * в {@link RejectionSink} — в файл {@link ProcessingConfig#getRejectionsFile()} или в {@link System#err}.
+     * 3. Запись обработанных данных в выходной файл — целиком либо потоково,
+     * если включен {@link ProcessingConfig#isStreamingOutput()}.
+     * Если включен {@link ProcessingConfig#isPipelined()}, чтение, обработка и запись выполняются конвейером
+     * одновременно (см. {@link PilotFlightService#processPipelined}).
+     * При работе со снимком ({@link ProcessingConfig#getSnapshotInput()} или
+     * {@link ProcessingConfig#getSnapshotOutput()}) потоковые режимы не используются.
+     * Если заданы шарды ({@link ProcessingConfig#getShards()}), обработка выполняется по ним, см. {@link #runShards}.
+     * Если задан наблюдаемый каталог ({@link ProcessingConfig#getWatchDirectory()}), приложение работает
+     * в режиме демона, см. {@link #runDaemon}.
+     * Если задан порт сервера запросов ({@link ProcessingConfig#getServePort()}), после обработки каждого входного
+     * файла индекс налета публикуется в {@link FlightHoursQueryServer}; сервер продолжает работу после
+     * завершения метода.
      * </p>
      * В случае ошибки процесс записи и обработки прерывается, и в лог выводится сообщение об ошибке.
+     * По завершении пул параллельного расчета закрывается, а накопленные метрики обработки выводятся в лог;
+     * повторный вызов метода на том же экземпляре не поддерживается.
      */
     public void run() {
+        metrics.register();
         try {
-            // Чтение
-            InputPilotsAndFlights inputPilotsAndFlights = dataPersistenceServiceImpl.readFile(inputFile, InputPilotsAndFlights.class);
-
-            // Обработка данных
-            OutputPilotsAndFlights outputPilotsAndFlights = pilotFlightServiceImpl.process(inputPilotsAndFlights);
-
-            // Запись выходного JSON
-            dataPersistenceServiceImpl.writeFile(outputFile, outputPilotsAndFlights);
+            CompiledDutyRegime dutyRegime = loadDutyRegime();
+            AirportZones airportZones = loadAirportZones();
+            startQueryServer();
+            if (config.getWatchDirectory() != null) {
+                runDaemon(dutyRegime, airportZones);
+                return;
+            }
+            try (RejectionSink rejectionSink = openRejectionSink(config.getRejectionsFile())) {
+                PilotFlightService pilotFlightServiceImpl = new PilotFlightServiceImpl(pilotPool, rejectionSink, dutyRegime,
+                        airportZones, metrics);
+                if (config.getShards() != null) {
+                    runShards(pilotFlightServiceImpl);
+                    return;
+                }
+                processFile(pilotFlightServiceImpl, dutyRegime, inputFile, outputFile);
+            }
 
             log.info("Пилоты и рейсы успешно обработаны и записаны в файл: {}", outputFile.getPath());
         } catch (Exception e) {
             log.error("Произошла ошибка при обработке пилотов и рейсов: ", e);
+        } finally {
+            if (pilotPool != null) {
+                pilotPool.close();
+            }
+            metrics.logSummary();
+        }
+    }
+
+    /**
+     * Запускает сервер запросов налета, если задан {@link ProcessingConfig#getServePort()}. Сервер принимает
+     * запросы только с локального адреса. Индекс налета строится при чтении входного файла целиком,
+     * поэтому потоковые режимы, снимки и шарды с сервером не поддерживаются.
+     *
+     * @throws IOException Если не удалось занять порт.
+     */
+    private void startQueryServer() throws IOException {
+        if (config.getServePort() == null || queryServer != null) {
+            return;
+        }
+        if (config.isStreamingInput() || config.isStreamingOutput() || config.isPipelined()
+                || config.getSnapshotInput() != null || config.getSnapshotOutput() != null || config.getShards() != null) {
+            throw new IllegalArgumentException(
+                    "Сервер запросов не поддерживает потоковую и конвейерную обработку, работу со снимком и шарды");
+        }
+        queryServer = new FlightHoursQueryServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), config.getServePort()),
+                ObjectMapperConfig.createConfigObjectMapperTime(false), Clock.systemUTC());
+        queryServer.start();
+    }
+
+    /**
+     * Работает в режиме демона: наблюдает за каталогом {@link ProcessingConfig#getWatchDirectory()} и обрабатывает
+     * каждый поступивший входной файл {@code *.json}, записывая результат рядом с ним (см. {@link DirectoryWatcher}).
+     * Для всех файлов используются одни и те же {@link com.fasterxml.jackson.databind.ObjectMapper}, пул и режим
+     * труда и отдыха, поэтому после первых файлов обработка идет на прогретой JVM. Приемник ошибок валидации
+     * открывается для каждого файла отдельно (см. {@link #rejectionsFileOf}): ограничение подробных записей
+     * действует на файл, итоги по правилам выводятся в лог и отчет дописывается на диск по завершении файла.
+     * Ошибка обработки одного файла не останавливает наблюдение. Отчеты не могут записываться в наблюдаемый
+     * каталог под именами входных файлов (см. {@link #requireRejectionsOutside}).
+     * <p>
+     * При остановке JVM (например, по сигналу завершения) обработчик завершения прекращает наблюдение и
+     * до {@link #DAEMON_SHUTDOWN_MILLIS} миллисекунд ждет, пока текущий файл будет обработан и {@link #run()}
+     * освободит ресурсы.
+     * </p>
+     *
+     * @param dutyRegime Режим труда и отдыха.
+     * @param airportZones Часовые пояса аэропортов или {@code null}.
+     * @throws IOException Если не удалось начать наблюдение за каталогом.
+     */
+    private void runDaemon(CompiledDutyRegime dutyRegime, AirportZones airportZones) throws IOException {
+        if (config.getSnapshotInput() != null || config.getSnapshotOutput() != null) {
+            throw new IllegalArgumentException("Режим демона не поддерживает работу со снимком");
+        }
+        Path watchDirectory = config.getWatchDirectory().toPath();
+        requireRejectionsOutside(watchDirectory);
+        try (DirectoryWatcher watcher = new DirectoryWatcher(watchDirectory, (input, output) -> {
+            try (RejectionSink rejectionSink = openRejectionSink(rejectionsFileOf(input))) {
+                processFile(new PilotFlightServiceImpl(pilotPool, rejectionSink, dutyRegime, airportZones, metrics),
+                        dutyRegime, input.toFile(), output.toFile());
+            }
+        }, DAEMON_SETTLE_MILLIS)) {
+            Thread daemonThread = Thread.currentThread();
+            Thread shutdownHook = new Thread(() -> {
+                try {
+                    watcher.close();
+                    daemonThread.join(DAEMON_SHUTDOWN_MILLIS);
+                } catch (IOException e) {
+                    log.warn("Не удалось остановить наблюдение за каталогом", e);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+            }, "daemon-shutdown");
+            Runtime.getRuntime().addShutdownHook(shutdownHook);
+            watcher.run();
+            try {
+                Runtime.getRuntime().removeShutdownHook(shutdownHook);
+            } catch (IllegalStateException e) {
+                // JVM уже останавливается: обработчик завершения ждет окончания run()
+            }
+        }
+    }
+
+    /**
+     * Проверяет, что отчеты об ошибках валидации режима демона не будут приняты за входные файлы: отчет
+     * {@code flights.rejections.json} в наблюдаемом каталоге был бы обработан как новый входной файл, а его
+     * отчет — снова, и наблюдение обрабатывало бы собственные отчеты без конца.
+     *
+     * @param watchDirectory Наблюдаемый каталог.
+     * @throws IllegalArgumentException Если отчеты записывались бы в наблюдаемый каталог как входные файлы.
+     */
+    private void requireRejectionsOutside(Path watchDirectory) {
+        File rejectionsFile = rejectionsFileOf(watchDirectory.resolve("flights.json"));
+        if (rejectionsFile == null) {
+            return;
+        }
+        Path reportDirectory = rejectionsFile.toPath().getParent().normalize();
+        if (reportDirectory.equals(watchDirectory.toAbsolutePath().normalize())
+                && DirectoryWatcher.isInput(rejectionsFile.toPath())) {
+            throw new IllegalArgumentException("Отчет об ошибках валидации не может записываться в наблюдаемый "
+                    + "каталог в формате входных файлов: " + config.getRejectionsFile());
+        }
+    }
+
+    /**
+     * Возвращает файл отчета об ошибках валидации входного файла в режиме демона: в каталоге
+     * {@link ProcessingConfig#getRejectionsFile()} с именем входного файла перед именем отчета,
+     * например {@code flights.rejections.csv} для {@code flights.json} и {@code --rejections=rejections.csv}.
+     *
+     * @param input Входной файл.
+     * @return Файл отчета или {@code null}, если отчет выводится в {@link System#err}.
+     */
+    private File rejectionsFileOf(Path input) {
+        File rejectionsFile = config.getRejectionsFile();
+        if (rejectionsFile == null) {
+            return null;
+        }
+        String inputName = input.getFileName().toString();
+        String baseName = inputName.substring(0, inputName.length() - ".json".length());
+        return new File(rejectionsFile.getAbsoluteFile().getParentFile(), baseName + "." + rejectionsFile.getName());
+    }
+
+    /**
+     * Обрабатывает один входной файл и записывает результат в выходной файл (см. {@link #run()}).
+     *
+     * @param pilotFlightServiceImpl Сервис расчета налета.
+     * @param dutyRegime Режим труда и отдыха сервиса.
+     * @param inputFile Входной файл.
+     * @param outputFile Выходной файл.
+     * @throws IOException Если не удалось прочитать входные данные или записать результат.
+     */
+    @SuppressWarnings("try")
+    private void processFile(PilotFlightService pilotFlightServiceImpl, CompiledDutyRegime dutyRegime,
+                             File inputFile, File outputFile) throws IOException {
+        boolean withoutSnapshot = config.getSnapshotInput() == null && config.getSnapshotOutput() == null;
+        if (config.isPipelined() && withoutSnapshot) {
+            // Чтение, валидация, расчет и запись выполняются одновременно отдельными этапами
+            try (SpecialistWriter writer = dataPersistenceServiceImpl.openSpecialistWriter(outputFile)) {
+                pilotFlightServiceImpl.processPipelined(
+                        handler -> dataPersistenceServiceImpl.readPilotsAndFlights(inputFile, handler), writer);
+                writer.commit();
+            }
+            metrics.bytesRead(inputFile.length());
+            metrics.bytesWritten(outputFile.length());
+        } else if (config.isStreamingOutput() && withoutSnapshot) {
+            // Потоковая обработка с записью каждого пилота сразу после расчета
+            try (SpecialistWriter writer = dataPersistenceServiceImpl.openSpecialistWriter(outputFile)) {
+                pilotFlightServiceImpl.process(createSource(inputFile), writer);
+                writer.commit();
+            }
+            if (config.isStreamingInput()) {
+                metrics.bytesRead(inputFile.length());
+            }
+            metrics.bytesWritten(outputFile.length());
+        } else {
+            OutputPilotsAndFlights outputPilotsAndFlights;
+            PilotHoursIndex.Builder hoursIndex = null;
+            if (config.getSnapshotInput() != null) {
+                // Результат по готовому снимку без чтения JSON и повторного расчета
+                outputPilotsAndFlights = pilotFlightServiceImpl.process(
+                        dataPersistenceServiceImpl.loadSnapshot(config.getSnapshotInput()));
+                metrics.bytesRead(config.getSnapshotInput().length());
+            } else if (config.getSnapshotOutput() != null) {
+                // Чтение, валидация и запись снимка; результат строится по записанному снимку
+                InputPilotsAndFlights inputPilotsAndFlights = readInput(inputFile);
+                dataPersistenceServiceImpl.writeSnapshot(config.getSnapshotOutput(), inputPilotsAndFlights.getPilots(),
+                        pilotFlightServiceImpl.savedPilotAndFlights(inputPilotsAndFlights), dutyRegime.precision());
+                outputPilotsAndFlights = pilotFlightServiceImpl.process(
+                        dataPersistenceServiceImpl.loadSnapshot(config.getSnapshotOutput()));
+            } else if (config.isStreamingInput()) {
+                // Потоковое чтение и обработка данных
+                outputPilotsAndFlights = pilotFlightServiceImpl.process(createSource(inputFile));
+                metrics.bytesRead(inputFile.length());
+            } else {
+                // Чтение
+                InputPilotsAndFlights inputPilotsAndFlights = readInput(inputFile);
+
+                // Обработка данных; для сервера запросов дополнительно собирается индекс налета
+                if (queryServer != null) {
+                    hoursIndex = PilotHoursIndex.builder(dutyRegime, inputFile.getName(), inputPilotsAndFlights.getPilots());
+                    outputPilotsAndFlights = pilotFlightServiceImpl.process(inputPilotsAndFlights, hoursIndex);
+                } else {
+                    outputPilotsAndFlights = pilotFlightServiceImpl.process(inputPilotsAndFlights);
+                }
+            }
+
+            // Запись выходного JSON
+            try (PhaseTimer ignored = metrics.startPhase(Phase.SERIALIZATION)) {
+                dataPersistenceServiceImpl.writeFile(outputFile, outputPilotsAndFlights);
+            }
+            metrics.bytesWritten(outputFile.length());
+            if (hoursIndex != null) {
+                queryServer.publish(hoursIndex.build());
+            }
+        }
+    }
+
+    /**
+     * Читает входной файл целиком, учитывая время этапа {@link Phase#PARSING} и размер файла.
+     *
+     * @param inputFile Входной файл.
+     * @return Данные о пилотах и рейсах.
+     * @throws IOException Если не удалось прочитать входной файл.
+     */
+    @SuppressWarnings("try")
+    private InputPilotsAndFlights readInput(File inputFile) throws IOException {
+        InputPilotsAndFlights inputPilotsAndFlights;
+        try (PhaseTimer ignored = metrics.startPhase(Phase.PARSING)) {
+            inputPilotsAndFlights = dataPersistenceServiceImpl.readFile(inputFile, InputPilotsAndFlights.class);
+        }
+        metrics.bytesRead(inputFile.length());
+        return inputPilotsAndFlights;
+    }
+
+    /**
+     * Обрабатывает входные данные, разбитые на шарды.
+     * <p>
+     * Шарды читаются параллельно и объединяются (см. {@link InputShards}), налет рассчитывается один раз
+     * по объединенным данным, поэтому рейсы пилота из разных шардов суммируются. Результат записывается
+     * параллельно: для каждого шарда — файл с тем же именем в каталоге
+     * {@link ProcessingConfig#getShardOutputDirectory()} с пилотами, закрепленными за шардом.
+     * </p>
+     *
+     * @param pilotFlightServiceImpl Сервис расчета налета.
+     * @throws IOException Если не удалось прочитать шард или записать результат.
+     */
+    @SuppressWarnings("try")
+    private void runShards(PilotFlightService pilotFlightServiceImpl) throws IOException {
+        List<Path> shards = InputShards.resolve(config.getShards());
+        File outputDirectory = config.getShardOutputDirectory() != null
+                ? config.getShardOutputDirectory()
+                : outputFile.getAbsoluteFile().getParentFile();
+        List<File> outputFiles = new ArrayList<>(shards.size());
+        for (Path shard : shards) {
+            File shardOutput = new File(outputDirectory, shard.getFileName().toString());
+            if (shardOutput.getAbsoluteFile().toPath().normalize().equals(shard.toAbsolutePath().normalize())) {
+                throw new IOException("Выходной файл шарда совпадает с входным: " + shard
+                        + ", укажите другой каталог через --shard-output-dir");
+            }
+            outputFiles.add(shardOutput);
+        }
+        Files.createDirectories(outputDirectory.toPath());
+
+        int threads = Math.min(shards.size(), Runtime.getRuntime().availableProcessors());
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            InputShards.Merged merged;
+            try (PhaseTimer ignored = metrics.startPhase(Phase.PARSING)) {
+                merged = InputShards.merge(InputShards.readAll(dataPersistenceServiceImpl, shards, executor));
+            }
+            for (Path shard : shards) {
+                metrics.bytesRead(Files.size(shard));
+            }
+            log.info("Прочитано шардов: {}, пилотов: {}, рейсов: {}", shards.size(),
+                    merged.input().getPilots().size(), merged.input().getFlights().size());
+
+            List<OutputPilotsAndFlights> outputs = InputShards.partition(
+                    pilotFlightServiceImpl.process(merged.input()), merged.shardByPilot(), shards.size());
+
+            try (PhaseTimer ignored = metrics.startPhase(Phase.SERIALIZATION)) {
+                List<Future<?>> writes = new ArrayList<>(shards.size());
+                for (int i = 0; i < shards.size(); i++) {
+                    File shardOutput = outputFiles.get(i);
+                    OutputPilotsAndFlights output = outputs.get(i);
+                    writes.add(executor.submit(() -> {
+                        dataPersistenceServiceImpl.writeFile(shardOutput, output);
+                        return null;
+                    }));
+                }
+                for (int i = 0; i < writes.size(); i++) {
+                    InputShards.await(writes.get(i), shards.get(i));
+                    metrics.bytesWritten(outputFiles.get(i).length());
+                }
+            }
+        }
+        log.info("Результаты шардов записаны в каталог: {}", outputDirectory.getPath());
+    }
+
+    /**
+     * Загружает и компилирует режим труда и отдыха из {@link ProcessingConfig#getDutyRegimeFile()}
+     * или возвращает встроенный режим: со скользящими окнами, если включен {@link ProcessingConfig#isRollingWindows()},
+     * иначе режим по умолчанию. Режим компилируется для точности учета налета из
+     * {@link ProcessingConfig#isMinutePrecision()}.
+     *
+     * @return Скомпилированный режим труда и отдыха.
+     * @throws IOException Если не удалось прочитать файл режима.
+     */
+    private CompiledDutyRegime loadDutyRegime() throws IOException {
+        FlightTimePrecision precision = config.isMinutePrecision() ? FlightTimePrecision.MINUTES : FlightTimePrecision.HOURS;
+        if (config.getDutyRegimeFile() == null) {
+            return (config.isRollingWindows() ? DutyRegime.rolling() : DutyRegime.standard()).compile(precision);
+        }
+        CompiledDutyRegime dutyRegime = dataPersistenceServiceImpl.readFile(config.getDutyRegimeFile(), DutyRegime.class)
+                .compile(precision);
+        log.info("Режим труда и отдыха: {}", dutyRegime);
+        return dutyRegime;
+    }
+
+    /**
+     * Загружает таблицу часовых поясов аэропортов, если включен {@link ProcessingConfig#isTimeZones()}:
+     * из {@link ProcessingConfig#getAirportZonesFile()} или встроенную.
+     *
+     * @return Таблица часовых поясов или {@code null}, если часовые пояса не учитываются.
+     * @throws IOException Если не удалось прочитать файл таблицы.
+     */
+    private AirportZones loadAirportZones() throws IOException {
+        if (!config.isTimeZones()) {
+            return null;
+        }
+        if (config.getSnapshotInput() != null || config.getSnapshotOutput() != null) {
+            throw new IllegalArgumentException("Учет часовых поясов не поддерживается при работе со снимком");
+        }
+        ZoneId baseZone = ZoneId.of(config.getBaseZone());
+        AirportZones airportZones = config.getAirportZonesFile() == null
+                ? AirportZones.builtIn(baseZone)
+                : AirportZones.load(config.getAirportZonesFile().toPath(), baseZone);
+        log.info("Учет часовых поясов: аэропортов {}, базовый пояс по умолчанию {}", airportZones.size(), baseZone);
+        return airportZones;
+    }
+
+    /**
+     * Открывает приемник ошибок валидации: файл отчета, если он задан, иначе вывод в {@link System#err}.
+     *
+     * @param rejectionsFile Файл отчета или {@code null}.
+     * @return Приемник ошибок валидации.
+     * @throws IOException Если не удалось открыть файл отчета.
+     */
+    private RejectionSink openRejectionSink(File rejectionsFile) throws IOException {
+        if (rejectionsFile != null) {
+            return dataPersistenceServiceImpl.openRejectionSink(rejectionsFile, config.getMaxRejectionDetails());
+        }
+        return new ConsoleRejectionSink(config.getMaxRejectionDetails());
+    }
+
+    /**
+     * Создает источник данных для потоковой обработки: потоковое чтение входного файла
+     * или чтение документа целиком, в зависимости от {@link ProcessingConfig#isStreamingInput()}.
+     *
+     * @param inputFile Входной файл.
+     * @return Источник данных о пилотах и рейсах.
+     * @throws IOException Если произошла ошибка при чтении входного файла целиком.
+     */
+    private PilotFlightSource createSource(File inputFile) throws IOException {
+        if (config.isStreamingInput()) {
+            return handler -> dataPersistenceServiceImpl.readPilotsAndFlights(inputFile, handler);
         }
+        return PilotFlightSource.of(readInput(inputFile));
     }
 }
@@ -0,0 +1,111 @@
+package ru.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.example.validator.ValidationRule;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * Основа приемников отклоненных записей: счетчики по правилам и ограничение числа подробных записей.
+ * <p>
+ * Каждое нарушение учитывается в счетчике своего правила. Подробная запись передается в
+ * {@link #writeDetail} только для первых {@code maxDetails} нарушений, остальные лишь подсчитываются.
+ * При закрытии итоги по правилам выводятся в лог.
+ * </p>
+ */
+@Slf4j
+public abstract class AbstractRejectionSink implements RejectionSink {
+
+    /**
+     * Размер буфера файловых приемников: отчет пишется по мере заполнения буфера.
+     */
+    protected static final int BUFFER_SIZE = 64 * 1024;
+
+    private final long[] countByRule = new long[ValidationRule.values().length];
+    private final long maxDetails;
+    private long details;
+
+    /**
+     * @param maxDetails Максимальное количество подробных записей.
+     */
+    protected AbstractRejectionSink(long maxDetails) {
+        if (maxDetails < 0) {
+            throw new IllegalArgumentException("Количество подробных записей не может быть отрицательным");
+        }
+        this.maxDetails = maxDetails;
+    }
+
+    @Override
+    public synchronized void reject(RejectedEntity entity, Long id, ValidationRule rule) {
+        countByRule[rule.ordinal()]++;
+        if (details < maxDetails) {
+            details++;
+            try {
+                writeDetail(entity, id, rule);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    /**
+     * @param rule Правило валидации.
+     * @return Количество нарушений правила.
+     */
+    public synchronized long count(ValidationRule rule) {
+        return countByRule[rule.ordinal()];
+    }
+
+    /**
+     * @return Количество нарушений по правилам; правила без нарушений не включаются.
+     */
+    public synchronized Map<ValidationRule, Long> counts() {
+        Map<ValidationRule, Long> counts = new EnumMap<>(ValidationRule.class);
+        for (ValidationRule rule : ValidationRule.values()) {
+            if (countByRule[rule.ordinal()] > 0) {
+                counts.put(rule, countByRule[rule.ordinal()]);
+            }
+        }
+        return counts;
+    }
+
+    /**
+     * @return Количество нарушений, сохраненных подробно.
+     */
+    public synchronized long details() {
+        return details;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        long total = 0;
+        for (Map.Entry<ValidationRule, Long> entry : counts().entrySet()) {
+            log.warn("Нарушений правила {}: {}", entry.getKey(), entry.getValue());
+            total += entry.getValue();
+        }
+        if (total > details) {
+            log.warn("Подробно сохранено {} из {} нарушений", details, total);
+        }
+        closeOutput();
+    }
+
+    /**
+     * Записывает подробности нарушения. Вызывается под блокировкой приемника.
+     *
+     * @param entity Тип отклоненной записи.
+     * @param id Идентификатор записи, может быть {@code null}.
+     * @param rule Нарушенное правило.
+     * @throws IOException Если произошла ошибка при записи.
+     */
+    protected abstract void writeDetail(RejectedEntity entity, Long id, ValidationRule rule) throws IOException;
+
+    /**
+     * Освобождает ресурсы приемника. Вызывается один раз при закрытии.
+     *
+     * @throws IOException Если произошла ошибка при закрытии.
+     */
+    protected abstract void closeOutput() throws IOException;
+}
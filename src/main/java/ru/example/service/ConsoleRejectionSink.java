@@ -0,0 +1,52 @@
+package ru.example.service;
+
+import ru.example.validator.ValidationRule;
+
+import java.io.PrintStream;
+
+/**
+ * Приемник отклоненных записей, выводящий их в {@link System#err} в формате прежнего отчета:
+ * заголовок перед первой ошибкой и по строке на каждое нарушение.
+ */
+public class ConsoleRejectionSink extends AbstractRejectionSink {
+
+    private final PrintStream out;
+    private boolean headerPrinted;
+
+    /**
+     * Создает приемник без ограничения числа выводимых нарушений.
+     */
+    public ConsoleRejectionSink() {
+        this(Long.MAX_VALUE);
+    }
+
+    /**
+     * @param maxDetails Максимальное количество выводимых нарушений.
+     */
+    public ConsoleRejectionSink(long maxDetails) {
+        this(System.err, maxDetails);
+    }
+
+    /**
+     * @param out Поток для вывода; не закрывается приемником.
+     * @param maxDetails Максимальное количество выводимых нарушений.
+     */
+    public ConsoleRejectionSink(PrintStream out, long maxDetails) {
+        super(maxDetails);
+        this.out = out;
+    }
+
+    @Override
+    protected void writeDetail(RejectedEntity entity, Long id, ValidationRule rule) {
+        if (!headerPrinted) {
+            out.println("Обнаружены ошибки валидации:");
+            headerPrinted = true;
+        }
+        out.println("Ошибка валидации " + entity.getLabel() + " " + id + ": " + rule.getMessage());
+    }
+
+    @Override
+    protected void closeOutput() {
+        out.flush();
+    }
+}
@@ -0,0 +1,46 @@
+package ru.example.service;
+
+import ru.example.validator.ValidationRule;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Приемник отклоненных записей в формате CSV с заголовком {@code entity,id,rule,message}.
+ * Сообщение всегда заключается в кавычки.
+ */
+final class CsvRejectionSink extends AbstractRejectionSink {
+
+    private final Writer writer;
+
+    CsvRejectionSink(File file, long maxDetails) throws IOException {
+        super(maxDetails);
+        this.writer = new BufferedWriter(
+                new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8), BUFFER_SIZE);
+        writer.write("entity,id,rule,message\n");
+    }
+
+    @Override
+    protected void writeDetail(RejectedEntity entity, Long id, ValidationRule rule) throws IOException {
+        writer.write(entity.name());
+        writer.write(',');
+        if (id != null) {
+            writer.write(Long.toString(id));
+        }
+        writer.write(',');
+        writer.write(rule.name());
+        writer.write(",\"");
+        writer.write(rule.getMessage().replace("\"", "\"\""));
+        writer.write("\"\n");
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        writer.close();
+    }
+}
@@ -1,7 +1,13 @@
 package ru.example.service;
 
+import ru.example.aggregation.FlightSnapshot;
+import ru.example.aggregation.FlightStore;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.model.Pilot;
+
 import java.io.File;
 import java.io.IOException;
+import java.util.Collection;
 
 /**
  * Сервис для работы с файловым хранилищем данных.
@@ -41,4 +47,68 @@ public interface DataPersistenceService {
      * @throws IOException Если произошла ошибка при записи данных в файл.
      */
     <T> void writeFile(File file, T data) throws IOException;
+
+    /**
+     * Потоково читает пилотов и рейсы из файла и передает их обработчику.
+     * <p>
+     * В отличие от {@link #readFile(File, Class)}, метод не строит весь документ в памяти: набор пилотов
+     * передается обработчику целиком, а рейсы — по одному, сразу после чтения.
+     * </p>
+     *
+     * @param file Файл с данными в формате {@link ru.example.dto.InputPilotsAndFlights}.
+     * @param handler Обработчик, принимающий пилотов и рейсы.
+     * @throws IOException Если произошла ошибка при чтении файла или десериализации данных.
+     */
+    void readPilotsAndFlights(File file, PilotFlightHandler handler) throws IOException;
+
+    /**
+     * Открывает файл для потоковой записи пилотов в формате {@link ru.example.dto.OutputPilotsAndFlights}.
+     * <p>
+     * Каждый пилот записывается сразу после передачи в {@link SpecialistWriter#write}. Файл появляется
+     * на месте {@code file} только после {@link SpecialistWriter#commit()}; при закрытии без подтверждения
+     * прежнее содержимое {@code file} сохраняется.
+     * </p>
+     *
+     * @param file Файл, в который будут записаны данные.
+     * @return Приемник пилотов, записывающий их в файл.
+     * @throws IOException Если не удалось открыть файл для записи.
+     */
+    SpecialistWriter openSpecialistWriter(File file) throws IOException;
+
+    /**
+     * Открывает файл для потоковой записи записей, отклоненных при валидации.
+     * <p>
+     * Каждое нарушение записывается в файл по мере обнаружения через ограниченный буфер; после
+     * {@code maxDetails} записей нарушения только подсчитываются по правилам.
+     * </p>
+     *
+     * @param file Файл отчета; формат определяется расширением ({@code .csv} или JSON Lines).
+     * @param maxDetails Максимальное количество подробных записей в файле.
+     * @return Приемник отклоненных записей.
+     * @throws IOException Если не удалось открыть файл для записи.
+     */
+    AbstractRejectionSink openRejectionSink(File file, long maxDetails) throws IOException;
+
+    /**
+     * Записывает двоичный снимок рейсов, индекса экипажей и рассчитанного налета пилотов.
+     *
+     * @param file Файл снимка.
+     * @param pilots Пилоты.
+     * @param flightStore Рейсы, прошедшие валидацию.
+     * @param precision Точность налета в сводках снимка.
+     * @throws IOException Если произошла ошибка при записи.
+     * @see FlightSnapshot
+     */
+    void writeSnapshot(File file, Collection<Pilot> pilots, FlightStore flightStore, FlightTimePrecision precision)
+            throws IOException;
+
+    /**
+     * Открывает двоичный снимок без чтения и разбора его содержимого: файл отображается в память,
+     * данные читаются из отображения при обращении.
+     *
+     * @param file Файл снимка.
+     * @return Снимок рейсов и налета пилотов.
+     * @throws IOException Если файл не удалось открыть или он не является снимком.
+     */
+    FlightSnapshot loadSnapshot(File file) throws IOException;
 }
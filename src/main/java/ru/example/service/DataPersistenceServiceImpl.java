@@ -1,9 +1,25 @@
 package ru.example.service;
 
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import ru.example.aggregation.FlightSnapshot;
+import ru.example.aggregation.FlightStore;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
 
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
 
 /**
  * Реализация сервиса для работы с файловым хранилищем данных.
@@ -12,6 +28,7 @@ import java.io.IOException;
  * для чтения и записи данных в файлы с использованием {@link ObjectMapper} для сериализации и десериализации.
  * </p>
  */
+@Slf4j
 public class DataPersistenceServiceImpl implements DataPersistenceService {
 
     /**
@@ -19,6 +36,12 @@ public class DataPersistenceServiceImpl implements DataPersistenceService {
      */
     private final ObjectMapper objectMapper;
 
+    /**
+     * Читатели отдельных элементов массивов при потоковом чтении.
+     */
+    private final ObjectReader pilotReader;
+    private final ObjectReader flightReader;
+
     /**
      * Конструктор, который инициализирует {@link ObjectMapper}.
      *
@@ -26,6 +49,8 @@ public class DataPersistenceServiceImpl implements DataPersistenceService {
      */
     public DataPersistenceServiceImpl(ObjectMapper objectMapper) {
         this.objectMapper = objectMapper;
+        this.pilotReader = objectMapper.readerFor(Pilot.class);
+        this.flightReader = objectMapper.readerFor(Flight.class);
     }
 
     /**
@@ -62,4 +87,143 @@ public class DataPersistenceServiceImpl implements DataPersistenceService {
     public <T> void writeFile(File file, T data) throws IOException {
         objectMapper.writeValue(file, data);
     }
+
+    /**
+     * Потоково читает пилотов и рейсы из файла с помощью {@link JsonParser}.
+     * <p>
+     * Массив {@code pilots} читается целиком и передается обработчику, после чего каждый элемент массива
+     * {@code flights} десериализуется и сразу передается обработчику. Если в документе рейсы идут раньше
+     * пилотов, они буферизуются до чтения пилотов. Неизвестные поля пропускаются.
+     * </p>
+     *
+     * @param file Файл с данными в формате {@link ru.example.dto.InputPilotsAndFlights}.
+     * @param handler Обработчик, принимающий пилотов и рейсы.
+     * @throws IOException Если произошла ошибка при чтении файла или документ имеет неверную структуру.
+     */
+    @Override
+    public void readPilotsAndFlights(File file, PilotFlightHandler handler) throws IOException {
+        try (JsonParser parser = objectMapper.createParser(file)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new IOException("Ожидался JSON-объект в начале файла " + file.getPath());
+            }
+            boolean pilotsRead = false;
+            List<Flight> pendingFlights = new ArrayList<>();
+
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String fieldName = parser.currentName();
+                JsonToken valueToken = parser.nextToken();
+                if (valueToken == JsonToken.VALUE_NULL) {
+                    continue;
+                }
+                switch (fieldName) {
+                    case "pilots" -> {
+                        handler.onPilots(readPilots(parser));
+                        pilotsRead = true;
+                        pendingFlights.forEach(handler::onFlight);
+                        pendingFlights = Collections.emptyList();
+                    }
+                    case "flights" -> {
+                        expectArray(parser, fieldName);
+                        if (!pilotsRead) {
+                            log.warn("Рейсы в файле {} идут раньше пилотов, рейсы буферизуются в памяти", file.getPath());
+                        }
+                        while (parser.nextToken() != JsonToken.END_ARRAY) {
+                            Flight flight = flightReader.readValue(parser);
+                            if (pilotsRead) {
+                                handler.onFlight(flight);
+                            } else {
+                                pendingFlights.add(flight);
+                            }
+                        }
+                    }
+                    default -> parser.skipChildren();
+                }
+            }
+
+            if (!pilotsRead) {
+                handler.onPilots(Collections.emptySet());
+                pendingFlights.forEach(handler::onFlight);
+            }
+        }
+    }
+
+    /**
+     * Открывает файл для потоковой записи пилотов через {@link JsonSpecialistWriter}.
+     * <p>
+     * Формат вывода (с отступами или компактный) определяется настройкой
+     * {@link com.fasterxml.jackson.databind.SerializationFeature#INDENT_OUTPUT} в {@link ObjectMapper}.
+     * </p>
+     *
+     * @param file Файл, в который будут записаны данные.
+     * @return Приемник пилотов, записывающий их в файл.
+     * @throws IOException Если не удалось открыть файл для записи.
+     */
+    @Override
+    public SpecialistWriter openSpecialistWriter(File file) throws IOException {
+        return new JsonSpecialistWriter(objectMapper, file);
+    }
+
+    /**
+     * Открывает файл для потоковой записи отклоненных записей.
+     * <p>
+     * Файлы с расширением {@code .csv} записываются через {@link CsvRejectionSink}, остальные —
+     * в формате JSON Lines через {@link JsonLinesRejectionSink}.
+     * </p>
+     *
+     * @param file Файл отчета.
+     * @param maxDetails Максимальное количество подробных записей в файле.
+     * @return Приемник отклоненных записей.
+     * @throws IOException Если не удалось открыть файл для записи.
+     */
+    @Override
+    public AbstractRejectionSink openRejectionSink(File file, long maxDetails) throws IOException {
+        if (file.getName().toLowerCase(Locale.ROOT).endsWith(".csv")) {
+            return new CsvRejectionSink(file, maxDetails);
+        }
+        return new JsonLinesRejectionSink(objectMapper.getFactory(), file, maxDetails);
+    }
+
+    /**
+     * Записывает двоичный снимок через {@link FlightSnapshot#write}.
+     *
+     * @param file Файл снимка.
+     * @param pilots Пилоты.
+     * @param flightStore Рейсы, прошедшие валидацию.
+     * @param precision Точность налета в сводках снимка.
+     * @throws IOException Если произошла ошибка при записи.
+     */
+    @Override
+    public void writeSnapshot(File file, Collection<Pilot> pilots, FlightStore flightStore, FlightTimePrecision precision)
+            throws IOException {
+        log.info("Запись снимка в файл: {}", file.getPath());
+        FlightSnapshot.write(file, pilots, flightStore, precision);
+    }
+
+    /**
+     * Открывает двоичный снимок через {@link FlightSnapshot#open}.
+     *
+     * @param file Файл снимка.
+     * @return Снимок рейсов и налета пилотов.
+     * @throws IOException Если файл не удалось открыть или он не является снимком.
+     */
+    @Override
+    public FlightSnapshot loadSnapshot(File file) throws IOException {
+        log.info("Открытие снимка из файла: {}", file.getPath());
+        return FlightSnapshot.open(file);
+    }
+
+    private Set<Pilot> readPilots(JsonParser parser) throws IOException {
+        expectArray(parser, "pilots");
+        Set<Pilot> pilots = new LinkedHashSet<>();
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            pilots.add(pilotReader.readValue(parser));
+        }
+        return pilots;
+    }
+
+    private static void expectArray(JsonParser parser, String fieldName) throws IOException {
+        if (parser.currentToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Поле " + fieldName + " должно быть массивом");
+        }
+    }
 }
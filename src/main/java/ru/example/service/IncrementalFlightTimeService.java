@@ -0,0 +1,79 @@
+package ru.example.service;
+
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.model.TimeMonth;
+
+import java.util.List;
+
+/**
+ * Сервис инкрементального расчета налета пилотов.
+ * <p>
+ * В отличие от {@link PilotFlightService}, сервис хранит налет пилотов между вызовами и при изменении
+ * расписания (добавлении, изменении или отмене рейса) пересчитывает только месяцы, затронутые рейсом,
+ * и только у пилотов его экипажа. Результат в любой момент совпадает с результатом
+ * {@link PilotFlightService#process(InputPilotsAndFlights)} для текущего набора пилотов и рейсов.
+ * </p>
+ */
+public interface IncrementalFlightTimeService {
+
+    /**
+     * Загружает начальный набор пилотов и рейсов.
+     *
+     * @param inputPilotsAndFlights Пилоты и рейсы; невалидные записи отклоняются.
+     */
+    void load(InputPilotsAndFlights inputPilotsAndFlights);
+
+    /**
+     * Добавляет пилота или обновляет имя ранее добавленного пилота.
+     * Как и в {@link PilotFlightService}, пилот с ошибками валидации включается в результат,
+     * если у него есть идентификатор; ошибки только сообщаются.
+     *
+     * @param pilot Пилот.
+     * @return {@code true}, если пилот прошел валидацию.
+     */
+    boolean addPilot(Pilot pilot);
+
+    /**
+     * Добавляет рейс и пересчитывает затронутые им месяцы пилотов экипажа.
+     *
+     * @param flight Новый рейс.
+     * @return {@code true}, если рейс прошел валидацию и добавлен.
+     * @throws IllegalArgumentException если рейс с таким идентификатором уже добавлен.
+     */
+    boolean addFlight(Flight flight);
+
+    /**
+     * Заменяет ранее добавленный рейс с тем же идентификатором. Пересчитываются месяцы, затронутые
+     * старой и новой версией рейса, у пилотов обоих экипажей. Невалидный рейс не заменяет прежний.
+     *
+     * @param flight Новая версия рейса.
+     * @return {@code true}, если рейс прошел валидацию и заменен.
+     * @throws IllegalArgumentException если рейс с таким идентификатором не найден.
+     */
+    boolean updateFlight(Flight flight);
+
+    /**
+     * Отменяет рейс и пересчитывает затронутые им месяцы пилотов экипажа.
+     *
+     * @param flightId Идентификатор рейса.
+     * @return {@code true}, если рейс был найден и удален.
+     */
+    boolean removeFlight(long flightId);
+
+    /**
+     * @param pilotId Идентификатор пилота.
+     * @return Налет пилота по месяцам в порядке возрастания месяца; пустой список, если рейсов нет.
+     */
+    List<TimeMonth> timeMonths(long pilotId);
+
+    /**
+     * Возвращает текущий результат для добавленных пилотов, у которых есть рейсы, в порядке
+     * возрастания идентификатора. Возвращаемые объекты не изменяются последующими вызовами сервиса.
+     *
+     * @return Текущие данные о пилотах и их налете.
+     */
+    OutputPilotsAndFlights snapshot();
+}
@@ -0,0 +1,225 @@
+package ru.example.service;
+
+import lombok.extern.slf4j.Slf4j;
+import ru.example.aggregation.IncrementalFlightHours;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.model.TimeMonth;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyRegime;
+import ru.example.validator.FlightValidator;
+import ru.example.validator.PilotValidator;
+import ru.example.validator.ValidatedFlight;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Реализация инкрементального расчета налета.
+ * <p>
+ * Для каждого пилота хранится {@link IncrementalFlightHours} и готовый налет по месяцам. Изменение рейса
+ * обновляет суммы по дням, неделям и месяцам пилотов экипажа и заново строит {@link TimeMonth} только для
+ * месяцев из {@link IncrementalFlightHours#affectedMonths(long, long)} и месяцев, зависящих от них по правилам
+ * режима труда и отдыха, поэтому стоимость изменения не зависит от общего количества рейсов.
+ * </p>
+ * <p>
+ * Методы сервиса синхронизированы: изменения расписания применяются по одному.
+ * </p>
+ */
+@Slf4j
+public class IncrementalFlightTimeServiceImpl implements IncrementalFlightTimeService {
+
+    private final FlightValidator flightValidator = new FlightValidator();
+    private final PilotValidator pilotValidator = new PilotValidator();
+    private final RejectionSink rejectionSink;
+    private final CompiledDutyRegime dutyRegime;
+
+    private final Map<Long, Pilot> pilots = new HashMap<>();
+    private final Map<Long, ScheduledFlight> flights = new HashMap<>();
+    private final Map<Long, PilotHours> hoursByPilot = new HashMap<>();
+
+    /**
+     * Создает сервис, выводящий ошибки валидации в {@link System#err}.
+     */
+    public IncrementalFlightTimeServiceImpl() {
+        this(new ConsoleRejectionSink());
+    }
+
+    /**
+     * @param rejectionSink Приемник ошибок валидации; не закрывается сервисом.
+     */
+    public IncrementalFlightTimeServiceImpl(RejectionSink rejectionSink) {
+        this(rejectionSink, DutyRegime.standard().compile());
+    }
+
+    /**
+     * @param rejectionSink Приемник ошибок валидации; не закрывается сервисом.
+     * @param dutyRegime Режим труда и отдыха, по которому проверяется налет.
+     */
+    public IncrementalFlightTimeServiceImpl(RejectionSink rejectionSink, CompiledDutyRegime dutyRegime) {
+        this.rejectionSink = rejectionSink;
+        this.dutyRegime = dutyRegime;
+    }
+
+    @Override
+    public synchronized void load(InputPilotsAndFlights inputPilotsAndFlights) {
+        inputPilotsAndFlights.getPilots().forEach(this::addPilot);
+        inputPilotsAndFlights.getFlights().forEach(this::addFlight);
+        log.info("Загружено пилотов: {}, рейсов: {}", pilots.size(), flights.size());
+    }
+
+    @Override
+    public synchronized boolean addPilot(Pilot pilot) {
+        boolean valid = pilotValidator.validate(pilot,
+                rule -> rejectionSink.reject(RejectedEntity.PILOT, pilot.getIdPilot(), rule));
+        // Как и в PilotFlightService, ошибки валидации пилота только сообщаются
+        if (pilot.getIdPilot() != null) {
+            pilots.put(pilot.getIdPilot(), pilot);
+        }
+        return valid;
+    }
+
+    @Override
+    public synchronized boolean addFlight(Flight flight) {
+        if (flight != null && flight.getId() != null && flights.containsKey(flight.getId())) {
+            throw new IllegalArgumentException("Рейс с ID " + flight.getId() + " уже добавлен");
+        }
+        ScheduledFlight scheduled = validate(flight);
+        if (scheduled == null) {
+            return false;
+        }
+        flights.put(flight.getId(), scheduled);
+        apply(scheduled, true);
+        if (log.isTraceEnabled()) {
+            log.trace("Рейс с ID {} добавлен", flight.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean updateFlight(Flight flight) {
+        if (flight == null || flight.getId() == null || !flights.containsKey(flight.getId())) {
+            throw new IllegalArgumentException("Рейс с ID " + (flight == null ? null : flight.getId()) + " не найден");
+        }
+        ScheduledFlight scheduled = validate(flight);
+        if (scheduled == null) {
+            return false;
+        }
+        apply(flights.put(flight.getId(), scheduled), false);
+        apply(scheduled, true);
+        if (log.isTraceEnabled()) {
+            log.trace("Рейс с ID {} изменен", flight.getId());
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized boolean removeFlight(long flightId) {
+        ScheduledFlight removed = flights.remove(flightId);
+        if (removed == null) {
+            return false;
+        }
+        apply(removed, false);
+        if (log.isTraceEnabled()) {
+            log.trace("Рейс с ID {} отменен", flightId);
+        }
+        return true;
+    }
+
+    @Override
+    public synchronized List<TimeMonth> timeMonths(long pilotId) {
+        PilotHours hours = hoursByPilot.get(pilotId);
+        return hours == null ? List.of() : List.copyOf(hours.timeMonths.values());
+    }
+
+    @Override
+    public synchronized OutputPilotsAndFlights snapshot() {
+        OutputPilotsAndFlights output = new OutputPilotsAndFlights();
+        new TreeMap<>(pilots).forEach((pilotId, pilot) -> {
+            PilotHours hours = hoursByPilot.get(pilotId);
+            if (hours != null) {
+                output.getSpecialists().add(
+                        new Pilot(pilotId, pilot.getFullName(), new ArrayList<>(hours.timeMonths.values())));
+            }
+        });
+        return output;
+    }
+
+    private ScheduledFlight validate(Flight flight) {
+        ValidatedFlight validated = flightValidator.validated(flight,
+                rule -> rejectionSink.reject(RejectedEntity.FLIGHT, flight == null ? null : flight.getId(), rule));
+        if (validated == null) {
+            return null;
+        }
+        // Экипаж копируется: список рейса может быть изменен вызывающим кодом
+        long[] crew = flight.getIdPilots().stream().mapToLong(Long::longValue).toArray();
+        return new ScheduledFlight(validated.getDepartureEpochSecond(), validated.getArrivalEpochSecond(), crew);
+    }
+
+    /**
+     * Добавляет или исключает рейс из налета пилотов экипажа и пересчитывает затронутые месяцы.
+     */
+    private void apply(ScheduledFlight flight, boolean add) {
+        int[] months = dependentMonths(
+                IncrementalFlightHours.affectedMonths(flight.departureEpochSecond(), flight.arrivalEpochSecond()));
+        for (long pilotId : flight.crew()) {
+            PilotHours pilotHours = hoursByPilot.computeIfAbsent(pilotId, id -> new PilotHours());
+            if (add) {
+                pilotHours.hours.addFlight(flight.departureEpochSecond(), flight.arrivalEpochSecond());
+            } else {
+                pilotHours.hours.removeFlight(flight.departureEpochSecond(), flight.arrivalEpochSecond());
+            }
+            if (pilotHours.hours.isEmpty()) {
+                hoursByPilot.remove(pilotId);
+            } else {
+                pilotHours.recalculate(months);
+            }
+        }
+    }
+
+    /**
+     * Дополняет затронутые рейсом месяцы месяцами, проверка которых зависит от них по правилам режима,
+     * например месяцами до конца года для годовых лимитов.
+     */
+    private int[] dependentMonths(int[] months) {
+        int last = dutyRegime.lastDependentMonth(months[months.length - 1]);
+        if (last == months[months.length - 1]) {
+            return months;
+        }
+        int[] dependent = new int[last - months[0] + 1];
+        Arrays.setAll(dependent, i -> months[0] + i);
+        return dependent;
+    }
+
+    /**
+     * Рейс в расписании: время в секундах от эпохи и экипаж.
+     */
+    private record ScheduledFlight(long departureEpochSecond, long arrivalEpochSecond, long[] crew) {
+    }
+
+    /**
+     * Налет пилота и построенный по нему налет по месяцам.
+     */
+    private final class PilotHours {
+
+        private final IncrementalFlightHours hours = new IncrementalFlightHours(dutyRegime.precision());
+        private final TreeMap<Integer, TimeMonth> timeMonths = new TreeMap<>();
+
+        private void recalculate(int[] months) {
+            for (int month : months) {
+                if (hours.hasMonth(month)) {
+                    timeMonths.put(month, PilotFlightServiceImpl.toTimeMonth(month, hours.monthHours(month),
+                            hours.monthFlights(month), dutyRegime, dutyRegime.evaluate(hours, month)));
+                } else {
+                    timeMonths.remove(month);
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,46 @@
+package ru.example.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import ru.example.validator.ValidationRule;
+
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+/**
+ * Приемник отклоненных записей в формате JSON Lines: по объекту
+ * {@code {"entity":..,"id":..,"rule":..,"message":..}} на строку.
+ */
+final class JsonLinesRejectionSink extends AbstractRejectionSink {
+
+    private final JsonGenerator generator;
+
+    JsonLinesRejectionSink(JsonFactory jsonFactory, File file, long maxDetails) throws IOException {
+        super(maxDetails);
+        this.generator = jsonFactory.createGenerator(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        // Разделитель между объектами пишется явно
+        generator.setRootValueSeparator(null);
+    }
+
+    @Override
+    protected void writeDetail(RejectedEntity entity, Long id, ValidationRule rule) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("entity", entity.name());
+        if (id == null) {
+            generator.writeNullField("id");
+        } else {
+            generator.writeNumberField("id", id);
+        }
+        generator.writeStringField("rule", rule.name());
+        generator.writeStringField("message", rule.getMessage());
+        generator.writeEndObject();
+        generator.writeRaw('\n');
+    }
+
+    @Override
+    protected void closeOutput() throws IOException {
+        generator.close();
+    }
+}
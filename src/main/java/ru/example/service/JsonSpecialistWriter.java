@@ -0,0 +1,83 @@
+package ru.example.service;
+
+import com.fasterxml.jackson.core.JsonEncoding;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import ru.example.model.Pilot;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+
+/**
+ * Потоковая запись пилотов в формате {@link ru.example.dto.OutputPilotsAndFlights} через {@link JsonGenerator}.
+ * <p>
+ * Каждый пилот сериализуется в массив {@code specialists} сразу после передачи в {@link #write(Pilot)}.
+ * Отступы включаются, если в {@link ObjectMapper} включен {@link SerializationFeature#INDENT_OUTPUT}.
+ * </p>
+ * <p>
+ * Запись идет во временный файл рядом с выходным, скрытый и без расширения {@code .json}. После
+ * {@link #commit()} временный файл переносится на место выходного атомарным переименованием; при закрытии
+ * без подтверждения он удаляется. Поэтому ошибка посреди обработки не оставляет на месте выходного файла
+ * корректный по форме, но неполный JSON.
+ * </p>
+ */
+final class JsonSpecialistWriter implements SpecialistWriter {
+
+    private final Path target;
+    private final Path temporary;
+    private final JsonGenerator generator;
+    private final ObjectWriter pilotWriter;
+    private boolean committed;
+
+    JsonSpecialistWriter(ObjectMapper objectMapper, File file) throws IOException {
+        this.target = file.toPath();
+        this.temporary = target.resolveSibling("." + target.getFileName() + ".tmp");
+        this.generator = objectMapper.getFactory().createGenerator(temporary.toFile(), JsonEncoding.UTF8);
+        if (objectMapper.isEnabled(SerializationFeature.INDENT_OUTPUT)) {
+            generator.useDefaultPrettyPrinter();
+        }
+        // Сброс буфера после каждого пилота не нужен: генератор сбрасывается при закрытии
+        this.pilotWriter = objectMapper.writerFor(Pilot.class)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
+
+        generator.writeStartObject();
+        generator.writeFieldName("specialists");
+        generator.writeStartArray();
+    }
+
+    @Override
+    public void write(Pilot pilot) throws IOException {
+        pilotWriter.writeValue(generator, pilot);
+    }
+
+    @Override
+    public void commit() throws IOException {
+        try (generator) {
+            generator.writeEndArray();
+            generator.writeEndObject();
+        }
+        try {
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } catch (AtomicMoveNotSupportedException e) {
+            Files.move(temporary, target, StandardCopyOption.REPLACE_EXISTING);
+        }
+        committed = true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (!committed) {
+            try {
+                generator.close();
+            } finally {
+                Files.deleteIfExists(temporary);
+            }
+        }
+    }
+}
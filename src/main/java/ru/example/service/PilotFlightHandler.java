@@ -0,0 +1,31 @@
+package ru.example.service;
+
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+
+import java.util.Collection;
+
+/**
+ * Обработчик потока данных о пилотах и рейсах.
+ * <p>
+ * Используется при потоковом чтении входного файла: сначала обработчику передается набор пилотов,
+ * затем рейсы передаются по одному, сразу после их чтения. Это позволяет не держать в памяти
+ * весь список рейсов.
+ * </p>
+ */
+public interface PilotFlightHandler {
+
+    /**
+     * Принимает набор пилотов. Вызывается один раз до передачи первого рейса.
+     *
+     * @param pilots Набор пилотов из входных данных.
+     */
+    void onPilots(Collection<Pilot> pilots);
+
+    /**
+     * Принимает очередной рейс.
+     *
+     * @param flight Прочитанный рейс.
+     */
+    void onFlight(Flight flight);
+}
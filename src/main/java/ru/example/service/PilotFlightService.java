@@ -1,8 +1,12 @@
 package ru.example.service;
 
+import ru.example.aggregation.FlightSnapshot;
+import ru.example.aggregation.FlightStore;
 import ru.example.dto.InputPilotsAndFlights;
 import ru.example.dto.OutputPilotsAndFlights;
 
+import java.io.IOException;
+
 /**
  * Сервис для обработки данных о пилотах и рейсах.
  * <p>
@@ -23,4 +27,74 @@ public interface PilotFlightService {
      * @return Обработанные данные о пилотах и рейсах в виде объекта {@link OutputPilotsAndFlights}.
      */
     OutputPilotsAndFlights process(InputPilotsAndFlights inputPilotsAndFlights);
+
+    /**
+     * Обрабатывает входные данные о пилотах и рейсах так же, как {@link #process(InputPilotsAndFlights)},
+     * и дополнительно передает сводку налета каждого пилота в {@code listener}.
+     *
+     * @param inputPilotsAndFlights Объект, содержащий входные данные о пилотах и рейсах.
+     * @param listener Получатель сводок налета пилотов.
+     * @return Обработанные данные о пилотах и рейсах в виде объекта {@link OutputPilotsAndFlights}.
+     */
+    OutputPilotsAndFlights process(InputPilotsAndFlights inputPilotsAndFlights, PilotHoursListener listener);
+
+    /**
+     * Потоково обрабатывает данные о пилотах и рейсах.
+     * <p>
+     * Рейсы принимаются из {@link PilotFlightSource} по одному и сразу учитываются в налете пилотов,
+     * поэтому объем памяти зависит от количества пилотов, а не от количества рейсов.
+     * </p>
+     *
+     * @param source Источник данных о пилотах и рейсах.
+     * @return Обработанные данные о пилотах и рейсах в виде объекта {@link OutputPilotsAndFlights}.
+     * @throws IOException Если произошла ошибка при чтении данных из источника.
+     */
+    OutputPilotsAndFlights process(PilotFlightSource source) throws IOException;
+
+    /**
+     * Потоково обрабатывает данные о пилотах и рейсах и передает результат в {@link SpecialistWriter}.
+     * <p>
+     * Каждый пилот передается в {@code writer} сразу после расчета его налета по месяцам, поэтому
+     * полный список результатов в памяти не строится. Повторы рейса с тем же идентификатором отбрасываются,
+     * учитывается первый из них, поэтому результат совпадает с {@link #process(InputPilotsAndFlights)} для
+     * тех же данных. Метод не закрывает {@code writer}.
+     * </p>
+     *
+     * @param source Источник данных о пилотах и рейсах.
+     * @param writer Приемник обработанных пилотов.
+     * @throws IOException Если произошла ошибка при чтении данных или записи результата.
+     */
+    void process(PilotFlightSource source, SpecialistWriter writer) throws IOException;
+
+    /**
+     * Обрабатывает данные о пилотах и рейсах конвейером: чтение, валидация, расчет налета и запись
+     * результата выполняются одновременно в отдельных потоках и связаны ограниченными очередями.
+     * Результат совпадает с {@link #process(PilotFlightSource, SpecialistWriter)} и с {@link #process(InputPilotsAndFlights)}
+     * для тех же данных, включая отбрасывание повторов рейсов. Метод не закрывает {@code writer}.
+     *
+     * @param source Источник данных о пилотах и рейсах; читается в отдельном потоке.
+     * @param writer Приемник обработанных пилотов; вызывается из отдельного потока.
+     * @throws IOException Если произошла ошибка при чтении данных или записи результата.
+     */
+    void processPipelined(PilotFlightSource source, SpecialistWriter writer) throws IOException;
+
+    /**
+     * Валидирует пилотов и рейсы и сохраняет рейсы, прошедшие валидацию, в колоночное хранилище.
+     *
+     * @param inputPilotsAndFlights Объект, содержащий входные данные о пилотах и рейсах.
+     * @return Хранилище рейсов, прошедших валидацию.
+     */
+    FlightStore savedPilotAndFlights(InputPilotsAndFlights inputPilotsAndFlights);
+
+    /**
+     * Строит результат по двоичному снимку без повторного расчета налета.
+     * <p>
+     * Налет по месяцам берется из сводок снимка, по ним заново проверяются только лимиты.
+     * Пилоты упорядочены по идентификатору, как и в остальных режимах.
+     * </p>
+     *
+     * @param snapshot Снимок рейсов и налета пилотов.
+     * @return Обработанные данные о пилотах и рейсах в виде объекта {@link OutputPilotsAndFlights}.
+     */
+    OutputPilotsAndFlights process(FlightSnapshot snapshot);
 }
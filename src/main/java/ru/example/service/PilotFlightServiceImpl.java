@@ -1,20 +1,39 @@
 package ru.example.service;
 
 import lombok.extern.slf4j.Slf4j;
+import ru.example.aggregation.CrewIndex;
+import ru.example.aggregation.EpochDays;
+import ru.example.aggregation.FlightHoursAccumulator;
+import ru.example.aggregation.FlightHoursSummary;
+import ru.example.aggregation.FlightSnapshot;
+import ru.example.aggregation.FlightStore;
+import ru.example.aggregation.LongHashSet;
 import ru.example.dto.InputPilotsAndFlights;
 import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.metrics.Phase;
+import ru.example.metrics.PhaseTimer;
+import ru.example.metrics.ProcessingMetrics;
 import ru.example.model.*;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyPeriod;
+import ru.example.rules.DutyRegime;
 import ru.example.validator.FlightValidator;
 import ru.example.validator.PilotValidator;
-
-import java.time.DayOfWeek;
-import java.time.Duration;
-import java.time.LocalDate;
-import java.time.LocalDateTime;
-import java.time.temporal.TemporalAdjusters;
-import java.time.temporal.WeekFields;
+import ru.example.validator.ValidatedFlight;
+import ru.example.validator.ValidationRule;
+import ru.example.validator.ViolationSink;
+import ru.example.zone.AirportZones;
+import ru.example.zone.ZoneTimeline;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.io.UncheckedIOException;
 import java.util.*;
-import java.util.stream.Collectors;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.BiFunction;
 
 /**
  * Реализация сервиса для обработки данных пилотов и рейсов. Сервис предоставляет функциональность для
@@ -30,7 +49,13 @@ import java.util.stream.Collectors;
  * </ul>
  *
  * <p>Методы сервиса ведут логирование на разных уровнях (INFO, DEBUG, WARN, ERROR) для отслеживания
- * процессов валидации и обработки данных.
+ * процессов валидации и обработки данных. События отдельных пилотов, рейсов и месяцев выводятся на уровне
+ * TRACE под проверкой уровня, а ход обработки — сводными строками {@link ProgressLog}, поэтому журнал
+ * не замедляет обработку больших объемов данных.
+ *
+ * <p>Сервис не хранит состояния между вызовами: связи пилотов с рейсами и накопленный налет принадлежат
+ * каждому вызову {@code process}. Поэтому один экземпляр можно переиспользовать и вызывать из нескольких
+ * потоков одновременно.
  *
  * @see FlightValidator
  * @see PilotValidator
@@ -41,11 +66,140 @@ import java.util.stream.Collectors;
 @Slf4j
 public class PilotFlightServiceImpl implements PilotFlightService {
 
-    private final Map<Pilot, List<Flight>> flightsByPilot = new HashMap<>();
+    /**
+     * Количество пилотов, налет которых рассчитывается за один параллельный шаг.
+     * Ограничивает число готовых результатов, ожидающих записи.
+     */
+    private static final int PILOT_CHUNK_SIZE = 1024;
+
+    /**
+     * Количество знаков после запятой в налете с дробной частью.
+     */
+    private static final int PRECISE_HOURS_SCALE = 2;
 
-    private final FlightValidator flightValidator = new FlightValidator();
+    /**
+     * Количество рейсов или пилотов в одной порции конвейерной обработки.
+     */
+    private static final int PIPELINE_BATCH_SIZE = 1024;
+
+    /**
+     * Количество порций в очереди между этапами конвейера.
+     */
+    private static final int PIPELINE_QUEUE_CAPACITY = 64;
+
+    /**
+     * Количество нарушений, выводимых подробно приемником по умолчанию за один вызов обработки.
+     */
+    private static final long DEFAULT_REJECTION_DETAILS = 10_000;
+
+    private static final Comparator<Pilot> PILOT_ORDER =
+            Comparator.comparing(Pilot::getIdPilot, Comparator.nullsFirst(Comparator.naturalOrder()));
+
+    private final FlightValidator flightValidator;
     private final PilotValidator pilotValidator = new PilotValidator();
 
+    /**
+     * Приемник записей, отклоненных при валидации; {@code null} — для каждого вызова обработки
+     * открывается свой {@link ConsoleRejectionSink} (см. {@link #openRejectionSink()}).
+     */
+    private final RejectionSink rejectionSink;
+
+    /**
+     * Пул для параллельного расчета налета пилотов; {@code null} — расчет в вызывающем потоке.
+     */
+    private final ForkJoinPool pilotPool;
+
+    /**
+     * Режим труда и отдыха, по которому проверяется налет за каждый месяц.
+     */
+    private final CompiledDutyRegime dutyRegime;
+
+    /**
+     * Часовые пояса аэропортов и базовый пояс экипажа; {@code null} — часовые пояса не учитываются.
+     */
+    private final AirportZones airportZones;
+
+    /**
+     * Метрики обработки: прочитанные записи, нарушения валидации, время этапов.
+     */
+    private final ProcessingMetrics metrics;
+
+    /**
+     * Создает сервис, рассчитывающий налет пилотов последовательно.
+     */
+    public PilotFlightServiceImpl() {
+        this(null);
+    }
+
+    /**
+     * Создает сервис, рассчитывающий налет разных пилотов параллельно в указанном пуле.
+     * Порядок пилотов в результате не зависит от пула: пилоты упорядочены по идентификатору.
+     *
+     * @param pilotPool пул для параллельного расчета или {@code null} для последовательного расчета
+     */
+    public PilotFlightServiceImpl(ForkJoinPool pilotPool) {
+        this(pilotPool, null);
+    }
+
+    /**
+     * Создает сервис с указанным приемником записей, отклоненных при валидации.
+     * Приемник не закрывается сервисом.
+     *
+     * @param pilotPool пул для параллельного расчета или {@code null} для последовательного расчета
+     * @param rejectionSink приемник нарушений валидации или {@code null}, чтобы каждый вызов обработки
+     *                      выводил нарушения в {@link System#err} и итоги по правилам в лог
+     */
+    public PilotFlightServiceImpl(ForkJoinPool pilotPool, RejectionSink rejectionSink) {
+        this(pilotPool, rejectionSink, DutyRegime.standard().compile());
+    }
+
+    /**
+     * Создает сервис, проверяющий налет по указанному режиму труда и отдыха.
+     *
+     * @param pilotPool пул для параллельного расчета или {@code null} для последовательного расчета
+     * @param rejectionSink приемник нарушений валидации
+     * @param dutyRegime скомпилированный режим труда и отдыха
+     */
+    public PilotFlightServiceImpl(ForkJoinPool pilotPool, RejectionSink rejectionSink, CompiledDutyRegime dutyRegime) {
+        this(pilotPool, rejectionSink, dutyRegime, null);
+    }
+
+    /**
+     * Создает сервис, учитывающий часовые пояса: время рейса считается местным временем аэропортов
+     * отправления и прибытия, а налет пилота делится по дням в часовом поясе его базового аэропорта
+     * (см. {@link AirportZones#baseOf(Pilot)}).
+     *
+     * @param pilotPool пул для параллельного расчета или {@code null} для последовательного расчета
+     * @param rejectionSink приемник нарушений валидации
+     * @param dutyRegime скомпилированный режим труда и отдыха
+     * @param airportZones часовые пояса аэропортов или {@code null}, если часовые пояса не учитываются
+     */
+    public PilotFlightServiceImpl(ForkJoinPool pilotPool, RejectionSink rejectionSink, CompiledDutyRegime dutyRegime,
+                                  AirportZones airportZones) {
+        this(pilotPool, rejectionSink, dutyRegime, airportZones, ProcessingMetrics.NOOP);
+    }
+
+    /**
+     * Создает сервис, передающий метрики обработки в указанный приемник: количество прочитанных пилотов
+     * и рейсов, нарушения валидации по правилам, количество рассчитанных пилотов и время этапов
+     * {@link Phase#VALIDATION} и {@link Phase#AGGREGATION}.
+     *
+     * @param pilotPool пул для параллельного расчета или {@code null} для последовательного расчета
+     * @param rejectionSink приемник нарушений валидации
+     * @param dutyRegime скомпилированный режим труда и отдыха
+     * @param airportZones часовые пояса аэропортов или {@code null}, если часовые пояса не учитываются
+     * @param metrics приемник метрик обработки
+     */
+    public PilotFlightServiceImpl(ForkJoinPool pilotPool, RejectionSink rejectionSink, CompiledDutyRegime dutyRegime,
+                                  AirportZones airportZones, ProcessingMetrics metrics) {
+        this.pilotPool = pilotPool;
+        this.metrics = metrics;
+        this.rejectionSink = rejectionSink;
+        this.dutyRegime = dutyRegime;
+        this.airportZones = airportZones;
+        this.flightValidator = new FlightValidator(airportZones);
+    }
+
     /**
      * Обрабатывает данные о пилотах и рейсах, включая валидацию и сохранение информации в {@link OutputPilotsAndFlights}.
      *
@@ -53,16 +207,28 @@ public class PilotFlightServiceImpl implements PilotFlightService {
      * @return объект {@link OutputPilotsAndFlights}, содержащий обработанные данные пилотов и рейсов
      */
     public OutputPilotsAndFlights process(InputPilotsAndFlights inputPilotsAndFlights) {
+        return process(inputPilotsAndFlights, PilotHoursListener.NOOP);
+    }
+
+    /**
+     * Обрабатывает данные о пилотах и рейсах и передает сводку налета каждого пилота в {@code listener}.
+     *
+     * @param inputPilotsAndFlights объект, содержащий данные о пилотах и рейсах
+     * @param listener получатель сводок налета пилотов
+     * @return объект {@link OutputPilotsAndFlights}, содержащий обработанные данные пилотов и рейсов
+     */
+    @Override
+    public OutputPilotsAndFlights process(InputPilotsAndFlights inputPilotsAndFlights, PilotHoursListener listener) {
         log.info("Обработка данных InputPilotsAndFlights");
         OutputPilotsAndFlights outputPilotsAndFlights = new OutputPilotsAndFlights();
 
         try {
             log.debug("Начало сохранения данных пилотов и рейсов...");
-            savedPilotAndFlights(inputPilotsAndFlights);
+            FlightStore flightStore = savedPilotAndFlights(inputPilotsAndFlights);
             log.info("Данные пилотов и рейсов успешно сохранены.");
 
             log.debug("Начало сохранения данных в Specialist...");
-            savedOutPut(outputPilotsAndFlights);
+            savedOutPut(inputPilotsAndFlights.getPilots(), flightStore, outputPilotsAndFlights, listener);
             log.info("Данные в Specialist успешно сохранены.");
 
         } catch (Exception e) {
@@ -73,252 +239,607 @@ public class PilotFlightServiceImpl implements PilotFlightService {
     }
 
     /**
-     * Сохраняет данные пилотов и их налет в объект {@link OutputPilotsAndFlights}.
-     * Для каждого пилота рассчитывается налет по месяцам.
+     * Потоково обрабатывает данные о пилотах и рейсах.
+     * Каждый рейс валидируется и сразу учитывается в налете пилотов по дням, сам рейс при этом не сохраняется.
      *
-     * @param outputPilotsAndFlights объект для сохранения данных о пилотах и их налете
+     * @param source источник данных о пилотах и рейсах
+     * @return объект {@link OutputPilotsAndFlights}, содержащий обработанные данные пилотов и рейсов
+     * @throws IOException если произошла ошибка при чтении данных из источника
      */
-    public void savedOutPut(OutputPilotsAndFlights outputPilotsAndFlights) {
-        log.info("Начало обработки данных для сохранения в outputPilotsAndFlights");
-        for (Map.Entry<Pilot, List<Flight>> entry : flightsByPilot.entrySet()) {
-            Pilot pilot = entry.getKey();
-            List<Flight> flights = entry.getValue();
+    @Override
+    public OutputPilotsAndFlights process(PilotFlightSource source) throws IOException {
+        OutputPilotsAndFlights outputPilotsAndFlights = new OutputPilotsAndFlights();
+        process(source, outputPilotsAndFlights.getSpecialists()::add);
+        return outputPilotsAndFlights;
+    }
 
-            // Рассчитываем данные по налету
-            List<TimeMonth> timeMonths = calculateFlightTime(flights);
-            pilot.setTimeMonthList(timeMonths);
-            outputPilotsAndFlights.getSpecialists().add(pilot);
+    /**
+     * Потоково обрабатывает данные о пилотах и рейсах и передает каждого пилота в {@link SpecialistWriter}
+     * сразу после расчета его налета. Накопленный налет пилота освобождается после записи.
+     *
+     * @param source источник данных о пилотах и рейсах
+     * @param writer приемник обработанных пилотов
+     * @throws IOException если произошла ошибка при чтении данных или записи результата
+     */
+    @Override
+    @SuppressWarnings("try")
+    public void process(PilotFlightSource source, SpecialistWriter writer) throws IOException {
+        log.info("Потоковая обработка данных пилотов и рейсов");
+        StreamingAggregation aggregation = new StreamingAggregation();
+        LongHashSet flightIds = new LongHashSet();
+        ProgressLog progress = new ProgressLog(log, "рейсов");
+        try (RejectionSink sink = openRejectionSink();
+             PhaseTimer ignored = metrics.startPhase(Phase.VALIDATION)) {
+            source.read(new PilotFlightHandler() {
+                @Override
+                public void onPilots(Collection<Pilot> pilots) {
+                    validatePilots(pilots, sink);
+                    aggregation.addPilots(pilots);
+                }
+
+                @Override
+                public void onFlight(Flight flight) {
+                    progress.increment();
+                    ValidatedFlight validatedFlight = isRepeated(flight, flightIds, sink) ? null : validateFlight(flight, sink);
+                    if (validatedFlight != null) {
+                        aggregation.addFlight(validatedFlight);
+                    }
+                }
+            });
         }
-        log.info("Завершена обработка данных и сохранение в outputPilotsAndFlights");
+        progress.finish();
+        metrics.flightsRead(progress.count());
+        try (PhaseTimer ignored = metrics.startPhase(Phase.AGGREGATION)) {
+            aggregation.complete(writer);
+        }
+        log.info("Потоковая обработка данных пилотов и рейсов завершена");
     }
 
     /**
-     * Сохраняет данные пилотов и рейсов, валидация которых была успешной.
-     * Также связывает пилотов с рейсами.
+     * Обрабатывает данные о пилотах и рейсах конвейером из четырех этапов, каждый в своем виртуальном потоке:
+     * <ol>
+     *     <li>чтение — рейсы из {@code source} собираются в порции по {@link #PIPELINE_BATCH_SIZE};</li>
+     *     <li>валидация — повторы рейсов отбрасываются, пилоты и рейсы порции валидируются, ошибки передаются
+     *     в приемник нарушений вызова (см. {@link #openRejectionSink()});</li>
+     *     <li>расчет — налет накапливается по пилотам, после чтения всех рейсов рассчитывается по месяцам
+     *     (см. {@link #calculateInPilotOrder}) и передается порциями пилотов;</li>
+     *     <li>запись — пилоты передаются в {@code writer} в порядке возрастания идентификатора.</li>
+     * </ol>
+     * Этапы связаны очередями на {@link #PIPELINE_QUEUE_CAPACITY} порций: разбор входных данных идет
+     * одновременно с валидацией и накоплением налета, а запись результата — одновременно с расчетом.
+     * Время этапов в метриках — время работы этапа целиком, поэтому этапы пересекаются.
      *
-     * @param inputPilotsAndFlights объект, содержащий данные о пилотах и рейсах
+     * @param source источник данных о пилотах и рейсах
+     * @param writer приемник обработанных пилотов
+     * @throws IOException если произошла ошибка при чтении данных или записи результата
+     */
+    @Override
+    public void processPipelined(PilotFlightSource source, SpecialistWriter writer) throws IOException {
+        log.info("Конвейерная обработка данных пилотов и рейсов");
+        try (RejectionSink sink = openRejectionSink()) {
+            runPipeline(source, writer, sink);
+        }
+        log.info("Конвейерная обработка данных пилотов и рейсов завершена");
+    }
+
+    /**
+     * Запускает этапы конвейера {@link #processPipelined} и ожидает их завершения.
+     *
+     * @param source источник входных данных
+     * @param writer получатель результата
+     * @param sink приемник нарушений валидации этого вызова
+     * @throws IOException если произошла ошибка при чтении данных или записи результата
+     */
+    @SuppressWarnings("try")
+    private void runPipeline(PilotFlightSource source, SpecialistWriter writer, RejectionSink sink) throws IOException {
+        BlockingQueue<Batch<Flight>> parsed = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        BlockingQueue<Batch<ValidatedFlight>> validated = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+        BlockingQueue<Batch<Pilot>> calculated = new ArrayBlockingQueue<>(PIPELINE_QUEUE_CAPACITY);
+
+        PipelineStages.run(List.of(
+                () -> {
+                    try (PhaseTimer ignored = metrics.startPhase(Phase.PARSING)) {
+                        readStage(source, parsed);
+                    }
+                    return null;
+                },
+                () -> {
+                    try (PhaseTimer ignored = metrics.startPhase(Phase.VALIDATION)) {
+                        validationStage(parsed, validated, sink);
+                    }
+                    return null;
+                },
+                () -> {
+                    try (PhaseTimer ignored = metrics.startPhase(Phase.AGGREGATION)) {
+                        aggregationStage(validated, calculated);
+                    }
+                    return null;
+                },
+                () -> {
+                    try (PhaseTimer ignored = metrics.startPhase(Phase.SERIALIZATION)) {
+                        writeStage(calculated, writer);
+                    }
+                    return null;
+                }));
+    }
+
+    /**
+     * Порция конвейерной обработки: пилоты входных данных или записи этапа.
+     * Последняя порция {@link #last()} не содержит данных и завершает поток порций.
+     *
+     * @param pilots пилоты входных данных
+     * @param records рейсы или рассчитанные пилоты
+     * @param last признак окончания данных
+     * @param <T> тип записей
+     */
+    private record Batch<T>(Collection<Pilot> pilots, List<T> records, boolean last) {
+
+        static <T> Batch<T> of(List<T> records) {
+            return new Batch<>(List.of(), records, false);
+        }
+
+        static <T> Batch<T> end() {
+            return new Batch<>(List.of(), List.of(), true);
+        }
+    }
+
+    /**
+     * Этап чтения: передает пилотов и порции рейсов из источника на этап валидации.
      */
-    public void savedPilotAndFlights(InputPilotsAndFlights inputPilotsAndFlights) {
-        List<String> validationErrors = new ArrayList<>();
-        inputPilotsAndFlights.getPilots().forEach(pilot -> {
-            try {
-                log.info("Валидация пилота с ID: {}", pilot.getIdPilot());
-                pilotValidator.validate(pilot);
-                log.info("Пилот с ID {} прошёл валидацию", pilot.getIdPilot());
-            } catch (IllegalArgumentException exception) {
-                validationErrors.add("Ошибка валидации ID пилота " + pilot.getIdPilot() + ": " + exception.getMessage());
+    private void readStage(PilotFlightSource source, BlockingQueue<Batch<Flight>> parsed) throws IOException {
+        List<Flight> flights = new ArrayList<>(PIPELINE_BATCH_SIZE);
+        source.read(new PilotFlightHandler() {
+            @Override
+            public void onPilots(Collection<Pilot> pilots) {
+                flush(flights, parsed);
+                PipelineStages.put(parsed, new Batch<>(pilots, List.of(), false));
+            }
+
+            @Override
+            public void onFlight(Flight flight) {
+                flights.add(flight);
+                if (flights.size() == PIPELINE_BATCH_SIZE) {
+                    flush(flights, parsed);
+                }
             }
         });
+        flush(flights, parsed);
+        PipelineStages.put(parsed, Batch.end());
+    }
 
-        Map<Long, Pilot> pilotById = inputPilotsAndFlights.getPilots().stream()
-                .collect(Collectors.toMap(Pilot::getIdPilot, pilot -> pilot));
-
-        inputPilotsAndFlights.getFlights().forEach(flight -> {
-            boolean isValidFlight = true;
-            try {
-                log.info("Валидация рейса с ID: {}", flight.getId());
-                flightValidator.validate(flight); // Проверка валидности рейса
-                log.info("Рейс с ID {} прошёл валидацию", flight.getId());
-            } catch (IllegalArgumentException e) {
-                log.error("Ошибка валидации рейса с ID {}: {}", flight.getId(), e.getMessage());
-                validationErrors.add("Ошибка валидации рейса " + flight.getId() + ": " + e.getMessage());
-                isValidFlight = false;
+    /**
+     * Передает накопленные записи следующему этапу одной порцией и очищает буфер.
+     */
+    private static <T> void flush(List<T> buffer, BlockingQueue<Batch<T>> queue) {
+        if (!buffer.isEmpty()) {
+            PipelineStages.put(queue, Batch.of(List.copyOf(buffer)));
+            buffer.clear();
+        }
+    }
+
+    /**
+     * Этап валидации: отбрасывает повторы рейсов (см. {@link #isRepeated}), валидирует пилотов и рейсы
+     * и передает прошедшие валидацию рейсы на этап расчета.
+     */
+    private void validationStage(BlockingQueue<Batch<Flight>> parsed, BlockingQueue<Batch<ValidatedFlight>> validated,
+                                 RejectionSink sink) {
+        LongHashSet flightIds = new LongHashSet();
+        ProgressLog progress = new ProgressLog(log, "рейсов");
+        for (Batch<Flight> batch = PipelineStages.take(parsed); !batch.last(); batch = PipelineStages.take(parsed)) {
+            if (!batch.pilots().isEmpty()) {
+                validatePilots(batch.pilots(), sink);
+                PipelineStages.put(validated, new Batch<>(batch.pilots(), List.of(), false));
             }
-            // Связываем пилотов с рейсами, если рейс валидный
-            if (isValidFlight) {
-                flight.getIdPilots().forEach(pilotId -> {
-                    Pilot pilot = pilotById.get(pilotId);
-                    if (pilot != null) {
-                        flightsByPilot.computeIfAbsent(pilot, k -> new ArrayList<>()).add(flight);
-                        log.info("Рейс с ID {} добавлен пилоту с ID {}", flight.getId(), pilot.getIdPilot());
-                    }
-                });
+            List<ValidatedFlight> flights = new ArrayList<>(batch.records().size());
+            for (Flight flight : batch.records()) {
+                progress.increment();
+                ValidatedFlight validatedFlight = isRepeated(flight, flightIds, sink) ? null : validateFlight(flight, sink);
+                if (validatedFlight != null) {
+                    flights.add(validatedFlight);
+                }
+            }
+            if (!flights.isEmpty()) {
+                PipelineStages.put(validated, Batch.of(flights));
+            }
+        }
+        progress.finish();
+        metrics.flightsRead(progress.count());
+        PipelineStages.put(validated, Batch.end());
+    }
+
+    /**
+     * Этап расчета: накапливает налет пилотов, а после получения всех рейсов рассчитывает налет по месяцам
+     * и передает пилотов порциями на этап записи.
+     */
+    private void aggregationStage(BlockingQueue<Batch<ValidatedFlight>> validated, BlockingQueue<Batch<Pilot>> calculated)
+            throws IOException {
+        StreamingAggregation aggregation = new StreamingAggregation();
+        for (Batch<ValidatedFlight> batch = PipelineStages.take(validated); !batch.last(); batch = PipelineStages.take(validated)) {
+            aggregation.addPilots(batch.pilots());
+            batch.records().forEach(aggregation::addFlight);
+        }
+        List<Pilot> pilots = new ArrayList<>(PIPELINE_BATCH_SIZE);
+        aggregation.complete(pilot -> {
+            pilots.add(pilot);
+            if (pilots.size() == PIPELINE_BATCH_SIZE) {
+                flush(pilots, calculated);
             }
         });
-        if (!validationErrors.isEmpty()) {
-            System.err.println("Обнаружены ошибки валидации:");
-            validationErrors.forEach(System.err::println);
+        flush(pilots, calculated);
+        PipelineStages.put(calculated, Batch.end());
+    }
+
+    /**
+     * Этап записи: передает рассчитанных пилотов в {@code writer}.
+     */
+    private static void writeStage(BlockingQueue<Batch<Pilot>> calculated, SpecialistWriter writer) throws IOException {
+        for (Batch<Pilot> batch = PipelineStages.take(calculated); !batch.last(); batch = PipelineStages.take(calculated)) {
+            for (Pilot pilot : batch.records()) {
+                writer.write(pilot);
+            }
         }
     }
 
     /**
-     * Рассчитывает общее количество часов налета по месяцам на основе списка рейсов.
-     * Для каждого месяца вычисляются: общее количество часов, количество полетов, а также флаги
-     * для проверки превышения лимитов по дням, неделям и месяцам.
+     * Строит результат по двоичному снимку: для каждого пилота снимка, входящего в экипажи, налет по месяцам
+     * берется из сохраненных сводок и проверяется по режиму {@link #dutyRegime}.
      *
-     * @param flights список рейсов
-     * @return список объектов {@link TimeMonth}, содержащих информацию о налете по месяцам
+     * @param snapshot снимок рейсов и налета пилотов
+     * @return объект {@link OutputPilotsAndFlights}, содержащий обработанные данные пилотов и рейсов
      */
-    private List<TimeMonth> calculateFlightTime(List<Flight> flights) {
-        List<TimeMonth> timeMonths = new ArrayList<>();
-        log.info("Начало расчета общего времени полетов за месяц");
-
-        Map<LocalDate, Long> hoursPerDay = getHoursPerDay(flights);
-        log.debug("Налет по дням: {}", hoursPerDay);
-
-        Map<LocalDate, Long> hoursPerWeek = getHoursPerWeek(hoursPerDay);
-        log.debug("Налет по неделям: {}", hoursPerWeek);
-
-        Map<LocalDate, Long> hoursPerMonth = getHoursPerMonths(hoursPerDay);
-        log.debug("Налет по месяцам: {}", hoursPerMonth);
-
-        Map<LocalDate, Long> totalFlightsPerMonth = flights.stream()
-                .collect(Collectors.groupingBy(flight -> flight.getDepartureTime().toLocalDate().withDayOfMonth(1),
-                        Collectors.counting()));
-        log.debug("Количество полетов по месяцам: {}", totalFlightsPerMonth);
-
-        for (Map.Entry<LocalDate, Long> monthEntry : hoursPerMonth.entrySet()) {
-            LocalDate month = monthEntry.getKey();
-            Long totalMonthHours = monthEntry.getValue();
-
-            // Количество полётов за месяц
-            Long totalFlightsInMonth = totalFlightsPerMonth.getOrDefault(month, 0L);
-
-            // Флаг превышения месячного лимита
-            boolean exceedsMonthlyLimit = totalMonthHours > 80;
-
-            TimeMonth timeMonth = new TimeMonth();
-            timeMonth.setDate(month);
-            timeMonth.setTotalFlightsInMonth(totalFlightsInMonth);
-            timeMonth.setTotalFlightHours(totalMonthHours);
-            timeMonth.setExceedsMonthlyLimit(exceedsMonthlyLimit);
-
-            log.debug("Время полетов за месяц {}: {} часов, количество полетов: {}, превышен месячный лимит: {}",
-                    month, totalMonthHours, totalFlightsInMonth, exceedsMonthlyLimit);
-
-            // Проверяем недельный лимит (в рамках этого месяца)
-            long maxWeeklyHours = hoursPerWeek.entrySet().stream()
-                    .filter(entry -> {
-                        LocalDate currentWeekDate = entry.getKey();
-                        // Получаем неделю
-                        WeekFields weekFields = WeekFields.of(Locale.getDefault());
-                        int weekOfYear = currentWeekDate.get(weekFields.weekOfYear());
-                        int monthWeekOfYear = month.get(weekFields.weekOfYear());
-
-                        // Если неделя попадает в тот же месяц или захватывает дни из текущего месяца
-                        return weekOfYear == monthWeekOfYear || currentWeekDate.getMonth() == month.getMonth();
-                    })
-                    .mapToLong(Map.Entry::getValue)
-                    .max()
-                    .orElse(0);
-
-            timeMonth.setExceedsWeeklyLimit(maxWeeklyHours > 36);
-            log.debug("Максимальное количество часов в неделю для месяца {}: {} часов, превышен недельный лимит: {}",
-                    month, maxWeeklyHours, maxWeeklyHours > 36);
-
-            // Проверяем дневной лимит (в рамках этого месяца)
-            long maxDayHoursForMonth = hoursPerDay.entrySet().stream()
-                    .filter(entry -> entry.getKey().getMonth().equals(month.getMonth()))
-                    .mapToLong(Map.Entry::getValue)
-                    .max()
-                    .orElse(0);
-            timeMonth.setExceedsDailyLimit(maxDayHoursForMonth > 8);
-            log.debug("Максимальное количество часов в день для месяца {}: {} часов, превышен дневной лимит: {}",
-                    month, maxDayHoursForMonth, maxDayHoursForMonth > 8);
-
-            timeMonths.add(timeMonth);
+    @Override
+    @SuppressWarnings("try")
+    public OutputPilotsAndFlights process(FlightSnapshot snapshot) {
+        log.info("Обработка снимка: пилотов {}, рейсов {}", snapshot.pilotCount(), snapshot.flightCount());
+        if (airportZones != null) {
+            throw new IllegalArgumentException("Снимок не поддерживает учет часовых поясов");
         }
-        log.info("Завершен расчет налета по месяцам");
-        return timeMonths;
+        if (snapshot.precision() != dutyRegime.precision()) {
+            throw new IllegalArgumentException("Налет в снимке рассчитан с точностью " + snapshot.precision()
+                    + ", а режим труда и отдыха — с точностью " + dutyRegime.precision());
+        }
+        OutputPilotsAndFlights outputPilotsAndFlights = new OutputPilotsAndFlights();
+        try (PhaseTimer ignored = metrics.startPhase(Phase.AGGREGATION)) {
+            // Пилоты в снимке уже упорядочены по идентификатору
+            for (int pilot = 0; pilot < snapshot.pilotCount(); pilot++) {
+                int slot = snapshot.slotOf(snapshot.pilotId(pilot));
+                if (slot < 0) {
+                    continue;
+                }
+                long[] violations = dutyRegime.evaluate(snapshot.hours(slot));
+                List<TimeMonth> timeMonths = new ArrayList<>(violations.length);
+                for (int m = 0; m < violations.length; m++) {
+                    int position = snapshot.monthsStart(slot) + m;
+                    timeMonths.add(toTimeMonth(snapshot.month(position), snapshot.monthHours(position),
+                            snapshot.monthFlights(position), dutyRegime, violations[m]));
+                }
+                outputPilotsAndFlights.getSpecialists().add(
+                        new Pilot(snapshot.pilotId(pilot), snapshot.pilotFullName(pilot), timeMonths));
+            }
+            metrics.pilotsProcessed(outputPilotsAndFlights.getSpecialists().size());
+        }
+        log.info("Обработка снимка завершена");
+        return outputPilotsAndFlights;
+    }
+
+    /**
+     * Сохраняет данные пилотов и их налет в объект {@link OutputPilotsAndFlights}.
+     * По экипажам рейсов один раз строится {@link CrewIndex}, после чего для каждого пилота налет
+     * накапливается по его отрезку индекса непосредственно из колонок {@link FlightStore} и
+     * рассчитывается по месяцам.
+     *
+     * @param pilots пилоты из входных данных
+     * @param flightStore рейсы, прошедшие валидацию, полученные из {@link #savedPilotAndFlights}
+     * @param outputPilotsAndFlights объект для сохранения данных о пилотах и их налете
+     */
+    public void savedOutPut(Collection<Pilot> pilots, FlightStore flightStore, OutputPilotsAndFlights outputPilotsAndFlights) {
+        savedOutPut(pilots, flightStore, outputPilotsAndFlights, PilotHoursListener.NOOP);
+    }
+
+    /**
+     * Сохраняет данные пилотов и их налет так же, как {@link #savedOutPut(Collection, FlightStore, OutputPilotsAndFlights)},
+     * и передает сводку налета каждого пилота в {@code listener}.
+     *
+     * @param pilots пилоты из входных данных
+     * @param flightStore рейсы, прошедшие валидацию
+     * @param outputPilotsAndFlights объект для сохранения данных о пилотах и их налете
+     * @param listener получатель сводок налета пилотов
+     */
+    @SuppressWarnings("try")
+    public void savedOutPut(Collection<Pilot> pilots, FlightStore flightStore, OutputPilotsAndFlights outputPilotsAndFlights,
+                            PilotHoursListener listener) {
+        log.info("Начало обработки данных для сохранения в outputPilotsAndFlights");
+        CrewIndex crewIndex = CrewIndex.build(flightStore);
+
+        // Связываем пилотов с их отрезками в индексе экипажей
+        List<Map.Entry<Pilot, Integer>> slotByPilot = new ArrayList<>();
+        for (Pilot pilot : pilots) {
+            int slot = pilot.getIdPilot() == null ? -1 : crewIndex.slotOf(pilot.getIdPilot());
+            if (slot >= 0) {
+                slotByPilot.add(Map.entry(pilot, slot));
+            }
+        }
+
+        try (PhaseTimer ignored = metrics.startPhase(Phase.AGGREGATION)) {
+            // Рассчитываем данные по налету
+            calculateInPilotOrder(slotByPilot, (pilot, slot) -> calculateFlightTime(flightStore, crewIndex, slot, pilot, listener),
+                    outputPilotsAndFlights.getSpecialists()::add);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        log.info("Завершена обработка данных и сохранение в outputPilotsAndFlights");
     }
 
     /**
-     * Возвращает количество часов полёта за 1 день.
-     * Метод рассчитывает количество часов полета для каждого дня на основе списка рейсов.
-     * Для каждого рейса проверяется время вылета и прилёта, затем это время добавляется к общей сумме для каждого дня.
+     * Рассчитывает налет пилотов и передает их в {@code writer} в порядке возрастания идентификатора.
+     * Если задан {@link #pilotPool}, пилоты обрабатываются порциями по {@link #PILOT_CHUNK_SIZE}:
+     * налет пилотов порции рассчитывается параллельно, после чего порция записывается по порядку.
+     * Данные пилота освобождаются после его записи.
      *
-     * @param flights Список рейсов, для которых необходимо рассчитать количество часов полета.
-     * @return Карта, где ключ — это день (LocalDate), а значение — общее количество часов полета в этот день.
-     */
-    private Map<LocalDate, Long> getHoursPerDay(List<Flight> flights) {
-        Map<LocalDate, Long> sumHoursPerDay = new TreeMap<>();
-        log.info("Начало расчета количества часов полета за 1 день");
-        for (Flight flight : flights) {
-            LocalDateTime departureTime = flight.getDepartureTime();
-            LocalDateTime arrivalTime = flight.getArrivalTime();
-
-            try {
-                flightValidator.validate(flight);
-            } catch (IllegalArgumentException e) {
-                log.warn("Рейс {} пропущен: {}", flight.getId(), e.getMessage());
-                continue; // Пропускаем этот рейс
+     * @param entries изменяемый список пилотов с данными для расчета их налета
+     * @param calculator расчет налета по месяцам по данным пилота
+     * @param writer приемник обработанных пилотов
+     * @param <V> тип данных для расчета налета
+     * @throws IOException если произошла ошибка при записи результата
+     */
+    private <V> void calculateInPilotOrder(List<Map.Entry<Pilot, V>> entries,
+                                           BiFunction<Pilot, V, List<TimeMonth>> calculator,
+                                           SpecialistWriter writer) throws IOException {
+        entries.sort(Map.Entry.comparingByKey(PILOT_ORDER));
+        ProgressLog progress = new ProgressLog(log, "пилотов");
+
+        for (int from = 0; from < entries.size(); from += PILOT_CHUNK_SIZE) {
+            List<Map.Entry<Pilot, V>> chunk = entries.subList(from, Math.min(from + PILOT_CHUNK_SIZE, entries.size()));
+            List<List<TimeMonth>> results = pilotPool == null
+                    ? chunk.stream().map(entry -> calculator.apply(entry.getKey(), entry.getValue())).toList()
+                    : pilotPool.submit(() -> chunk.parallelStream()
+                            .map(entry -> calculator.apply(entry.getKey(), entry.getValue()))
+                            .toList()).join();
+
+            for (int i = 0; i < chunk.size(); i++) {
+                Pilot pilot = chunk.get(i).getKey();
+                pilot.setTimeMonthList(results.get(i));
+                writer.write(pilot);
+                chunk.set(i, null);
+                progress.increment();
             }
+            metrics.pilotsProcessed(chunk.size());
+        }
+        progress.finish();
+    }
 
-            log.debug("Обрабатываем рейс с ID: {} от {} до {}", flight.getId(), departureTime, arrivalTime);
-
-            while (departureTime.isBefore(arrivalTime)) {
-                // День вылета
-                LocalDate departureDay = departureTime.toLocalDate();
-                // День прилёта
-                LocalDate arrivalDay = arrivalTime.toLocalDate();
-                // След. день от дня вылета
-                LocalDateTime nextDay = departureDay.plusDays(1).atStartOfDay();
-
-                if (departureDay.equals(arrivalDay)) {
-                    long durationInHoursDay = Duration.between(departureTime, arrivalTime).toHours();
-                    sumHoursPerDay.merge(departureDay, durationInHoursDay, Long::sum);
-                    log.debug("Время полета для дня {}: {} часов", departureDay, durationInHoursDay);
-                    departureTime = nextDay;
-                } else {
-                    long durationInHours = Duration.between(departureTime, nextDay).toHours();
-                    sumHoursPerDay.merge(departureDay, durationInHours, Long::sum);
-                    log.debug("Часы полета для дня {}: {} часов", departureDay, durationInHours);
-                    // Обновляем начало на первый день следующего месяца
-                    departureTime = nextDay;
+    /**
+     * Сохраняет рейсы, валидация которых была успешной, в колоночное хранилище {@link FlightStore}.
+     * Пилоты также проходят валидацию, ошибки валидации передаются в {@link RejectionSink} по мере обнаружения.
+     *
+     * @param inputPilotsAndFlights объект, содержащий данные о пилотах и рейсах
+     * @return хранилище рейсов, прошедших валидацию; создается заново при каждом вызове
+     */
+    @Override
+    @SuppressWarnings("try")
+    public FlightStore savedPilotAndFlights(InputPilotsAndFlights inputPilotsAndFlights) {
+        try (RejectionSink sink = openRejectionSink();
+             PhaseTimer ignored = metrics.startPhase(Phase.VALIDATION)) {
+            validatePilots(inputPilotsAndFlights.getPilots(), sink);
+
+            FlightStore flightStore = new FlightStore(inputPilotsAndFlights.getFlights().size());
+            ProgressLog progress = new ProgressLog(log, "рейсов");
+            inputPilotsAndFlights.getFlights().forEach(flight -> {
+                ValidatedFlight validatedFlight = validateFlight(flight, sink);
+                if (validatedFlight != null) {
+                    flightStore.add(validatedFlight);
                 }
+                progress.increment();
+            });
+            progress.finish();
+            metrics.flightsRead(progress.count());
+            return flightStore;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Открывает приемник нарушений валидации на один вызов обработки. Без заданного приемника создается
+     * {@link ConsoleRejectionSink}: счетчики и заголовок отчета не переходят между вызовами, а при закрытии
+     * итоги по правилам выводятся в лог. Заданный приемник передается без закрытия: им управляет вызывающий.
+     *
+     * @return приемник нарушений, который нужно закрыть по окончании вызова
+     */
+    private RejectionSink openRejectionSink() {
+        return rejectionSink == null ? new ConsoleRejectionSink(DEFAULT_REJECTION_DETAILS) : rejectionSink::reject;
+    }
+
+    /**
+     * Валидирует пилотов, передавая каждое нарушенное правило в приемник нарушений.
+     * Валидация не выбрасывает исключений (см. {@link PilotValidator#validate(Pilot, ViolationSink)}).
+     *
+     * @param pilots пилоты для валидации
+     * @param sink приемник нарушений вызова
+     */
+    private void validatePilots(Collection<Pilot> pilots, RejectionSink sink) {
+        metrics.pilotsRead(pilots.size());
+        pilots.forEach(pilot -> {
+            boolean valid = pilotValidator.validate(pilot,
+                    rule -> {
+                        metrics.rejected(rule);
+                        sink.reject(RejectedEntity.PILOT, pilot.getIdPilot(), rule);
+                    });
+            if (valid && log.isTraceEnabled()) {
+                log.trace("Пилот с ID {} прошёл валидацию", pilot.getIdPilot());
             }
+        });
+    }
+
+    /**
+     * Проверяет, встречался ли идентификатор рейса раньше в потоке рейсов. Обработка документа целиком
+     * собирает рейсы в множество, где рейсы равны по идентификатору и сохраняется первый из них, поэтому
+     * при потоковой обработке повторы отбрасываются так же и передаются в приемник нарушений.
+     * Рейсы без идентификатора не проверяются: их отклоняет валидация.
+     *
+     * @param flight рейс из потока
+     * @param flightIds идентификаторы рейсов, уже встречавшихся в потоке
+     * @param sink приемник нарушений вызова
+     * @return {@code true}, если рейс повторяет ранее встречавшийся
+     */
+    private boolean isRepeated(Flight flight, LongHashSet flightIds, RejectionSink sink) {
+        if (flight == null || flight.getId() == null || flightIds.add(flight.getId())) {
+            return false;
+        }
+        metrics.rejected(ValidationRule.FLIGHT_ID_DUPLICATE);
+        sink.reject(RejectedEntity.FLIGHT, flight.getId(), ValidationRule.FLIGHT_ID_DUPLICATE);
+        return true;
+    }
+
+    /**
+     * Валидирует рейс, передавая каждое нарушенное правило в приемник нарушений. Рейс валидируется один раз:
+     * результат передается дальше в виде {@link ValidatedFlight} и используется для всех пилотов рейса.
+     *
+     * @param flight рейс для валидации
+     * @param sink приемник нарушений вызова
+     * @return рейс, прошедший валидацию, или {@code null}, если рейс невалиден
+     */
+    private ValidatedFlight validateFlight(Flight flight, RejectionSink sink) {
+        ValidatedFlight validatedFlight = flightValidator.validated(flight, rule -> {
+            // Нарушения сводно сообщает приемник нарушений, отдельная запись журнала нужна только при отладке
+            if (log.isTraceEnabled()) {
+                log.trace("Ошибка валидации рейса с ID {}: {}", flight.getId(), rule.getMessage());
+            }
+            metrics.rejected(rule);
+            sink.reject(RejectedEntity.FLIGHT, flight.getId(), rule);
+        });
+        if (validatedFlight != null && log.isTraceEnabled()) {
+            log.trace("Рейс с ID {} прошёл валидацию", flight.getId());
         }
-        log.info("Завершен расчет количества часов полета за 1 день");
-        return sumHoursPerDay;
+        return validatedFlight;
     }
 
     /**
-     * Возвращает количество часов полёта за 7 дней.
-     * Метод рассчитывает количество часов полета за неделю, группируя часы полета по началу недели (понедельник).
+     * Рассчитывает налет пилота по месяцам по его рейсам из индекса экипажей.
      *
-     * @param hoursPerDay Карта, где ключ — это день, а значение — количество часов полета в этот день.
-     * @return Карта, где ключ — это начало недели (понедельник), а значение — общее количество часов полета в эту неделю.
+     * @param flightStore хранилище рейсов
+     * @param crewIndex индекс рейсов по пилотам
+     * @param slot номер пилота в индексе
+     * @param pilot пилот
+     * @param listener получатель сводки налета пилота
+     * @return список объектов {@link TimeMonth}, содержащих информацию о налете по месяцам
      */
-    private Map<LocalDate, Long> getHoursPerWeek(Map<LocalDate, Long> hoursPerDay) {
-        Map<LocalDate, Long> sumHoursPerWeek = new TreeMap<>();
-        log.info("Начало расчета количества часов полета за неделю");
-        for (Map.Entry<LocalDate, Long> hoursPerWeek : hoursPerDay.entrySet()) {
-            // Конкретный день
-            LocalDate weekday = hoursPerWeek.getKey();
+    private List<TimeMonth> calculateFlightTime(FlightStore flightStore, CrewIndex crewIndex, int slot, Pilot pilot,
+                                                PilotHoursListener listener) {
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator(dutyRegime.precision(), baseOf(pilot));
+        for (int position = crewIndex.flightsStart(slot); position < crewIndex.flightsEnd(slot); position++) {
+            int flight = crewIndex.flightIndex(position);
+            accumulator.addFlight(flightStore, flight);
+            if (log.isTraceEnabled()) {
+                log.trace("Рейс с ID {} добавлен пилоту с ID {}", flightStore.id(flight), crewIndex.pilotId(slot));
+            }
+        }
+        return calculateFlightTime(accumulator, pilot, listener);
+    }
 
-            // Количество часов полета в день
-            Long hours = hoursPerWeek.getValue();
+    /**
+     * @param pilot пилот
+     * @return часовой пояс, в котором налет пилота делится по дням: UTC, если часовые пояса не учитываются
+     */
+    private ZoneTimeline baseOf(Pilot pilot) {
+        return airportZones == null ? ZoneTimeline.UTC : airportZones.baseOf(pilot);
+    }
 
-            // Рассчитываем начало недели (понедельник)
-            LocalDate startOfWeek = weekday.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+    /**
+     * Рассчитывает налет по месяцам на основе накопленного налета пилота.
+     * Недели и месяцы определяются по номерам дней от эпохи (см. {@link EpochDays}): в недельный лимит
+     * месяца входят все недели (с понедельника), пересекающиеся с этим месяцем. Максимумы за день и неделю
+     * вычисляются одним проходом в {@link FlightHoursAccumulator#summarize()}, поэтому расчет линеен
+     * по количеству дней с налетом. Сводка проверяется по режиму {@link #dutyRegime}.
+     *
+     * @param accumulator накопленный налет пилота
+     * @param pilot пилот
+     * @param listener получатель сводки налета пилота
+     * @return список объектов {@link TimeMonth}, содержащих информацию о налете по месяцам
+     */
+    private List<TimeMonth> calculateFlightTime(FlightHoursAccumulator accumulator, Pilot pilot, PilotHoursListener listener) {
+        FlightHoursSummary summary = accumulator.summarize();
+        if (log.isTraceEnabled()) {
+            log.trace("Налет по дням: {}", summary);
+        }
 
-            sumHoursPerWeek.merge(startOfWeek, hours, Long::sum);
-            log.debug("Дата: {} | Часы: {} | Начало недели: {}", weekday, hours, startOfWeek);
+        long[] violations = dutyRegime.evaluate(summary);
+        listener.onPilot(pilot, summary, violations);
+        List<TimeMonth> timeMonths = new ArrayList<>(summary.monthCount());
+        for (int m = 0; m < summary.monthCount(); m++) {
+            timeMonths.add(toTimeMonth(summary.month(m), summary.monthHours(m), summary.monthFlights(m),
+                    dutyRegime, violations[m]));
         }
-        log.info("Завершен расчет количества часов полета за неделю");
-        return sumHoursPerWeek;
+        return timeMonths;
     }
 
     /**
-     * Возвращает количество часов полёта за месяц.
-     * Метод рассчитывает количество часов полета за месяц, группируя часы полета по началу месяца.
+     * Строит налет за месяц по результату проверки режима труда и отдыха. Флаги месячного, недельного и
+     * дневного лимитов отмечают нарушение любого правила соответствующего периода. Если налет учитывается
+     * точнее часа, в месяц также записывается налет в часах с дробной частью.
      *
-     * @param hoursPerDay Карта, где ключ — это день, а значение — количество часов полета в этот день.
-     * @return Карта, где ключ — это начало месяца, а значение — общее количество часов полета в этот месяц.
-     */
-    private Map<LocalDate, Long> getHoursPerMonths(Map<LocalDate, Long> hoursPerDay) {
-        Map<LocalDate, Long> sumHoursPerMonth = new TreeMap<>();
-        log.info("Начало расчета количества часов полета за месяц");
-        for (Map.Entry<LocalDate, Long> hoursPerMonth : hoursPerDay.entrySet()) {
-            LocalDate month = hoursPerMonth.getKey();
-            Long hours = hoursPerMonth.getValue();
-            // Рассчитываем начало месяца
-            LocalDate startOfMonth = month.with(TemporalAdjusters.firstDayOfMonth());
-            // Добавляем количество часов в карту по началу месяца
-            sumHoursPerMonth.merge(startOfMonth, hours, Long::sum);
-            log.debug("Дата: {} | Часы: {} | Начало месяца: {}", month, hours, startOfMonth);
+     * @param month номер месяца (см. {@link EpochDays#monthIndex(int)})
+     * @param totalMonthHours налет за месяц в единицах точности режима (см. {@link CompiledDutyRegime#precision()})
+     * @param totalFlightsInMonth количество рейсов с вылетом в этом месяце
+     * @param dutyRegime режим, по которому проверен месяц
+     * @param violations маска нарушенных правил режима
+     * @return налет за месяц
+     */
+    static TimeMonth toTimeMonth(int month, long totalMonthHours, long totalFlightsInMonth,
+                                 CompiledDutyRegime dutyRegime, long violations) {
+        TimeMonth timeMonth = new TimeMonth();
+        timeMonth.setDate(EpochDays.monthToLocalDate(month));
+        timeMonth.setTotalFlightsInMonth(totalFlightsInMonth);
+        long unitsPerHour = dutyRegime.precision().unitsPerHour();
+        timeMonth.setTotalFlightHours(totalMonthHours / unitsPerHour);
+        if (unitsPerHour > 1) {
+            timeMonth.setPreciseFlightHours(BigDecimal.valueOf(totalMonthHours)
+                    .divide(BigDecimal.valueOf(unitsPerHour), PRECISE_HOURS_SCALE, RoundingMode.HALF_UP));
+        }
+        timeMonth.setExceedsMonthlyLimit(dutyRegime.exceedsLimit(violations, DutyPeriod.MONTH));
+        timeMonth.setExceedsWeeklyLimit(dutyRegime.exceedsLimit(violations, DutyPeriod.WEEK));
+        timeMonth.setExceedsDailyLimit(dutyRegime.exceedsLimit(violations, DutyPeriod.DAY));
+        timeMonth.setViolatedRules(dutyRegime.ruleNames(violations));
+
+        if (log.isTraceEnabled()) {
+            log.trace("Время полетов за месяц {}: {} часов, количество полетов: {}, нарушены правила: {}",
+                    timeMonth.getDate(), timeMonth.getTotalFlightHours(), totalFlightsInMonth, timeMonth.getViolatedRules());
+        }
+        return timeMonth;
+    }
+
+    /**
+     * Накопление налета при потоковой обработке: рейсы, прошедшие валидацию, учитываются в налете
+     * пилотов по мере поступления в {@link FlightHoursAccumulator}, сами рейсы не сохраняются.
+     */
+    private class StreamingAggregation {
+
+        private final Map<Long, Pilot> pilotById = new HashMap<>();
+        private final Map<Pilot, FlightHoursAccumulator> hoursByPilot = new HashMap<>();
+
+        private void addPilots(Collection<Pilot> pilots) {
+            pilots.forEach(pilot -> pilotById.put(pilot.getIdPilot(), pilot));
+        }
+
+        private void addFlight(ValidatedFlight validatedFlight) {
+            Flight flight = validatedFlight.getFlight();
+            flight.getIdPilots().forEach(pilotId -> {
+                Pilot pilot = pilotById.get(pilotId);
+                if (pilot != null) {
+                    hoursByPilot.computeIfAbsent(pilot, k -> new FlightHoursAccumulator(dutyRegime.precision(), baseOf(pilot))).addFlight(validatedFlight);
+                    if (log.isTraceEnabled()) {
+                        log.trace("Рейс с ID {} добавлен пилоту с ID {}", flight.getId(), pilot.getIdPilot());
+                    }
+                }
+            });
+        }
+
+        private void complete(SpecialistWriter writer) throws IOException {
+            // Новых рейсов не будет: пилоты без налета больше не нужны
+            pilotById.clear();
+            List<Map.Entry<Pilot, FlightHoursAccumulator>> entries = new ArrayList<>(hoursByPilot.entrySet());
+            hoursByPilot.clear();
+            calculateInPilotOrder(entries, (pilot, accumulator) -> calculateFlightTime(accumulator, pilot, PilotHoursListener.NOOP), writer);
         }
-        log.info("Завершен расчет количества часов полета за месяц");
-        return sumHoursPerMonth;
     }
-}
\ No newline at end of file
+}
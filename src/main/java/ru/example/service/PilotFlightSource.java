@@ -0,0 +1,37 @@
+package ru.example.service;
+
+import ru.example.dto.InputPilotsAndFlights;
+
+import java.io.IOException;
+
+/**
+ * Источник данных о пилотах и рейсах для потоковой обработки.
+ * <p>
+ * Реализация читает данные (например, из файла) и передает их в {@link PilotFlightHandler}:
+ * сначала пилотов, затем рейсы по одному.
+ * </p>
+ */
+@FunctionalInterface
+public interface PilotFlightSource {
+
+    /**
+     * Читает данные и передает их обработчику.
+     *
+     * @param handler Обработчик, принимающий пилотов и рейсы.
+     * @throws IOException Если произошла ошибка при чтении данных.
+     */
+    void read(PilotFlightHandler handler) throws IOException;
+
+    /**
+     * Создает источник, передающий обработчику уже загруженные в память данные.
+     *
+     * @param inputPilotsAndFlights Входные данные о пилотах и рейсах.
+     * @return Источник данных.
+     */
+    static PilotFlightSource of(InputPilotsAndFlights inputPilotsAndFlights) {
+        return handler -> {
+            handler.onPilots(inputPilotsAndFlights.getPilots());
+            inputPilotsAndFlights.getFlights().forEach(handler::onFlight);
+        };
+    }
+}
@@ -0,0 +1,28 @@
+package ru.example.service;
+
+import ru.example.aggregation.FlightHoursSummary;
+import ru.example.model.Pilot;
+
+/**
+ * Получатель налета пилотов по дням, неделям и месяцам, рассчитанного {@link PilotFlightService}.
+ * <p>
+ * При параллельном расчете (см. {@link PilotFlightServiceImpl#PilotFlightServiceImpl(java.util.concurrent.ForkJoinPool)})
+ * метод вызывается одновременно из нескольких потоков, поэтому реализации должны быть потокобезопасными.
+ * </p>
+ */
+@FunctionalInterface
+public interface PilotHoursListener {
+
+    /**
+     * Получатель, который ничего не делает.
+     */
+    PilotHoursListener NOOP = (pilot, summary, violations) -> {
+    };
+
+    /**
+     * @param pilot Пилот.
+     * @param summary Сводка налета пилота; не изменяется после передачи.
+     * @param violations Маски нарушенных правил режима труда и отдыха по месяцам сводки.
+     */
+    void onPilot(Pilot pilot, FlightHoursSummary summary, long[] violations);
+}
@@ -0,0 +1,96 @@
+package ru.example.service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Запуск этапов конвейерной обработки, связанных ограниченными очередями.
+ * <p>
+ * Каждый этап выполняется в своем виртуальном потоке. Очереди ограничены, поэтому быстрый этап
+ * блокируется на {@link #put}, пока следующий этап не освободит место, и объем данных в очередях
+ * не зависит от объема входных данных. Если этап завершается с ошибкой, остальные этапы прерываются:
+ * ожидание в {@link #put} и {@link #take} завершается исключением {@link CancellationException}.
+ * </p>
+ */
+final class PipelineStages {
+
+    private PipelineStages() {
+    }
+
+    /**
+     * Выполняет этапы одновременно и дожидается завершения всех этапов.
+     *
+     * @param stages Этапы конвейера.
+     * @throws IOException Если этап завершился ошибкой ввода-вывода.
+     */
+    static void run(List<Callable<Void>> stages) throws IOException {
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            ExecutorCompletionService<Void> completion = new ExecutorCompletionService<>(executor);
+            stages.forEach(completion::submit);
+            for (int i = 0; i < stages.size(); i++) {
+                try {
+                    completion.take().get();
+                } catch (ExecutionException e) {
+                    executor.shutdownNow();
+                    throw rethrow(e.getCause());
+                } catch (InterruptedException e) {
+                    executor.shutdownNow();
+                    Thread.currentThread().interrupt();
+                    throw new CancellationException("Конвейерная обработка прервана");
+                }
+            }
+        }
+    }
+
+    private static IOException rethrow(Throwable cause) {
+        if (cause instanceof IOException e) {
+            return e;
+        }
+        if (cause instanceof UncheckedIOException e) {
+            return e.getCause();
+        }
+        if (cause instanceof RuntimeException e) {
+            throw e;
+        }
+        if (cause instanceof Error e) {
+            throw e;
+        }
+        return new IOException(cause);
+    }
+
+    /**
+     * Передает элемент следующему этапу, ожидая места в очереди.
+     *
+     * @throws CancellationException если ожидание прервано.
+     */
+    static <T> void put(BlockingQueue<T> queue, T element) {
+        try {
+            queue.put(element);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Конвейерная обработка прервана");
+        }
+    }
+
+    /**
+     * Получает элемент от предыдущего этапа, ожидая его появления в очереди.
+     *
+     * @throws CancellationException если ожидание прервано.
+     */
+    static <T> T take(BlockingQueue<T> queue) {
+        try {
+            return queue.take();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new CancellationException("Конвейерная обработка прервана");
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ru.example.service;
+
+import org.slf4j.Logger;
+
+/**
+ * Сводный журнал хода обработки: вместо записи о каждой обработанной записи на уровне INFO выводится
+ * одна строка на каждые {@link #interval} записей и итоговая строка по завершении.
+ * <p>
+ * Счетчик не синхронизирован: экземпляр используется одним потоком в пределах одного вызова обработки.
+ * </p>
+ */
+final class ProgressLog {
+
+    /**
+     * Количество записей между строками хода обработки по умолчанию.
+     */
+    static final long DEFAULT_INTERVAL = 1_000_000;
+
+    private final Logger log;
+    private final String entity;
+    private final long interval;
+    private final long startNanos = System.nanoTime();
+    private long count;
+
+    /**
+     * @param log Журнал, в который выводятся строки хода обработки.
+     * @param entity Название записей во множественном числе, например «рейсов».
+     */
+    ProgressLog(Logger log, String entity) {
+        this(log, entity, DEFAULT_INTERVAL);
+    }
+
+    /**
+     * @param log Журнал, в который выводятся строки хода обработки.
+     * @param entity Название записей во множественном числе, например «рейсов».
+     * @param interval Количество записей между строками хода обработки.
+     */
+    ProgressLog(Logger log, String entity, long interval) {
+        if (interval <= 0) {
+            throw new IllegalArgumentException("Интервал журнала хода обработки должен быть положительным: " + interval);
+        }
+        this.log = log;
+        this.entity = entity;
+        this.interval = interval;
+    }
+
+    /**
+     * Учитывает обработанную запись; на каждой {@link #interval}-й записи выводит строку хода обработки.
+     */
+    void increment() {
+        if (++count % interval == 0 && log.isInfoEnabled()) {
+            log.info("Обработано {}: {} ({} в секунду)", entity, count, perSecond());
+        }
+    }
+
+    /**
+     * Выводит итоговое количество обработанных записей.
+     */
+    void finish() {
+        log.info("Всего обработано {}: {} ({} в секунду)", entity, count, perSecond());
+    }
+
+    /**
+     * @return Количество обработанных записей.
+     */
+    long count() {
+        return count;
+    }
+
+    private long perSecond() {
+        long elapsedNanos = Math.max(1, System.nanoTime() - startNanos);
+        return (long) (count * 1e9 / elapsedNanos);
+    }
+}
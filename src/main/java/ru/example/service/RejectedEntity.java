@@ -0,0 +1,23 @@
+package ru.example.service;
+
+/**
+ * Тип записи, отклоненной при валидации.
+ */
+public enum RejectedEntity {
+
+    PILOT("ID пилота"),
+    FLIGHT("рейса");
+
+    private final String label;
+
+    RejectedEntity(String label) {
+        this.label = label;
+    }
+
+    /**
+     * @return Обозначение записи в текстовом отчете об ошибках валидации.
+     */
+    public String getLabel() {
+        return label;
+    }
+}
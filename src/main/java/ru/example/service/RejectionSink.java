@@ -0,0 +1,37 @@
+package ru.example.service;
+
+import ru.example.validator.ValidationRule;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Приемник записей, отклоненных при валидации.
+ * <p>
+ * Каждое нарушенное правило передается в приемник сразу при обнаружении, поэтому отчет об ошибках
+ * не накапливается в памяти. Реализации должны допускать вызовы из нескольких потоков.
+ * </p>
+ *
+ * @see AbstractRejectionSink
+ */
+@FunctionalInterface
+public interface RejectionSink extends Closeable {
+
+    /**
+     * Принимает нарушение правила валидации.
+     *
+     * @param entity Тип отклоненной записи.
+     * @param id Идентификатор записи, может быть {@code null}.
+     * @param rule Нарушенное правило.
+     */
+    void reject(RejectedEntity entity, Long id, ValidationRule rule);
+
+    /**
+     * Завершает отчет. По умолчанию ничего не делает.
+     *
+     * @throws IOException Если произошла ошибка при записи отчета.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
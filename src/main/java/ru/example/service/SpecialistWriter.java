@@ -0,0 +1,44 @@
+package ru.example.service;
+
+import ru.example.model.Pilot;
+
+import java.io.Closeable;
+import java.io.IOException;
+
+/**
+ * Приемник обработанных пилотов для потоковой записи результата.
+ * <p>
+ * Сервис обработки передает каждого пилота сразу после расчета его налета по месяцам,
+ * поэтому полный список результатов в памяти не строится.
+ * </p>
+ */
+@FunctionalInterface
+public interface SpecialistWriter extends Closeable {
+
+    /**
+     * Записывает обработанного пилота.
+     *
+     * @param pilot Пилот с рассчитанным списком {@link ru.example.model.TimeMonth}.
+     * @throws IOException Если произошла ошибка при записи.
+     */
+    void write(Pilot pilot) throws IOException;
+
+    /**
+     * Подтверждает, что все пилоты переданы и обработка завершилась успешно. Приемники, записывающие файл,
+     * сохраняют результат только после подтверждения. По умолчанию ничего не делает.
+     *
+     * @throws IOException Если не удалось сохранить результат.
+     */
+    default void commit() throws IOException {
+    }
+
+    /**
+     * Завершает запись. Если запись не подтверждена {@link #commit()}, например из-за ошибки обработки,
+     * приемник, записывающий файл, отбрасывает результат. По умолчанию ничего не делает.
+     *
+     * @throws IOException Если произошла ошибка при завершении записи.
+     */
+    @Override
+    default void close() throws IOException {
+    }
+}
@@ -1,8 +1,11 @@
 package ru.example.validator;
 
 import ru.example.model.Flight;
+import ru.example.zone.AirportZones;
+import ru.example.zone.ZoneTimeline;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.List;
 
 /**
@@ -13,16 +16,41 @@ import java.util.List;
  * <p>Валидация включает в себя проверку на null, проверку правильности времени рейса,
  * корректности идентификаторов пилотов, а также проверки на пустоту строковых полей.</p>
  *
+ * <p>Если задана таблица {@link AirportZones}, время вылета и прилета считается местным временем аэропортов
+ * отправления и прибытия: порядок времени проверяется по моментам, а {@link ValidatedFlight} содержит моменты
+ * вылета и прилета. Без таблицы время рейса сравнивается и сохраняется как есть.</p>
+ *
  * @see Flight
  */
 public class FlightValidator implements Validator<Flight> {
 
     /**
-     * Выполняет валидацию переданного объекта рейса.
-     * Проверяет, что все обязательные поля корректны и не содержат ошибок.
+     * Часовые пояса аэропортов; {@code null} — время рейса не зависит от часовых поясов.
+     */
+    private final AirportZones airportZones;
+
+    /**
+     * Создает валидатор, сравнивающий время рейса без учета часовых поясов.
+     */
+    public FlightValidator() {
+        this(null);
+    }
+
+    /**
+     * @param airportZones Часовые пояса аэропортов или {@code null}, если часовые пояса не учитываются.
+     */
+    public FlightValidator(AirportZones airportZones) {
+        this.airportZones = airportZones;
+    }
+
+    /**
+     * Выполняет валидацию переданного объекта рейса без выбрасывания исключений.
+     * Проверяет все обязательные поля и передает в {@code sink} каждое нарушенное правило.
+     * Из проверок порядка времени сообщается только первая нарушенная.
      *
-     * @param flight Объект рейса, который должен быть валиден.
-     * @throws IllegalArgumentException если один из параметров рейса некорректен.
+     * @param flight Объект рейса для валидации.
+     * @param sink Приемник нарушенных правил.
+     * @return {@code true}, если рейс валиден. Проверяется, что:
      * <ul>
      *   <li>Рейс не может быть null;</li>
      *   <li>Идентификатор рейса не должен быть null;</li>
@@ -31,76 +59,143 @@ public class FlightValidator implements Validator<Flight> {
      *   <li>Время прибытия не должно быть раньше времени отправления;</li>
      *   <li>Дата отправления не может быть позже даты прибытия;</li>
      *   <li>Аэропорты отправления и прибытия не могут быть пустыми;</li>
+     *   <li>При учете часовых поясов аэропорты должны быть в таблице {@link AirportZones};</li>
      *   <li>Список пилотов не должен быть пустым, идентификаторы пилотов должны быть положительными;</li>
      * </ul>
      */
     @Override
-    public void validate(Flight flight) {
+    public boolean validate(Flight flight, ViolationSink sink) {
 
         // Проверка на null
         if (flight == null) {
-            throw new IllegalArgumentException("Рейс не может быть null.");
+            sink.accept(ValidationRule.FLIGHT_NULL);
+            return false;
         }
 
+        boolean valid = true;
+
         // Проверка идентификатора рейса
         if (flight.getId() == null) {
-            throw new IllegalArgumentException("Идентификатор рейса не должен быть null.");
+            valid = reject(sink, ValidationRule.FLIGHT_ID_NULL);
         }
 
         // Проверка типа самолета
         if (flight.getAircraftType() == null || flight.getAircraftType().isEmpty()) {
-            throw new IllegalArgumentException("Тип самолёта не должен быть пустым.");
+            valid = reject(sink, ValidationRule.AIRCRAFT_TYPE_EMPTY);
         }
 
         // Проверка номера самолета
         if (flight.getAircraftNumber() == null || flight.getAircraftNumber().isEmpty()) {
-            throw new IllegalArgumentException("Номер самолёта не должен быть пустым.");
+            valid = reject(sink, ValidationRule.AIRCRAFT_NUMBER_EMPTY);
         }
 
         // Проверка времени отправления и прибытия
-        if (flight.getDepartureTime() == null || flight.getArrivalTime() == null) {
-            throw new IllegalArgumentException("Время отправления / время прибытия не должны быть null.");
-        }
-
         LocalDateTime start = flight.getDepartureTime();
         LocalDateTime end = flight.getArrivalTime();
-
-        // Проверка, что время отправления не позже времени прибытия
-        if (end.isBefore(start)) {
-            throw new IllegalArgumentException("Время отправления не должно быть позже времени прибытия.");
-        }
-
-        // Проверка на соответствие месяцев отправления и прибытия
-        if (start.toLocalDate().isAfter(end.toLocalDate())) {
-            throw new IllegalArgumentException("Месяц отправления не должен быть после месяца прибытия.");
-        }
-
-        // Проверка, что время начала рейса раньше времени окончания
-        if (start.isAfter(end) || start.isEqual(end)) {
-            throw new IllegalArgumentException("Время начала должно быть раньше времени окончания.");
+        if (start == null || end == null) {
+            valid = reject(sink, ValidationRule.FLIGHT_TIME_NULL);
+        } else if (airportZones != null) {
+            valid &= validateZonedTimes(flight, sink);
+        } else if (end.isBefore(start)) {
+            // Проверка, что время отправления не позже времени прибытия
+            valid = reject(sink, ValidationRule.ARRIVAL_BEFORE_DEPARTURE);
+        } else if (start.toLocalDate().isAfter(end.toLocalDate())) {
+            // Проверка на соответствие месяцев отправления и прибытия
+            valid = reject(sink, ValidationRule.DEPARTURE_DATE_AFTER_ARRIVAL);
+        } else if (start.isAfter(end) || start.isEqual(end)) {
+            // Проверка, что время начала рейса раньше времени окончания
+            valid = reject(sink, ValidationRule.ZERO_DURATION);
         }
 
         // Проверка аэропорта отправления
         if (flight.getDepartureAirport() == null || flight.getDepartureAirport().isEmpty()) {
-            throw new IllegalArgumentException("Аэропорт отправления не должен быть пустым.");
+            valid = reject(sink, ValidationRule.DEPARTURE_AIRPORT_EMPTY);
         }
 
         // Проверка аэропорта прибытия
         if (flight.getArrivalAirport() == null || flight.getArrivalAirport().isEmpty()) {
-            throw new IllegalArgumentException("Аэропорт прибытия не должен быть пустым.");
+            valid = reject(sink, ValidationRule.ARRIVAL_AIRPORT_EMPTY);
         }
 
         // Проверка списка пилотов
         List<Long> idPilots = flight.getIdPilots();
         if (idPilots == null || idPilots.isEmpty()) {
-            throw new IllegalArgumentException("Список пилотов не должен быть пустым.");
+            valid = reject(sink, ValidationRule.CREW_EMPTY);
+        } else {
+            // Проверка корректности идентификаторов пилотов
+            for (Long pilotId : idPilots) {
+                if (pilotId == null || pilotId <= 0) {
+                    valid = reject(sink, ValidationRule.CREW_PILOT_ID_INVALID);
+                    break;
+                }
+            }
         }
+        return valid;
+    }
 
-        // Проверка корректности идентификаторов пилотов
-        for (Long pilotId : idPilots) {
-            if (pilotId == null || pilotId <= 0) {
-                throw new IllegalArgumentException("Идентификатор пилота должен быть положительным и отличным от null.");
-            }
+    /**
+     * Проверяет порядок времени вылета и прилета по моментам в часовых поясах аэропортов.
+     * Пустые аэропорты сообщаются отдельными правилами, порядок времени для них не проверяется.
+     */
+    private boolean validateZonedTimes(Flight flight, ViolationSink sink) {
+        if (isEmpty(flight.getDepartureAirport()) || isEmpty(flight.getArrivalAirport())) {
+            return true;
+        }
+        ZoneTimeline departureZone = airportZones.timeline(flight.getDepartureAirport());
+        ZoneTimeline arrivalZone = airportZones.timeline(flight.getArrivalAirport());
+        if (departureZone == null || arrivalZone == null) {
+            return reject(sink, ValidationRule.AIRPORT_ZONE_UNKNOWN);
         }
+        long departure = departureZone.toEpochSecond(flight.getDepartureTime().toEpochSecond(ZoneOffset.UTC));
+        long arrival = arrivalZone.toEpochSecond(flight.getArrivalTime().toEpochSecond(ZoneOffset.UTC));
+        if (arrival < departure) {
+            return reject(sink, ValidationRule.ARRIVAL_BEFORE_DEPARTURE);
+        }
+        if (arrival == departure) {
+            return reject(sink, ValidationRule.ZERO_DURATION);
+        }
+        return true;
+    }
+
+    private static boolean isEmpty(String value) {
+        return value == null || value.isEmpty();
+    }
+
+    /**
+     * Выполняет валидацию рейса и возвращает подтверждение ее успешного прохождения.
+     *
+     * @param flight Объект рейса, который должен быть валиден.
+     * @return Рейс, прошедший валидацию.
+     * @throws IllegalArgumentException если один из параметров рейса некорректен (см. {@link #validate(Flight)}).
+     */
+    public ValidatedFlight validated(Flight flight) {
+        validate(flight);
+        return toValidated(flight);
+    }
+
+    /**
+     * Выполняет валидацию рейса без выбрасывания исключений.
+     *
+     * @param flight Объект рейса для валидации.
+     * @param sink Приемник нарушенных правил.
+     * @return Рейс, прошедший валидацию, или {@code null}, если нарушено хотя бы одно правило.
+     */
+    public ValidatedFlight validated(Flight flight, ViolationSink sink) {
+        return validate(flight, sink) ? toValidated(flight) : null;
+    }
+
+    private ValidatedFlight toValidated(Flight flight) {
+        long departure = flight.getDepartureTime().toEpochSecond(ZoneOffset.UTC);
+        long arrival = flight.getArrivalTime().toEpochSecond(ZoneOffset.UTC);
+        if (airportZones != null) {
+            departure = airportZones.timeline(flight.getDepartureAirport()).toEpochSecond(departure);
+            arrival = airportZones.timeline(flight.getArrivalAirport()).toEpochSecond(arrival);
+        }
+        return new ValidatedFlight(flight, departure, arrival);
+    }
+
+    private static boolean reject(ViolationSink sink, ValidationRule rule) {
+        sink.accept(rule);
+        return false;
     }
 }
@@ -14,12 +14,15 @@ import ru.example.model.Pilot;
  */
 public class PilotValidator implements Validator<Pilot> {
 
+    private static final int MAX_FULL_NAME_LENGTH = 100;
+
     /**
-     * Выполняет валидацию переданного объекта пилота.
-     * Проверяет, что все обязательные поля корректны и не содержат ошибок.
+     * Выполняет валидацию переданного объекта пилота без выбрасывания исключений.
+     * Проверяет все обязательные поля и передает в {@code sink} каждое нарушенное правило.
      *
-     * @param pilot Объект пилота, который должен быть валиден.
-     * @throws IllegalArgumentException если один из параметров пилота некорректен.
+     * @param pilot Объект пилота для валидации.
+     * @param sink Приемник нарушенных правил.
+     * @return {@code true}, если пилот валиден. Проверяется, что:
      * <ul>
      *   <li>Идентификатор пилота не может быть null;</li>
      *   <li>Идентификатор пилота должен быть положительным;</li>
@@ -30,40 +33,97 @@ public class PilotValidator implements Validator<Pilot> {
      * </ul>
      */
     @Override
-    public void validate(Pilot pilot) {
-        // Проверка идентификатора пилота на null
-        if (pilot.getIdPilot() == null) {
-            throw new IllegalArgumentException("Идентификатор пилота не может быть null.");
-        }
+    public boolean validate(Pilot pilot, ViolationSink sink) {
+        boolean valid = true;
 
-        // Проверка на положительность идентификатора пилота
-        if (pilot.getIdPilot() <= 0) {
-            throw new IllegalArgumentException("Идентификатор пилота должен быть положительным числом.");
+        // Проверка идентификатора пилота на null и на положительность
+        if (pilot.getIdPilot() == null) {
+            sink.accept(ValidationRule.PILOT_ID_NULL);
+            valid = false;
+        } else if (pilot.getIdPilot() <= 0) {
+            sink.accept(ValidationRule.PILOT_ID_NOT_POSITIVE);
+            valid = false;
         }
 
         // Проверка полного имени на null
         if (pilot.getFullName() == null) {
-            throw new IllegalArgumentException("Полное имя не может быть null.");
+            sink.accept(ValidationRule.FULL_NAME_NULL);
+            return false;
         }
 
-        // Проверка пустоты полного имени
-        if (pilot.getFullName().trim().isEmpty()) {
-            throw new IllegalArgumentException("Полное имя не может быть пустым.");
-        }
+        // Проверка пустоты, формата, количества слов и длины полного имени за один проход
+        return checkFullName(pilot.getFullName(), sink) && valid;
+    }
 
-        // Проверка на правильность формата имени (только буквы и пробелы)
-        if (!pilot.getFullName().matches("[a-zA-Zа-яА-ЯёЁ\\s]+")) {
-            throw new IllegalArgumentException("Полное имя может содержать только буквы и пробелы.");
+    /**
+     * Проверяет полное имя за один проход по строке без создания промежуточных объектов.
+     * <p>
+     * Первое переданное в {@code sink} правило совпадает с первой нарушенной из последовательных проверок
+     * {@code trim().isEmpty()}, {@code matches("[a-zA-Zа-яА-ЯёЁ\\s]+")}, {@code split("\\s+").length < 2}
+     * и {@code length() > 100}. Как и у {@code split}, пробел в начале имени дает дополнительное пустое слово.
+     * Пустое имя не проверяется остальными правилами.
+     * </p>
+     *
+     * @param fullName Полное имя, не {@code null}.
+     * @param sink Приемник нарушенных правил.
+     * @return {@code true}, если имя корректно.
+     */
+    static boolean checkFullName(String fullName, ViolationSink sink) {
+        int length = fullName.length();
+        boolean blank = true;
+        boolean invalidChars = false;
+        int words = 0;
+        boolean inWord = false;
+        for (int i = 0; i < length; i++) {
+            char c = fullName.charAt(i);
+            if (c > ' ') {
+                blank = false;
+            }
+            if (isNameLetter(c)) {
+                if (!inWord) {
+                    words++;
+                    inWord = true;
+                }
+            } else {
+                if (i == 0 && isWhitespace(c)) {
+                    words++;
+                }
+                invalidChars |= !isWhitespace(c);
+                inWord = false;
+            }
         }
 
-        // Проверка, что имя содержит хотя бы два слова
-        if (pilot.getFullName().split("\\s+").length < 2) {
-            throw new IllegalArgumentException("Полное имя должно содержать хотя бы два слова.");
+        if (blank) {
+            sink.accept(ValidationRule.FULL_NAME_BLANK);
+            return false;
         }
-
-        // Проверка длины полного имени
-        if (pilot.getFullName().length() > 100) {
-            throw new IllegalArgumentException("Полное имя не может быть длиннее 100 символов.");
+        boolean valid = true;
+        if (invalidChars) {
+            sink.accept(ValidationRule.FULL_NAME_INVALID_CHARS);
+            valid = false;
+        }
+        if (words < 2) {
+            sink.accept(ValidationRule.FULL_NAME_SINGLE_WORD);
+            valid = false;
+        }
+        if (length > MAX_FULL_NAME_LENGTH) {
+            sink.accept(ValidationRule.FULL_NAME_TOO_LONG);
+            valid = false;
         }
+        return valid;
+    }
+
+    private static boolean isNameLetter(char c) {
+        return (c >= 'a' && c <= 'z')
+                || (c >= 'A' && c <= 'Z')
+                || (c >= 'А' && c <= 'я')
+                || c == 'ё' || c == 'Ё';
+    }
+
+    /**
+     * Соответствует классу {@code \s} регулярных выражений: {@code [ \t\n\x0B\f\r]}.
+     */
+    private static boolean isWhitespace(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
     }
 }
@@ -0,0 +1,47 @@
+package ru.example.validator;
+
+import ru.example.model.Flight;
+
+/**
+ * Рейс, успешно прошедший валидацию {@link FlightValidator}.
+ * <p>
+ * Экземпляры создаются только методом {@link FlightValidator#validated(Flight)}, поэтому наличие объекта
+ * само по себе подтверждает результат валидации и повторная проверка не нужна. Время вылета и прилета
+ * сохраняется в секундах от эпохи, чтобы не преобразовывать его заново для каждого пилота рейса.
+ * </p>
+ */
+public final class ValidatedFlight {
+
+    private final Flight flight;
+    private final long departureEpochSecond;
+    private final long arrivalEpochSecond;
+
+    ValidatedFlight(Flight flight, long departureEpochSecond, long arrivalEpochSecond) {
+        this.flight = flight;
+        this.departureEpochSecond = departureEpochSecond;
+        this.arrivalEpochSecond = arrivalEpochSecond;
+    }
+
+    /**
+     * @return Исходный рейс.
+     */
+    public Flight getFlight() {
+        return flight;
+    }
+
+    /**
+     * @return Время вылета в секундах от эпохи: момент вылета при учете часовых поясов аэропортов,
+     * иначе местное время рейса как UTC.
+     */
+    public long getDepartureEpochSecond() {
+        return departureEpochSecond;
+    }
+
+    /**
+     * @return Время прилета в секундах от эпохи: момент прилета при учете часовых поясов аэропортов,
+     * иначе местное время рейса как UTC.
+     */
+    public long getArrivalEpochSecond() {
+        return arrivalEpochSecond;
+    }
+}
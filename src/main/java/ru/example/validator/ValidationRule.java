@@ -0,0 +1,48 @@
+package ru.example.validator;
+
+/**
+ * Правила валидации пилотов и рейсов.
+ * <p>
+ * Каждое правило содержит сообщение, которое выводится в отчет об ошибках и используется в
+ * {@link IllegalArgumentException} при валидации с исключением ({@link Validator#validate(Object)}).
+ * Имя константы служит стабильным кодом правила.
+ * </p>
+ */
+public enum ValidationRule {
+
+    PILOT_ID_NULL("Идентификатор пилота не может быть null."),
+    PILOT_ID_NOT_POSITIVE("Идентификатор пилота должен быть положительным числом."),
+    FULL_NAME_NULL("Полное имя не может быть null."),
+    FULL_NAME_BLANK("Полное имя не может быть пустым."),
+    FULL_NAME_INVALID_CHARS("Полное имя может содержать только буквы и пробелы."),
+    FULL_NAME_SINGLE_WORD("Полное имя должно содержать хотя бы два слова."),
+    FULL_NAME_TOO_LONG("Полное имя не может быть длиннее 100 символов."),
+
+    FLIGHT_NULL("Рейс не может быть null."),
+    FLIGHT_ID_NULL("Идентификатор рейса не должен быть null."),
+    FLIGHT_ID_DUPLICATE("Рейс с таким идентификатором уже встречался во входных данных."),
+    AIRCRAFT_TYPE_EMPTY("Тип самолёта не должен быть пустым."),
+    AIRCRAFT_NUMBER_EMPTY("Номер самолёта не должен быть пустым."),
+    FLIGHT_TIME_NULL("Время отправления / время прибытия не должны быть null."),
+    ARRIVAL_BEFORE_DEPARTURE("Время отправления не должно быть позже времени прибытия."),
+    DEPARTURE_DATE_AFTER_ARRIVAL("Месяц отправления не должен быть после месяца прибытия."),
+    ZERO_DURATION("Время начала должно быть раньше времени окончания."),
+    DEPARTURE_AIRPORT_EMPTY("Аэропорт отправления не должен быть пустым."),
+    ARRIVAL_AIRPORT_EMPTY("Аэропорт прибытия не должен быть пустым."),
+    CREW_EMPTY("Список пилотов не должен быть пустым."),
+    CREW_PILOT_ID_INVALID("Идентификатор пилота должен быть положительным и отличным от null."),
+    AIRPORT_ZONE_UNKNOWN("Часовой пояс аэропорта неизвестен.");
+
+    private final String message;
+
+    ValidationRule(String message) {
+        this.message = message;
+    }
+
+    /**
+     * @return Сообщение о нарушении правила.
+     */
+    public String getMessage() {
+        return message;
+    }
+}
@@ -2,17 +2,29 @@ package ru.example.validator;
 
 /**
  * Интерфейс для реализации валидации объектов типа {@link T}.
- * Этот интерфейс определяет метод {@link #validate}, который должен быть реализован
+ * Этот интерфейс определяет метод {@link #validate(Object, ViolationSink)}, который должен быть реализован
  * для выполнения валидации переданных объектов. Классы, реализующие этот интерфейс,
  * могут проверять поля объектов на корректность согласно бизнес-логике.
  *
  * <p>Реализация интерфейса предоставляет возможность централизованно валидировать объекты
- * различных типов.</p>
+ * различных типов. Основной метод не выбрасывает исключений: все нарушения передаются в
+ * {@link ViolationSink}. Метод {@link #validate(Object)} сохраняет прежний контракт с исключением.</p>
  *
  * @param <T> Тип объекта, который будет валидироваться.
  */
 public interface Validator<T> {
 
+    /**
+     * Выполняет валидацию переданного объекта без выбрасывания исключений.
+     * Все нарушенные правила передаются в {@code sink} за один проход; первым передается то правило,
+     * сообщение которого выбрасывает {@link #validate(Object)}.
+     *
+     * @param object Объект типа {@link T} для валидации.
+     * @param sink Приемник нарушенных правил.
+     * @return {@code true}, если объект валиден.
+     */
+    boolean validate(T object, ViolationSink sink);
+
     /**
      * Выполняет валидацию переданного объекта.
      * Реализация метода должна содержать логику проверки корректности данных объекта.
@@ -20,5 +32,15 @@ public interface Validator<T> {
      * @param object Объект типа {@link T}, который должен быть валиден.
      * @throws IllegalArgumentException если объект не удовлетворяет требованиям валидации.
      */
-    void validate(T object);
+    default void validate(T object) {
+        ValidationRule[] firstViolation = new ValidationRule[1];
+        boolean valid = validate(object, rule -> {
+            if (firstViolation[0] == null) {
+                firstViolation[0] = rule;
+            }
+        });
+        if (!valid) {
+            throw new IllegalArgumentException(firstViolation[0].getMessage());
+        }
+    }
 }
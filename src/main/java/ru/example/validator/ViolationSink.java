@@ -0,0 +1,20 @@
+package ru.example.validator;
+
+/**
+ * Приемник нарушений, обнаруженных при валидации объекта.
+ * <p>
+ * Используется вместо исключений: валидатор сообщает о каждом нарушенном правиле и продолжает проверку.
+ * </p>
+ *
+ * @see Validator#validate(Object, ViolationSink)
+ */
+@FunctionalInterface
+public interface ViolationSink {
+
+    /**
+     * Принимает нарушенное правило.
+     *
+     * @param rule Правило, которому не соответствует объект.
+     */
+    void accept(ValidationRule rule);
+}
@@ -0,0 +1,132 @@
+package ru.example.zone;
+
+import ru.example.model.Pilot;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Таблица часовых поясов аэропортов по кодам IATA.
+ * <p>
+ * Таблица загружается один раз из файла формата {@code КОД,ЧАСОВОЙ_ПОЯС} (строки с {@code #} — комментарии);
+ * встроенная таблица — ресурс {@value #RESOURCE}. Для каждого пояса сразу строится {@link ZoneTimeline},
+ * поэтому при обработке рейсов поиск пояса аэропорта — одно обращение к {@link HashMap}.
+ * </p>
+ * <p>
+ * Таблица также задает базовый часовой пояс экипажа по умолчанию — для пилотов без базового аэропорта
+ * ({@link Pilot#getBaseAirport()}) или с аэропортом, отсутствующим в таблице.
+ * </p>
+ */
+public final class AirportZones {
+
+    /**
+     * Встроенная таблица часовых поясов аэропортов.
+     */
+    public static final String RESOURCE = "/airport-zones.csv";
+
+    private final Map<String, ZoneTimeline> timelineByAirport;
+    private final ZoneTimeline defaultBase;
+
+    private AirportZones(Map<String, ZoneTimeline> timelineByAirport, ZoneTimeline defaultBase) {
+        this.timelineByAirport = timelineByAirport;
+        this.defaultBase = defaultBase;
+    }
+
+    /**
+     * Загружает встроенную таблицу.
+     *
+     * @param defaultBase Базовый часовой пояс по умолчанию.
+     * @return Таблица часовых поясов аэропортов.
+     */
+    public static AirportZones builtIn(ZoneId defaultBase) {
+        try (InputStream in = AirportZones.class.getResourceAsStream(RESOURCE)) {
+            if (in == null) {
+                throw new IllegalStateException("Не найден ресурс " + RESOURCE);
+            }
+            return read(new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8)), RESOURCE, defaultBase);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Загружает таблицу из файла.
+     *
+     * @param file Файл таблицы.
+     * @param defaultBase Базовый часовой пояс по умолчанию.
+     * @return Таблица часовых поясов аэропортов.
+     * @throws IOException Если файл не удалось прочитать.
+     */
+    public static AirportZones load(Path file, ZoneId defaultBase) throws IOException {
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return read(reader, file.toString(), defaultBase);
+        }
+    }
+
+    private static AirportZones read(BufferedReader reader, String source, ZoneId defaultBase) throws IOException {
+        Map<String, ZoneTimeline> timelineByAirport = new HashMap<>();
+        String line;
+        int lineNumber = 0;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int comma = line.indexOf(',');
+            if (comma <= 0) {
+                throw new IOException("Некорректная строка " + lineNumber + " таблицы " + source + ": " + line);
+            }
+            try {
+                ZoneId zone = ZoneId.of(line.substring(comma + 1).strip());
+                timelineByAirport.put(line.substring(0, comma).strip().toUpperCase(Locale.ROOT), ZoneTimeline.of(zone));
+            } catch (DateTimeException e) {
+                throw new IOException("Неизвестный часовой пояс в строке " + lineNumber + " таблицы " + source, e);
+            }
+        }
+        return new AirportZones(timelineByAirport, ZoneTimeline.of(defaultBase));
+    }
+
+    /**
+     * @param airport Код аэропорта IATA.
+     * @return Часовой пояс аэропорта или {@code null}, если аэропорта нет в таблице.
+     */
+    public ZoneTimeline timeline(String airport) {
+        ZoneTimeline timeline = airport == null ? null : timelineByAirport.get(airport);
+        return timeline != null || airport == null ? timeline : timelineByAirport.get(airport.toUpperCase(Locale.ROOT));
+    }
+
+    /**
+     * @return Базовый часовой пояс по умолчанию.
+     */
+    public ZoneTimeline defaultBase() {
+        return defaultBase;
+    }
+
+    /**
+     * @param pilot Пилот.
+     * @return Часовой пояс базового аэропорта пилота или базовый пояс по умолчанию.
+     */
+    public ZoneTimeline baseOf(Pilot pilot) {
+        ZoneTimeline base = timeline(pilot.getBaseAirport());
+        return base != null ? base : defaultBase;
+    }
+
+    /**
+     * @return Количество аэропортов в таблице.
+     */
+    public int size() {
+        return timelineByAirport.size();
+    }
+}
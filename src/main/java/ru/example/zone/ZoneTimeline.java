@@ -0,0 +1,173 @@
+package ru.example.zone;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Переход между моментами времени (секунды от эпохи) и местным временем часового пояса
+ * по заранее вычисленным переходам смещения.
+ * <p>
+ * При создании переходы {@link ZoneRules} за {@value #FIRST_YEAR}–{@value #LAST_YEAR} годы раскладываются
+ * в примитивные массивы: моменты переходов, смещения и границы неоднозначного местного времени. Преобразование
+ * — двоичный поиск по массиву без создания объектов. Местное время, попадающее в пропуск или перекрытие
+ * при переходе, и время за пределами диапазона преобразуются через {@link ZoneRules} по правилам
+ * {@link java.time.ZonedDateTime#ofLocal}: время в пропуске сдвигается вперед, в перекрытии берется прежнее смещение.
+ * </p>
+ * <p>
+ * Экземпляры кэшируются по часовому поясу ({@link #of(ZoneId)}), неизменяемы и потокобезопасны.
+ * </p>
+ */
+public final class ZoneTimeline {
+
+    static final int FIRST_YEAR = 1900;
+    static final int LAST_YEAR = 2100;
+
+    private static final long FIRST_SECOND = LocalDateTime.of(FIRST_YEAR, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final long LAST_SECOND = LocalDateTime.of(LAST_YEAR, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+    private static final Map<ZoneId, ZoneTimeline> CACHE = new ConcurrentHashMap<>();
+
+    /**
+     * Время UTC: местное время совпадает с моментом.
+     */
+    public static final ZoneTimeline UTC = of(ZoneOffset.UTC);
+
+    private final ZoneId zone;
+
+    /**
+     * Моменты переходов по возрастанию.
+     */
+    private final long[] transitions;
+
+    /**
+     * Смещения в секундах: {@code offsets[i]} действует до перехода {@code i}, последнее — после всех переходов.
+     */
+    private final int[] offsets;
+
+    /**
+     * Границы неоднозначного местного времени перехода {@code i}: с {@code localStarts[i]} включительно
+     * до {@code localEnds[i]} местное время попадает в пропуск или перекрытие.
+     */
+    private final long[] localStarts;
+    private final long[] localEnds;
+
+    /**
+     * Смещение часового пояса постоянно.
+     */
+    private final boolean fixedOffset;
+
+    private ZoneTimeline(ZoneId zone) {
+        this.zone = zone;
+        ZoneRules rules = zone.getRules();
+        this.fixedOffset = rules.isFixedOffset();
+        List<ZoneOffsetTransition> found = new ArrayList<>();
+        Instant from = Instant.ofEpochSecond(FIRST_SECOND);
+        ZoneOffsetTransition transition;
+        while ((transition = rules.nextTransition(from)) != null && transition.toEpochSecond() < LAST_SECOND) {
+            found.add(transition);
+            from = transition.getInstant();
+        }
+
+        int n = found.size();
+        transitions = new long[n];
+        offsets = new int[n + 1];
+        localStarts = new long[n];
+        localEnds = new long[n];
+        offsets[0] = rules.getOffset(Instant.ofEpochSecond(FIRST_SECOND)).getTotalSeconds();
+        for (int i = 0; i < n; i++) {
+            ZoneOffsetTransition t = found.get(i);
+            int before = t.getOffsetBefore().getTotalSeconds();
+            int after = t.getOffsetAfter().getTotalSeconds();
+            transitions[i] = t.toEpochSecond();
+            offsets[i + 1] = after;
+            localStarts[i] = transitions[i] + Math.min(before, after);
+            localEnds[i] = transitions[i] + Math.max(before, after);
+        }
+    }
+
+    /**
+     * @param zone Часовой пояс.
+     * @return Кэшированное представление часового пояса.
+     */
+    public static ZoneTimeline of(ZoneId zone) {
+        return CACHE.computeIfAbsent(zone, ZoneTimeline::new);
+    }
+
+    /**
+     * @return Часовой пояс.
+     */
+    public ZoneId zone() {
+        return zone;
+    }
+
+    /**
+     * @param epochSecond Момент в секундах от эпохи.
+     * @return Смещение местного времени в этот момент в секундах.
+     */
+    public int offsetAt(long epochSecond) {
+        if (fixedOffset) {
+            return offsets[0];
+        }
+        if (epochSecond < FIRST_SECOND || epochSecond >= LAST_SECOND) {
+            return zone.getRules().getOffset(Instant.ofEpochSecond(epochSecond)).getTotalSeconds();
+        }
+        // Количество переходов не позже момента
+        int index = upperBound(transitions, epochSecond);
+        return offsets[index];
+    }
+
+    /**
+     * @param epochSecond Момент в секундах от эпохи.
+     * @return Местное время в этот момент в секундах от эпохи, как если бы оно было временем UTC.
+     */
+    public long toLocalSecond(long epochSecond) {
+        return epochSecond + offsetAt(epochSecond);
+    }
+
+    /**
+     * @param localSecond Местное время в секундах от эпохи, как если бы оно было временем UTC.
+     * @return Момент в секундах от эпохи.
+     */
+    public long toEpochSecond(long localSecond) {
+        if (fixedOffset) {
+            return localSecond - offsets[0];
+        }
+        if (localSecond >= FIRST_SECOND && localSecond < LAST_SECOND) {
+            int index = upperBound(localStarts, localSecond);
+            if (index == 0 || localSecond >= localEnds[index - 1]) {
+                return localSecond - offsets[index];
+            }
+        }
+        // Пропуск, перекрытие или время вне диапазона
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC).atZone(zone).toEpochSecond();
+    }
+
+    /**
+     * @return Количество элементов {@code sorted}, не превышающих {@code value}.
+     */
+    private static int upperBound(long[] sorted, long value) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (sorted[mid] <= value) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    @Override
+    public String toString() {
+        return zone.getId();
+    }
+}
@@ -0,0 +1,55 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+import ru.example.model.Flight;
+import ru.example.validator.FlightValidator;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CrewIndexTest {
+
+    private final FlightValidator validator = new FlightValidator();
+
+    @Test
+    void build_FlightsWithSharedCrews_GroupsFlightIndicesByPilot() {
+        FlightStore store = new FlightStore();
+        store.add(validator.validated(flight(10L, List.of(3L, 1L))));
+        store.add(validator.validated(flight(11L, List.of(1L))));
+        store.add(validator.validated(flight(12L, List.of(2L, 3L))));
+
+        CrewIndex index = CrewIndex.build(store);
+
+        assertEquals(3, index.pilotCount());
+        assertEquals(1L, index.pilotId(0));
+        assertEquals(List.of(0, 1), flightsOf(index, 1L));
+        assertEquals(List.of(2), flightsOf(index, 2L));
+        assertEquals(List.of(0, 2), flightsOf(index, 3L));
+        assertTrue(index.slotOf(4L) < 0);
+    }
+
+    @Test
+    void build_EmptyStore_HasNoPilots() {
+        assertEquals(0, CrewIndex.build(new FlightStore()).pilotCount());
+    }
+
+    private static List<Integer> flightsOf(CrewIndex index, long pilotId) {
+        int slot = index.slotOf(pilotId);
+        List<Integer> flights = new ArrayList<>();
+        for (int position = index.flightsStart(slot); position < index.flightsEnd(slot); position++) {
+            flights.add(index.flightIndex(position));
+        }
+        return flights;
+    }
+
+    private static Flight flight(long id, List<Long> crew) {
+        return new Flight(id, "Boeing 737", "ABC123",
+                LocalDateTime.of(2025, 1, 1, 10, 0),
+                LocalDateTime.of(2025, 1, 1, 12, 0),
+                "SVO", "LED", crew);
+    }
+}
@@ -0,0 +1,32 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.TemporalAdjusters;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EpochDaysTest {
+
+    @Test
+    void monthIndexAndWeekIndex_MatchLocalDate() {
+        LocalDate end = LocalDate.of(2101, 1, 1);
+        for (LocalDate date = LocalDate.of(1899, 12, 1); date.isBefore(end); date = date.plusDays(1)) {
+            int epochDay = (int) date.toEpochDay();
+            int monthIndex = EpochDays.monthIndex(epochDay);
+
+            assertEquals(date.getYear() * 12 + date.getMonthValue() - 1, monthIndex, date.toString());
+            assertEquals(date.withDayOfMonth(1).toEpochDay(), EpochDays.firstDayOfMonth(monthIndex), date.toString());
+            assertEquals(date.withDayOfMonth(date.lengthOfMonth()).toEpochDay(), EpochDays.lastDayOfMonth(monthIndex));
+            assertEquals(date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY)).toEpochDay(),
+                    EpochDays.firstDayOfWeek(EpochDays.weekIndex(epochDay)), date.toString());
+        }
+    }
+
+    @Test
+    void monthToLocalDate_ReturnsFirstDayOfMonth() {
+        assertEquals(LocalDate.of(2024, 11, 1), EpochDays.monthToLocalDate(2024 * 12 + 10));
+    }
+}
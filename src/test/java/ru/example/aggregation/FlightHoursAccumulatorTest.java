@@ -0,0 +1,107 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+import ru.example.model.Flight;
+import ru.example.validator.FlightValidator;
+import ru.example.validator.ValidatedFlight;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlightHoursAccumulatorTest {
+
+    @Test
+    void addFlight_MultiDayFlight_SplitsAtMidnightWithTruncatedHours() {
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+        accumulator.addFlight(LocalDateTime.of(2025, 1, 30, 1, 30), LocalDateTime.of(2025, 2, 1, 12, 45));
+
+        FlightHoursSummary summary = accumulator.summarize();
+
+        assertEquals(3, summary.dayCount());
+        assertEquals(22, summary.dayHours(0));
+        assertEquals(24, summary.dayHours(1));
+        assertEquals(12, summary.dayHours(2));
+        assertEquals(2, summary.monthCount());
+        assertEquals(1, summary.monthFlights(0));
+        assertEquals(0, summary.monthFlights(1));
+    }
+
+    @Test
+    void addFlight_TimeWithSeconds_StoreAndValidatedFlightGiveSameHours() {
+        // 1 ч 59 мин 40 с: без учета секунд было бы ровно 2 часа
+        Flight flight = new Flight(1L, "Boeing 737", "B737-800",
+                LocalDateTime.of(2025, 3, 10, 9, 0, 40),
+                LocalDateTime.of(2025, 3, 10, 11, 0, 20),
+                "SVO", "LED", List.of(1L));
+        ValidatedFlight validated = new FlightValidator().validated(flight);
+        FlightStore store = new FlightStore();
+        int index = store.add(validated);
+
+        for (FlightTimePrecision precision : FlightTimePrecision.values()) {
+            FlightHoursAccumulator fromStore = new FlightHoursAccumulator(precision);
+            fromStore.addFlight(store, index);
+            FlightHoursAccumulator fromFlight = new FlightHoursAccumulator(precision);
+            fromFlight.addFlight(validated);
+
+            long expected = precision.fromSeconds(119 * 60 + 40);
+            assertEquals(expected, fromStore.summarize().dayHours(0));
+            assertEquals(expected, fromFlight.summarize().dayHours(0));
+        }
+        assertEquals(flight.getDepartureTime(), store.toFlight(index).getDepartureTime());
+        assertEquals(flight.getArrivalTime(), store.toFlight(index).getArrivalTime());
+    }
+
+    @Test
+    void summarize_WeekStartsInPreviousMonth_CountedForNextMonth() {
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+        // Неделя с понедельника 27.01.2025 по 02.02.2025, налет только в январе
+        accumulator.addFlight(LocalDateTime.of(2025, 1, 30, 0, 0), LocalDateTime.of(2025, 1, 31, 16, 0));
+        accumulator.addFlight(LocalDateTime.of(2025, 2, 20, 10, 0), LocalDateTime.of(2025, 2, 20, 12, 0));
+
+        FlightHoursSummary summary = accumulator.summarize();
+
+        assertEquals(40, summary.monthMaxWeekHours(0));
+        assertEquals(40, summary.monthMaxWeekHours(1));
+        assertEquals(2, summary.monthMaxDayHours(1));
+    }
+
+    @Test
+    void summarize_RandomFlights_MaximaMatchBruteForce() {
+        Random random = new Random(42);
+        for (int iteration = 0; iteration < 200; iteration++) {
+            FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+            LocalDateTime base = LocalDateTime.of(2023, 12, 20, 0, 0);
+            for (int f = 0; f < 1 + random.nextInt(30); f++) {
+                LocalDateTime departure = base.plusMinutes(random.nextInt(60 * 24 * 500));
+                accumulator.addFlight(departure, departure.plusMinutes(30 + random.nextInt(60 * 60)));
+            }
+
+            FlightHoursSummary summary = accumulator.summarize();
+            for (int m = 0; m < summary.monthCount(); m++) {
+                int month = summary.month(m);
+                int firstDay = EpochDays.firstDayOfMonth(month);
+                int lastDay = EpochDays.lastDayOfMonth(month);
+
+                long expectedDay = 0;
+                for (int d = 0; d < summary.dayCount(); d++) {
+                    if (summary.day(d) >= firstDay && summary.day(d) <= lastDay) {
+                        expectedDay = Math.max(expectedDay, summary.dayHours(d));
+                    }
+                }
+                long expectedWeek = 0;
+                for (int w = 0; w < summary.weekCount(); w++) {
+                    int weekStart = EpochDays.firstDayOfWeek(summary.week(w));
+                    if (weekStart <= lastDay && weekStart + 6 >= firstDay) {
+                        expectedWeek = Math.max(expectedWeek, summary.weekHours(w));
+                    }
+                }
+
+                assertEquals(expectedDay, summary.monthMaxDayHours(m));
+                assertEquals(expectedWeek, summary.monthMaxWeekHours(m));
+            }
+        }
+    }
+}
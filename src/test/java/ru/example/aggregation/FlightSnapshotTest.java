@@ -0,0 +1,131 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.validator.FlightValidator;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightSnapshotTest {
+
+    private final FlightValidator validator = new FlightValidator();
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void writeAndOpen_RoundTripsFlightsCrewIndexAndSummaries() throws IOException {
+        FlightStore store = new FlightStore();
+        for (long id = 1; id <= 40; id++) {
+            Flight flight = new Flight(id, "Boeing 737", "Борт-" + (id % 3),
+                    LocalDateTime.of(2025, 1, 28, 20, 0).plusHours(id * 7),
+                    LocalDateTime.of(2025, 1, 29, 7, 30).plusHours(id * 7),
+                    "SVO", id % 2 == 0 ? "LED" : "DXB", id % 4 == 0 ? List.of(3L, 1L) : List.of(id % 3 + 1));
+            store.add(validator.validated(flight));
+        }
+        Set<Pilot> pilots = Set.of(new Pilot(2L, "Петр Петров", null), new Pilot(1L, null, null),
+                new Pilot(5L, "Иван Иванов", null), new Pilot(null, "Без Номера", null));
+        File file = tempDir.resolve("snapshot.bin").toFile();
+
+        FlightSnapshot.write(file, pilots, store);
+        FlightSnapshot snapshot = FlightSnapshot.open(file);
+
+        assertEquals(store.size(), snapshot.flightCount());
+        for (int i = 0; i < store.size(); i++) {
+            assertEquals(store.id(i), snapshot.flightId(i));
+            assertEquals(store.departureEpochSecond(i), snapshot.departureEpochSecond(i));
+            assertEquals(store.arrivalEpochSecond(i), snapshot.arrivalEpochSecond(i));
+            assertEquals(store.aircraftNumber(i), snapshot.aircraftNumber(i));
+            assertEquals(store.arrivalAirport(i), snapshot.arrivalAirport(i));
+            assertEquals(store.crewStart(i), snapshot.crewStart(i));
+            assertEquals(store.crewEnd(i), snapshot.crewEnd(i));
+        }
+
+        assertEquals(3, snapshot.pilotCount());
+        assertEquals(List.of(1L, 2L, 5L), List.of(snapshot.pilotId(0), snapshot.pilotId(1), snapshot.pilotId(2)));
+        assertNull(snapshot.pilotFullName(0));
+        assertEquals("Петр Петров", snapshot.pilotFullName(1));
+        assertTrue(snapshot.slotOf(5L) < 0);
+
+        CrewIndex index = CrewIndex.build(store);
+        assertEquals(index.pilotCount(), snapshot.indexPilotCount());
+        for (int slot = 0; slot < index.pilotCount(); slot++) {
+            assertEquals(slot, snapshot.slotOf(index.pilotId(slot)));
+            assertEquals(index.flightsStart(slot), snapshot.flightsStart(slot));
+            assertEquals(index.flightsEnd(slot), snapshot.flightsEnd(slot));
+
+            FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+            for (int position = index.flightsStart(slot); position < index.flightsEnd(slot); position++) {
+                assertEquals(index.flightIndex(position), snapshot.flightIndex(position));
+                accumulator.addFlight(store, index.flightIndex(position));
+            }
+            FlightHoursSummary summary = accumulator.summarize();
+            assertEquals(summary.monthCount(), snapshot.monthsEnd(slot) - snapshot.monthsStart(slot));
+            for (int m = 0; m < summary.monthCount(); m++) {
+                int position = snapshot.monthsStart(slot) + m;
+                assertEquals(summary.month(m), snapshot.month(position));
+                assertEquals(summary.monthHours(m), snapshot.monthHours(position));
+                assertEquals(summary.monthFlights(m), snapshot.monthFlights(position));
+                assertEquals(summary.monthMaxDayHours(m), snapshot.monthMaxDayHours(position));
+                assertEquals(summary.monthMaxWeekHours(m), snapshot.monthMaxWeekHours(position));
+            }
+            assertEquals(summary.dayCount(), snapshot.daysEnd(slot) - snapshot.daysStart(slot));
+            assertEquals(summary.weekCount(), snapshot.weeksEnd(slot) - snapshot.weeksStart(slot));
+        }
+    }
+
+    @Test
+    void size_WrittenSnapshot_MatchesFileLength() throws IOException {
+        FlightStore store = new FlightStore();
+        store.add(validator.validated(new Flight(1L, "Boeing 737", "Борт-1",
+                LocalDateTime.of(2025, 1, 28, 20, 0), LocalDateTime.of(2025, 1, 29, 7, 30),
+                "SVO", "LED", List.of(1L, 2L))));
+        File file = tempDir.resolve("snapshot.bin").toFile();
+
+        FlightSnapshot.write(file, Set.of(new Pilot(1L, "Иван Иванов", null)), store);
+        FlightSnapshot snapshot = FlightSnapshot.open(file);
+
+        int dayCount = 0;
+        int weekCount = 0;
+        int monthCount = 0;
+        for (int slot = 0; slot < snapshot.indexPilotCount(); slot++) {
+            dayCount += snapshot.daysEnd(slot) - snapshot.daysStart(slot);
+            weekCount += snapshot.weeksEnd(slot) - snapshot.weeksStart(slot);
+            monthCount += snapshot.monthsEnd(slot) - snapshot.monthsStart(slot);
+        }
+        long size = FlightSnapshot.size(1, 2, 2, 1, dayCount, weekCount, monthCount,
+                new byte[][]{"Boeing 737".getBytes(StandardCharsets.UTF_8)},
+                new byte[][]{"Борт-1".getBytes(StandardCharsets.UTF_8)},
+                new byte[][]{"SVO".getBytes(StandardCharsets.UTF_8), "LED".getBytes(StandardCharsets.UTF_8)},
+                new byte[][]{"Иван Иванов".getBytes(StandardCharsets.UTF_8)});
+
+        assertEquals(Files.size(file.toPath()), size);
+    }
+
+    @Test
+    void size_OverflowingIntOffsets_ExceedsMappableLimit() {
+        assertTrue(FlightSnapshot.size(200_000_000, 200_000_000, 1, 1, 0, 0, 0) > Integer.MAX_VALUE);
+    }
+
+    @Test
+    void open_NotASnapshot_Throws() throws IOException {
+        Path file = tempDir.resolve("input.json");
+        Files.writeString(file, "{\"pilots\": [], \"flights\": []}");
+
+        assertThrows(IOException.class, () -> FlightSnapshot.open(file.toFile()));
+    }
+}
@@ -0,0 +1,51 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+import ru.example.model.Flight;
+import ru.example.validator.FlightValidator;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class FlightStoreTest {
+
+    private final FlightValidator validator = new FlightValidator();
+
+    @Test
+    void add_ManyFlights_GrowsAndKeepsColumnsAndCrew() {
+        FlightStore store = new FlightStore(1);
+        for (long id = 1; id <= 100; id++) {
+            Flight flight = new Flight(id, "Boeing 737", "B737-" + (id % 3),
+                    LocalDateTime.of(2025, 1, 1, 10, 0).plusHours(id),
+                    LocalDateTime.of(2025, 1, 1, 12, 0).plusHours(id),
+                    id % 2 == 0 ? "SVO" : "LED", "DXB", id % 5 == 0 ? List.of(id, id + 1, id + 2) : List.of(id));
+            assertEquals(id - 1, store.add(validator.validated(flight)));
+        }
+
+        assertEquals(100, store.size());
+        assertEquals(50, store.id(49));
+        assertEquals("SVO", store.departureAirport(49));
+        assertEquals("B737-2", store.aircraftNumber(49));
+        assertEquals(3, store.crewEnd(49) - store.crewStart(49));
+        assertEquals(52, store.crewId(store.crewEnd(49) - 1));
+        assertEquals(LocalDateTime.of(2025, 1, 3, 12, 0), store.toFlight(49).getDepartureTime());
+    }
+
+    @Test
+    void toFlight_RoundTripsValidatedFlight() {
+        Flight flight = new Flight(7L, "Airbus A320", "A320-200",
+                LocalDateTime.of(2024, 11, 1, 22, 0),
+                LocalDateTime.of(2024, 11, 2, 10, 30),
+                "LHR", "DXB", List.of(5L, 1L));
+        FlightStore store = new FlightStore();
+
+        int index = store.add(validator.validated(flight));
+
+        assertEquals(flight.getDepartureTime(), store.toFlight(index).getDepartureTime());
+        assertEquals(flight.getArrivalTime(), store.toFlight(index).getArrivalTime());
+        assertEquals(flight.getIdPilots(), store.toFlight(index).getIdPilots());
+        assertEquals(flight.getArrivalAirport(), store.toFlight(index).getArrivalAirport());
+    }
+}
@@ -0,0 +1,36 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class IntLongHashMapTest {
+
+    @Test
+    void addToAndRemove_RandomOperations_MatchHashMap() {
+        IntLongHashMap map = new IntLongHashMap();
+        Map<Integer, Long> expected = new HashMap<>();
+        Random random = new Random(11);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Узкий диапазон ключей дает длинные цепочки коллизий
+            int key = random.nextInt(64) * 1024;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.getOrDefault(key, 0L), map.remove(key));
+                expected.remove(key);
+            } else {
+                long delta = random.nextInt(10);
+                assertEquals(expected.merge(key, delta, Long::sum), map.addTo(key, delta));
+            }
+            assertEquals(expected.size(), map.size());
+        }
+        for (int key = 0; key < 64 * 1024; key += 1024) {
+            assertEquals(expected.getOrDefault(key, 0L), map.get(key));
+            assertEquals(expected.containsKey(key), map.containsKey(key));
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package ru.example.aggregation;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LongHashSetTest {
+
+    @Test
+    void add_RandomValuesIncludingZero_MatchHashSet() {
+        LongHashSet set = new LongHashSet();
+        Set<Long> expected = new HashSet<>();
+        Random random = new Random(3);
+
+        for (int i = 0; i < 100_000; i++) {
+            // Узкий диапазон значений дает повторы, в том числе нуля и отрицательных значений
+            long value = (random.nextInt(20_000) - 100) * 4096L;
+            assertEquals(expected.add(value), set.add(value));
+            assertEquals(expected.size(), set.size());
+        }
+        for (long value = -100 * 4096L; value < 20_000 * 4096L; value += 4096L) {
+            assertEquals(expected.contains(value), set.contains(value));
+        }
+    }
+}
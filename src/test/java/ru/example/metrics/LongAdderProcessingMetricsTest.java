@@ -0,0 +1,64 @@
+package ru.example.metrics;
+
+import org.junit.jupiter.api.Test;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.rules.DutyRegime;
+import ru.example.service.ConsoleRejectionSink;
+import ru.example.service.PilotFlightServiceImpl;
+import ru.example.validator.ValidationRule;
+
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LongAdderProcessingMetricsTest {
+
+    @Test
+    void process_CountsRecordsRejectionsAndPhases() {
+        LongAdderProcessingMetrics metrics = new LongAdderProcessingMetrics();
+        PilotFlightServiceImpl service = new PilotFlightServiceImpl(null, new ConsoleRejectionSink(),
+                DutyRegime.standard().compile(), null, metrics);
+        Flight valid = new Flight(1L, "Boeing 737", "ABC123", LocalDateTime.of(2025, 1, 10, 8, 0),
+                LocalDateTime.of(2025, 1, 10, 11, 0), "SVO", "LED", List.of(1L, 2L));
+        Flight reversed = new Flight(2L, "Boeing 737", "ABC124", LocalDateTime.of(2025, 1, 11, 8, 0),
+                LocalDateTime.of(2025, 1, 11, 6, 0), "LED", "SVO", List.of(1L));
+
+        service.process(new InputPilotsAndFlights(
+                Set.of(new Pilot(1L, "Иван Иванов", null), new Pilot(2L, "Петр Петров", null)), Set.of(valid, reversed)));
+
+        assertEquals(2, metrics.getPilotsRead());
+        assertEquals(2, metrics.getFlightsRead());
+        assertEquals(2, metrics.getPilotsProcessed());
+        assertEquals(Map.of(ValidationRule.ARRIVAL_BEFORE_DEPARTURE.name(), 1L), metrics.getRejectedByRule());
+        assertEquals(1, metrics.getPhaseCount().get(Phase.VALIDATION.name()));
+        assertEquals(1, metrics.getPhaseCount().get(Phase.AGGREGATION.name()));
+        assertEquals(0, metrics.getPhaseCount().get(Phase.PARSING.name()));
+
+        metrics.reset();
+        assertEquals(0, metrics.getPilotsProcessed());
+        assertEquals(Map.of(), metrics.getRejectedByRule());
+    }
+
+    @Test
+    void register_PublishesAttributesThroughJmx() throws Exception {
+        LongAdderProcessingMetrics metrics = new LongAdderProcessingMetrics();
+        metrics.register();
+        metrics.bytesRead(1024);
+        // Повторная регистрация заменяет ранее зарегистрированные метрики
+        new LongAdderProcessingMetrics().register();
+        metrics.register();
+
+        assertEquals(1024L, ManagementFactory.getPlatformMBeanServer()
+                .getAttribute(new ObjectName(LongAdderProcessingMetrics.OBJECT_NAME), "BytesRead"));
+        assertTrue(ManagementFactory.getPlatformMBeanServer()
+                .isRegistered(new ObjectName(LongAdderProcessingMetrics.OBJECT_NAME)));
+    }
+}
@@ -0,0 +1,122 @@
+package ru.example.query;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import ru.example.config.ObjectMapperConfig;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyRegime;
+import ru.example.service.ConsoleRejectionSink;
+import ru.example.service.PilotFlightServiceImpl;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Clock;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FlightHoursQueryServerTest {
+
+    private static final CompiledDutyRegime REGIME = DutyRegime.standard().compile();
+
+    private final ObjectMapper objectMapper = ObjectMapperConfig.createConfigObjectMapperTime(false);
+    private final HttpClient client = HttpClient.newHttpClient();
+    private FlightHoursQueryServer server;
+
+    @BeforeEach
+    void startServer() throws IOException {
+        server = new FlightHoursQueryServer(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), objectMapper,
+                Clock.fixed(Instant.parse("2025-01-10T12:00:00Z"), ZoneOffset.UTC));
+        server.start();
+    }
+
+    @AfterEach
+    void stopServer() {
+        server.close();
+        client.close();
+    }
+
+    /**
+     * Строит индекс: у пилота 1 — по 9 часов 6 и 10 января 2025 (понедельник и пятница одной недели),
+     * у пилота 2 — рейсов нет.
+     */
+    private static PilotHoursIndex index(String source) {
+        List<Flight> flights = new ArrayList<>();
+        for (int day : new int[]{6, 10}) {
+            flights.add(new Flight((long) day, "Boeing 737", "ABC" + day, LocalDateTime.of(2025, 1, day, 8, 0),
+                    LocalDateTime.of(2025, 1, day, 17, 0), "SVO", "LED", List.of(1L)));
+        }
+        Set<Pilot> pilots = Set.of(new Pilot(1L, "Иван Иванов", null), new Pilot(2L, "Петр Петров", null));
+        InputPilotsAndFlights input = new InputPilotsAndFlights(pilots, Set.copyOf(flights));
+        PilotHoursIndex.Builder builder = PilotHoursIndex.builder(REGIME, source, pilots);
+        new PilotFlightServiceImpl(null, new ConsoleRejectionSink(), REGIME).process(input, builder);
+        return builder.build();
+    }
+
+    @Test
+    void hours_DayWeekMonthAndLimits() {
+        PilotHoursIndex index = index("test.json");
+
+        PilotHours hours = index.hours(1L, LocalDate.of(2025, 1, 10));
+        assertEquals(new BigDecimal(9), hours.getDayFlightHours());
+        assertEquals(new BigDecimal(18), hours.getWeekFlightHours());
+        assertEquals(new BigDecimal(18), hours.getMonthFlightHours());
+        assertEquals(LocalDate.of(2025, 1, 6), hours.getWeekStart());
+        assertTrue(hours.isExceedsLimit());
+        assertEquals(List.of("DAY_8"), hours.getViolatedRules());
+
+        PilotHours idle = index.hours(2L, LocalDate.of(2025, 1, 10));
+        assertEquals(BigDecimal.ZERO, idle.getMonthFlightHours());
+        assertFalse(idle.isExceedsLimit());
+        assertNull(index.hours(3L, LocalDate.of(2025, 1, 10)));
+    }
+
+    @Test
+    void server_AnswersFromPublishedIndex() throws Exception {
+        assertEquals(503, get("/pilots/1").statusCode());
+
+        server.publish(index("first.json"));
+        HttpResponse<String> response = get("/pilots/1");
+        assertEquals(200, response.statusCode());
+        JsonNode body = objectMapper.readTree(response.body());
+        assertEquals("2025-01-10", body.get("date").asText());
+        assertEquals(18, body.get("weekFlightHours").asInt());
+        assertTrue(body.get("exceedsLimit").asBoolean());
+
+        assertEquals(9, objectMapper.readTree(get("/pilots/1?date=2025-01-06").body()).get("dayFlightHours").asInt());
+        assertEquals(404, get("/pilots/3").statusCode());
+        assertEquals(400, get("/pilots/abc").statusCode());
+        assertEquals(400, get("/pilots/1?date=10.01.2025").statusCode());
+        assertEquals(400, get("/pilots/1?date=+999999999-01-01").statusCode());
+        assertEquals(400, get("/pilots/1?date=-999999999-01-01").statusCode());
+
+        server.publish(index("second.json"));
+        assertEquals("second.json", objectMapper.readTree(get("/status").body()).get("source").asText());
+    }
+
+    private HttpResponse<String> get(String path) throws Exception {
+        return client.send(HttpRequest.newBuilder(URI.create("http://localhost:" + server.port() + path)).build(),
+                HttpResponse.BodyHandlers.ofString());
+    }
+}
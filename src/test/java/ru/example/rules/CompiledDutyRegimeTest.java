@@ -0,0 +1,146 @@
+package ru.example.rules;
+
+import org.junit.jupiter.api.Test;
+import ru.example.aggregation.EpochDays;
+import ru.example.aggregation.FlightHoursAccumulator;
+import ru.example.aggregation.FlightHoursSummary;
+import ru.example.aggregation.IncrementalFlightHours;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompiledDutyRegimeTest {
+
+    private static final LocalDateTime DECEMBER = LocalDateTime.of(2024, 12, 2, 6, 0);
+
+    @Test
+    void standard_ReportsRulesOfExceededPeriodsInDeclarationOrder() {
+        CompiledDutyRegime regime = DutyRegime.standard().compile();
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+        accumulator.addFlight(DECEMBER, DECEMBER.plusHours(9));
+
+        long[] violations = regime.evaluate(accumulator.summarize());
+
+        assertEquals(1, violations.length);
+        assertTrue(regime.violates(violations[0], DutyPeriod.DAY));
+        assertFalse(regime.violates(violations[0], DutyPeriod.WEEK));
+        assertEquals(List.of("DAY_8"), regime.ruleNames(violations[0]));
+        assertEquals(List.of(), regime.ruleNames(0));
+    }
+
+    @Test
+    void evaluate_SeveralLimitsPerPeriodAndYearToDate() {
+        CompiledDutyRegime regime = new DutyRegime("Тест", List.of(
+                new DutyRule("DAY_10", DutyPeriod.DAY, 10),
+                new DutyRule("DAY_6", DutyPeriod.DAY, 6),
+                new DutyRule("YEAR_20", DutyPeriod.YEAR, 20))).compile();
+        FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+        IncrementalFlightHours incremental = new IncrementalFlightHours();
+        // Декабрь: 7 + 7 часов, январь: 12 часов — годовой налет сбрасывается с началом года
+        addFlight(accumulator, incremental, DECEMBER, 7);
+        addFlight(accumulator, incremental, DECEMBER.plusDays(1), 7);
+        addFlight(accumulator, incremental, DECEMBER.plusMonths(1), 12);
+        addFlight(accumulator, incremental, DECEMBER.plusMonths(2), 5);
+        addFlight(accumulator, incremental, DECEMBER.plusMonths(2).plusDays(1), 4);
+
+        long[] violations = regime.evaluate(accumulator.summarize());
+
+        assertEquals(List.of("DAY_6"), regime.ruleNames(violations[0]));
+        assertEquals(List.of("DAY_10", "DAY_6"), regime.ruleNames(violations[1]));
+        assertEquals(List.of("YEAR_20"), regime.ruleNames(violations[2]));
+
+        int firstMonth = 2024 * 12 + 11;
+        assertArrayEquals(violations, new long[]{
+                regime.evaluate(incremental, firstMonth),
+                regime.evaluate(incremental, firstMonth + 1),
+                regime.evaluate(incremental, firstMonth + 2)});
+        assertEquals(2025 * 12 + 11, regime.lastDependentMonth(firstMonth + 1));
+    }
+
+    @Test
+    void evaluate_RollingWindows_MatchBruteForceAndIncremental() {
+        CompiledDutyRegime regime = new DutyRegime("Окна", List.of(
+                DutyRule.rolling("R7_20", 7, 20),
+                DutyRule.rolling("R7_30", 7, 30),
+                DutyRule.rolling("R28_60", 28, 60),
+                DutyRule.rolling("R365_300", 365, 300))).compile();
+        Random random = new Random(5);
+        for (int pilot = 0; pilot < 20; pilot++) {
+            FlightHoursAccumulator accumulator = new FlightHoursAccumulator();
+            IncrementalFlightHours incremental = new IncrementalFlightHours();
+            Map<Integer, Long> hoursByDay = new HashMap<>();
+            for (int flight = 0; flight < 60; flight++) {
+                LocalDateTime departure = DECEMBER.plusDays(random.nextInt(500)).plusMinutes(random.nextInt(24 * 60));
+                int hours = 1 + random.nextInt(12);
+                addFlight(accumulator, incremental, departure, hours);
+            }
+            FlightHoursSummary summary = accumulator.summarize();
+            for (int i = 0; i < summary.dayCount(); i++) {
+                hoursByDay.put(summary.day(i), summary.dayHours(i));
+            }
+
+            long[] violations = regime.evaluate(summary);
+            for (int m = 0; m < summary.monthCount(); m++) {
+                int month = summary.month(m);
+                List<String> expected = new ArrayList<>();
+                for (int[] rule : new int[][]{{7, 20}, {7, 30}, {28, 60}, {365, 300}}) {
+                    if (bruteForceMaxWindow(hoursByDay, month, rule[0]) > rule[1]) {
+                        expected.add("R" + rule[0] + "_" + rule[1]);
+                    }
+                }
+                assertEquals(expected, regime.ruleNames(violations[m]), "Месяц " + EpochDays.monthToLocalDate(month));
+                assertEquals(violations[m], regime.evaluate(incremental, month));
+                assertEquals(violations[m] != 0, regime.violates(violations[m], DutyPeriod.ROLLING));
+                assertEquals(expected.stream().anyMatch(rule -> rule.startsWith("R7_")),
+                        regime.exceedsLimit(violations[m], DutyPeriod.WEEK));
+                assertEquals(expected.contains("R28_60"), regime.exceedsLimit(violations[m], DutyPeriod.MONTH));
+                assertFalse(regime.exceedsLimit(violations[m], DutyPeriod.DAY));
+            }
+        }
+        assertEquals(EpochDays.monthIndex(EpochDays.firstDayOfMonth(2024 * 12 + 11) + 30 + 364),
+                regime.lastDependentMonth(2024 * 12 + 11));
+    }
+
+    @Test
+    void compile_InvalidRules_Throw() {
+        assertThrows(IllegalArgumentException.class, () -> new DutyRegime("Тест", List.of(
+                new DutyRule("A", DutyPeriod.DAY, 1), new DutyRule("A", DutyPeriod.WEEK, 2))).compile());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DutyRegime("Тест", List.of(new DutyRule("A", null, 1))).compile());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DutyRegime("Тест", List.of(new DutyRule(" ", DutyPeriod.DAY, 1))).compile());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DutyRegime("Тест", List.of(new DutyRule("A", DutyPeriod.DAY, -1))).compile());
+        assertThrows(IllegalArgumentException.class,
+                () -> new DutyRegime("Тест", List.of(DutyRule.rolling("A", 0, 10))).compile());
+    }
+
+    private static long bruteForceMaxWindow(Map<Integer, Long> hoursByDay, int month, int days) {
+        long max = 0;
+        for (int end = EpochDays.firstDayOfMonth(month); end <= EpochDays.lastDayOfMonth(month); end++) {
+            long sum = 0;
+            for (int day = end - days + 1; day <= end; day++) {
+                sum += hoursByDay.getOrDefault(day, 0L);
+            }
+            max = Math.max(max, sum);
+        }
+        return max;
+    }
+
+    private static void addFlight(FlightHoursAccumulator accumulator, IncrementalFlightHours incremental,
+                                  LocalDateTime departure, int hours) {
+        accumulator.addFlight(departure, departure.plusHours(hours));
+        incremental.addFlight(departure.toEpochSecond(ZoneOffset.UTC), departure.plusHours(hours).toEpochSecond(ZoneOffset.UTC));
+    }
+}
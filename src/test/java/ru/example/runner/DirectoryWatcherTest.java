@@ -0,0 +1,61 @@
+package ru.example.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class DirectoryWatcherTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void outputOf_InputFile_ResultNextToInput() {
+        assertEquals(tempDir.resolve("base-1.out.json"), DirectoryWatcher.outputOf(tempDir.resolve("base-1.json")));
+        assertTrue(DirectoryWatcher.isInput(tempDir.resolve("base-1.json")));
+        assertFalse(DirectoryWatcher.isInput(tempDir.resolve("base-1.out.json")));
+        assertFalse(DirectoryWatcher.isInput(tempDir.resolve(".base-1.json")));
+        assertFalse(DirectoryWatcher.isInput(tempDir.resolve("base-1.csv")));
+    }
+
+    @Test
+    void run_ExistingAndNewFiles_ProcessedOnceEach() throws Exception {
+        Files.writeString(tempDir.resolve("pending.json"), "{}");
+        Files.writeString(tempDir.resolve("done.json"), "{}");
+        Files.writeString(tempDir.resolve("done.out.json"), "{}");
+
+        BlockingQueue<Path> processed = new LinkedBlockingQueue<>();
+        DirectoryWatcher watcher = new DirectoryWatcher(tempDir, (input, output) -> {
+            Files.writeString(output, "{}");
+            processed.add(input.getFileName());
+        }, 50);
+        Thread thread = Thread.ofVirtual().start(() -> {
+            try {
+                watcher.run();
+            } catch (Exception e) {
+                throw new IllegalStateException(e);
+            }
+        });
+
+        assertEquals(Path.of("pending.json"), processed.poll(10, TimeUnit.SECONDS));
+        Files.writeString(tempDir.resolve("arrived.json"), "{}");
+        assertEquals(Path.of("arrived.json"), processed.poll(30, TimeUnit.SECONDS));
+        assertTrue(Files.exists(tempDir.resolve("arrived.out.json")));
+        // Результаты обработки и уже обработанные файлы повторно не обрабатываются
+        assertNull(processed.poll(500, TimeUnit.MILLISECONDS));
+
+        watcher.close();
+        thread.join(TimeUnit.SECONDS.toMillis(10));
+        assertFalse(thread.isAlive());
+    }
+}
@@ -0,0 +1,95 @@
+package ru.example.runner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.service.ConsoleRejectionSink;
+import ru.example.service.PilotFlightServiceImpl;
+import ru.example.validator.ValidationRule;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class InputShardsTest {
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void resolve_DirectoryAndGlob_ReturnSortedJsonFiles() throws IOException {
+        Files.writeString(tempDir.resolve("b.json"), "{}");
+        Files.writeString(tempDir.resolve("a.json"), "{}");
+        Files.writeString(tempDir.resolve("notes.txt"), "");
+
+        assertEquals(List.of(tempDir.resolve("a.json"), tempDir.resolve("b.json")),
+                InputShards.resolve(tempDir.toString()));
+        assertEquals(List.of(tempDir.resolve("b.json")),
+                InputShards.resolve(tempDir.resolve("b*.json").toString()));
+        assertThrows(IOException.class, () -> InputShards.resolve(tempDir.resolve("c*.json").toString()));
+    }
+
+    @Test
+    void merge_PilotInSeveralShards_TotalsCoverAllShardsAndOwnerIsFirstShard() {
+        Flight january = flight(1L, LocalDateTime.of(2025, 1, 10, 8, 0), 5, 1L, 2L);
+        Flight januaryAgain = flight(2L, LocalDateTime.of(2025, 1, 20, 8, 0), 4, 1L);
+        InputPilotsAndFlights first = new InputPilotsAndFlights(
+                new LinkedHashSet<>(List.of(new Pilot(1L, "Иван Иванов", null))),
+                new LinkedHashSet<>(List.of(january)));
+        InputPilotsAndFlights second = new InputPilotsAndFlights(
+                new LinkedHashSet<>(List.of(new Pilot(2L, "Петр Петров", null), new Pilot(1L, "Иван Иванов", null))),
+                new LinkedHashSet<>(List.of(january, januaryAgain)));
+
+        InputShards.Merged merged = InputShards.merge(List.of(first, second));
+
+        assertEquals(2, merged.input().getPilots().size());
+        assertEquals(Set.of(january, januaryAgain), merged.input().getFlights());
+        assertEquals(0, merged.shardByPilot().get(1L));
+        assertEquals(1, merged.shardByPilot().get(2L));
+
+        OutputPilotsAndFlights output = new PilotFlightServiceImpl().process(merged.input());
+        List<OutputPilotsAndFlights> partitions = InputShards.partition(output, merged.shardByPilot(), 2);
+
+        Pilot ivan = partitions.get(0).getSpecialists().get(0);
+        assertEquals(1L, ivan.getIdPilot());
+        assertEquals(9L, ivan.getTimeMonthList().get(0).getTotalFlightHours());
+        assertEquals(List.of(2L), partitions.get(1).getSpecialists().stream().map(Pilot::getIdPilot).toList());
+    }
+
+    @Test
+    void merge_PilotWithoutId_RejectedByValidationAndNotPartitioned() {
+        Flight flight = flight(1L, LocalDateTime.of(2025, 1, 10, 8, 0), 5, 1L);
+        InputPilotsAndFlights first = new InputPilotsAndFlights(
+                new LinkedHashSet<>(List.of(new Pilot(1L, "Иван Иванов", null))),
+                new LinkedHashSet<>(List.of(flight)));
+        InputPilotsAndFlights second = new InputPilotsAndFlights(
+                new LinkedHashSet<>(List.of(new Pilot(null, "Без идентификатора", null))),
+                new LinkedHashSet<>());
+        ConsoleRejectionSink rejections = new ConsoleRejectionSink();
+
+        InputShards.Merged merged = InputShards.merge(List.of(first, second));
+
+        assertEquals(2, merged.input().getPilots().size());
+        OutputPilotsAndFlights output = new PilotFlightServiceImpl(null, rejections)
+                .process(merged.input());
+        assertEquals(1L, rejections.count(ValidationRule.PILOT_ID_NULL));
+        List<OutputPilotsAndFlights> partitions = InputShards.partition(output, merged.shardByPilot(), 2);
+        assertEquals(List.of(1L), partitions.get(0).getSpecialists().stream().map(Pilot::getIdPilot).toList());
+        assertEquals(List.of(), partitions.get(1).getSpecialists());
+    }
+
+    private static Flight flight(Long id, LocalDateTime departure, int hours, Long... crew) {
+        return new Flight(id, "Boeing 737", "RA-73001", departure, departure.plusHours(hours),
+                "SVO", "LED", List.of(crew));
+    }
+}
@@ -0,0 +1,190 @@
+package ru.example.service;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.config.ObjectMapperConfig;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.model.TimeMonth;
+import ru.example.validator.ValidationRule;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DataPersistenceServiceImplTest {
+
+    private final DataPersistenceServiceImpl service =
+            new DataPersistenceServiceImpl(ObjectMapperConfig.createConfigObjectMapperTime());
+
+    @TempDir
+    Path tempDir;
+
+    @Test
+    void readPilotsAndFlights_PilotsBeforeFlights_PilotsDeliveredFirst() throws IOException {
+        File file = write("""
+                {
+                  "pilots": [ { "idPilot": 1, "fullName": "Иван Смирнов" } ],
+                  "flights": [
+                    { "id": 1, "aircraftType": "Boeing 737", "aircraftNumber": "B737-800",
+                      "departureTime": "2025-01-30T01:00:00", "arrivalTime": "2025-02-01T13:00:00",
+                      "departureAirport": "JFK", "arrivalAirport": "LAX", "idPilots": [1, 2] },
+                    { "id": 2, "aircraftType": "Airbus A320", "aircraftNumber": "A320-200",
+                      "departureTime": "2024-11-01T10:00:00", "arrivalTime": "2024-11-01T18:00:00",
+                      "departureAirport": "SVO", "arrivalAirport": "LED", "idPilots": [1] }
+                  ]
+                }
+                """);
+        RecordingHandler handler = new RecordingHandler();
+
+        service.readPilotsAndFlights(file, handler);
+
+        assertEquals(List.of("pilots:1", "flight:1", "flight:2"), handler.events);
+        assertEquals(LocalDateTime.of(2025, 2, 1, 13, 0), handler.flights.getFirst().getArrivalTime());
+        assertEquals(List.of(1L, 2L), handler.flights.getFirst().getIdPilots());
+    }
+
+    @Test
+    void readPilotsAndFlights_FlightsBeforePilots_FlightsBufferedUntilPilots() throws IOException {
+        File file = write("""
+                {
+                  "flights": [ { "id": 7, "idPilots": [1] } ],
+                  "comment": { "ignored": [1, 2, 3] },
+                  "pilots": [ { "idPilot": 1, "fullName": "Иван Смирнов" } ]
+                }
+                """);
+        RecordingHandler handler = new RecordingHandler();
+
+        service.readPilotsAndFlights(file, handler);
+
+        assertEquals(List.of("pilots:1", "flight:7"), handler.events);
+    }
+
+    @Test
+    void readPilotsAndFlights_NotAnObject_ThrowsException() throws IOException {
+        File file = write("[]");
+        assertThrows(IOException.class, () -> service.readPilotsAndFlights(file, new RecordingHandler()));
+    }
+
+    @Test
+    void openSpecialistWriter_Indented_SameAsWriteFile() throws IOException {
+        assertStreamedOutputMatches(service);
+    }
+
+    @Test
+    void openSpecialistWriter_Compact_SameAsWriteFileWithoutIndent() throws IOException {
+        DataPersistenceServiceImpl compactService =
+                new DataPersistenceServiceImpl(ObjectMapperConfig.createConfigObjectMapperTime(false));
+        String streamed = assertStreamedOutputMatches(compactService);
+        assertFalse(streamed.contains("\n"));
+    }
+
+    @Test
+    void openSpecialistWriter_ClosedWithoutCommit_PreviousOutputKept() throws IOException {
+        File output = write("{\"specialists\":[{\"idPilot\":1}]}");
+        String previous = Files.readString(output.toPath());
+
+        try (SpecialistWriter writer = service.openSpecialistWriter(output)) {
+            writer.write(new Pilot(2L, "Антон Галкин", List.of()));
+        }
+
+        assertEquals(previous, Files.readString(output.toPath()));
+        try (Stream<Path> files = Files.list(tempDir)) {
+            assertEquals(List.of(output.toPath()), files.toList());
+        }
+    }
+
+    private String assertStreamedOutputMatches(DataPersistenceServiceImpl persistenceService) throws IOException {
+        TimeMonth timeMonth = new TimeMonth();
+        timeMonth.setDate(LocalDate.of(2024, 11, 1));
+        timeMonth.setTotalFlightHours(12L);
+        timeMonth.setTotalFlightsInMonth(1L);
+        timeMonth.setExceedsDailyLimit(true);
+        List<Pilot> pilots = List.of(
+                new Pilot(1L, "Иван Смирнов", List.of(timeMonth)),
+                new Pilot(2L, "Антон Галкин", List.of(timeMonth)));
+
+        File expected = tempDir.resolve("expected.json").toFile();
+        persistenceService.writeFile(expected, new OutputPilotsAndFlights(pilots));
+
+        File actual = tempDir.resolve("actual.json").toFile();
+        try (SpecialistWriter writer = persistenceService.openSpecialistWriter(actual)) {
+            for (Pilot pilot : pilots) {
+                writer.write(pilot);
+            }
+            writer.commit();
+        }
+
+        String streamed = Files.readString(actual.toPath());
+        assertEquals(Files.readString(expected.toPath()), streamed);
+        return streamed;
+    }
+
+    @Test
+    void openRejectionSink_JsonLines_StreamsCappedDetailsAndCountsAll() throws IOException {
+        File file = tempDir.resolve("rejections.jsonl").toFile();
+
+        AbstractRejectionSink sink = service.openRejectionSink(file, 2);
+        try (sink) {
+            sink.reject(RejectedEntity.FLIGHT, 5L, ValidationRule.CREW_EMPTY);
+            sink.reject(RejectedEntity.PILOT, null, ValidationRule.PILOT_ID_NULL);
+            sink.reject(RejectedEntity.FLIGHT, 6L, ValidationRule.CREW_EMPTY);
+        }
+
+        assertEquals(List.of(
+                "{\"entity\":\"FLIGHT\",\"id\":5,\"rule\":\"CREW_EMPTY\",\"message\":\"Список пилотов не должен быть пустым.\"}",
+                "{\"entity\":\"PILOT\",\"id\":null,\"rule\":\"PILOT_ID_NULL\",\"message\":\"Идентификатор пилота не может быть null.\"}"),
+                Files.readAllLines(file.toPath()));
+        assertEquals(Map.of(ValidationRule.CREW_EMPTY, 2L, ValidationRule.PILOT_ID_NULL, 1L), sink.counts());
+        assertEquals(2, sink.details());
+    }
+
+    @Test
+    void openRejectionSink_Csv_WritesHeaderAndRows() throws IOException {
+        File file = tempDir.resolve("rejections.csv").toFile();
+
+        try (RejectionSink sink = service.openRejectionSink(file, 10)) {
+            sink.reject(RejectedEntity.FLIGHT, 5L, ValidationRule.FLIGHT_TIME_NULL);
+            sink.reject(RejectedEntity.PILOT, null, ValidationRule.FULL_NAME_BLANK);
+        }
+
+        assertEquals(List.of(
+                "entity,id,rule,message",
+                "FLIGHT,5,FLIGHT_TIME_NULL,\"Время отправления / время прибытия не должны быть null.\"",
+                "PILOT,,FULL_NAME_BLANK,\"Полное имя не может быть пустым.\""),
+                Files.readAllLines(file.toPath()));
+    }
+
+    private File write(String json) throws IOException {
+        Path path = tempDir.resolve("input.json");
+        Files.writeString(path, json);
+        return path.toFile();
+    }
+
+    private static class RecordingHandler implements PilotFlightHandler {
+        private final List<String> events = new ArrayList<>();
+        private final List<Flight> flights = new ArrayList<>();
+
+        @Override
+        public void onPilots(Collection<Pilot> pilots) {
+            events.add("pilots:" + pilots.size());
+        }
+
+        @Override
+        public void onFlight(Flight flight) {
+            events.add("flight:" + flight.getId());
+            flights.add(flight);
+        }
+    }
+}
@@ -0,0 +1,159 @@
+package ru.example.service;
+
+import org.junit.jupiter.api.Test;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.dto.InputPilotsAndFlights;
+import ru.example.dto.OutputPilotsAndFlights;
+import ru.example.model.Flight;
+import ru.example.model.Pilot;
+import ru.example.model.TimeMonth;
+import ru.example.rules.CompiledDutyRegime;
+import ru.example.rules.DutyPeriod;
+import ru.example.rules.DutyRegime;
+import ru.example.rules.DutyRule;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IncrementalFlightTimeServiceImplTest {
+
+    /**
+     * Стандартный режим с дополнительными месячным, годовым правилами и скользящим окном: годовой лимит и окно
+     * делают месяцы зависимыми от предыдущих месяцев.
+     */
+    private static final CompiledDutyRegime REGIME = regime();
+
+    private final IncrementalFlightTimeServiceImpl service = new IncrementalFlightTimeServiceImpl((entity, id, rule) -> {
+    }, REGIME);
+
+    @Test
+    void addAndRemoveFlight_MonthAppearsAndDisappears() {
+        service.addPilot(new Pilot(1L, "Иван Иванов", null));
+        Flight flight = flight(1L, LocalDateTime.of(2025, 1, 31, 20, 0), 10 * 60, List.of(1L));
+
+        assertTrue(service.addFlight(flight));
+        List<TimeMonth> months = service.timeMonths(1L);
+        assertEquals(2, months.size());
+        assertEquals(4L, months.get(0).getTotalFlightHours());
+        assertEquals(1L, months.get(0).getTotalFlightsInMonth());
+        assertEquals(6L, months.get(1).getTotalFlightHours());
+        assertEquals(0L, months.get(1).getTotalFlightsInMonth());
+
+        assertTrue(service.removeFlight(1L));
+        assertTrue(service.timeMonths(1L).isEmpty());
+        assertTrue(service.snapshot().getSpecialists().isEmpty());
+        assertFalse(service.removeFlight(1L));
+    }
+
+    @Test
+    void addFlight_DuplicateId_Throws() {
+        Flight flight = flight(1L, LocalDateTime.of(2025, 1, 10, 10, 0), 60, List.of(1L));
+        service.addFlight(flight);
+        assertThrows(IllegalArgumentException.class, () -> service.addFlight(flight));
+        assertThrows(IllegalArgumentException.class,
+                () -> service.updateFlight(flight(2L, LocalDateTime.of(2025, 1, 10, 10, 0), 60, List.of(1L))));
+    }
+
+    @Test
+    void updateFlight_InvalidVersion_KeepsPreviousFlight() {
+        service.addPilot(new Pilot(1L, "Иван Иванов", null));
+        service.addFlight(flight(1L, LocalDateTime.of(2025, 1, 10, 10, 0), 120, List.of(1L)));
+
+        assertFalse(service.updateFlight(flight(1L, LocalDateTime.of(2025, 1, 10, 10, 0), 120, List.of())));
+        assertEquals(2L, service.timeMonths(1L).getFirst().getTotalFlightHours());
+    }
+
+    @Test
+    void randomChanges_SnapshotMatchesFullRecalculation() {
+        assertRandomChangesMatchFullRecalculation(service, REGIME);
+    }
+
+    @Test
+    void randomChanges_MinutePrecision_SnapshotMatchesFullRecalculation() {
+        CompiledDutyRegime regime = DutyRegime.rolling().compile(FlightTimePrecision.MINUTES);
+        assertRandomChangesMatchFullRecalculation(new IncrementalFlightTimeServiceImpl((entity, id, rule) -> {
+        }, regime), regime);
+    }
+
+    private static void assertRandomChangesMatchFullRecalculation(IncrementalFlightTimeServiceImpl service,
+                                                                  CompiledDutyRegime regime) {
+        Random random = new Random(3);
+        Set<Pilot> pilots = new HashSet<>();
+        for (long id = 1; id <= 8; id++) {
+            Pilot pilot = new Pilot(id, "Пилот Номер", null);
+            pilots.add(pilot);
+            service.addPilot(pilot);
+        }
+        Map<Long, Flight> flights = new LinkedHashMap<>();
+
+        for (int step = 0; step < 2_000; step++) {
+            long id = 1 + random.nextInt(60);
+            int operation = random.nextInt(3);
+            if (operation == 0 && flights.containsKey(id)) {
+                service.removeFlight(id);
+                flights.remove(id);
+            } else {
+                Flight flight = randomFlight(random, id);
+                if (flights.containsKey(id)) {
+                    service.updateFlight(flight);
+                } else {
+                    service.addFlight(flight);
+                }
+                flights.put(id, flight);
+            }
+
+            if (step % 50 == 0) {
+                assertSameResult(service, regime, pilots, flights.values());
+            }
+        }
+        assertSameResult(service, regime, pilots, flights.values());
+    }
+
+    private static void assertSameResult(IncrementalFlightTimeServiceImpl service, CompiledDutyRegime regime,
+                                         Set<Pilot> pilots, Collection<Flight> flights) {
+        Set<Pilot> batchPilots = new HashSet<>();
+        pilots.forEach(pilot -> batchPilots.add(new Pilot(pilot.getIdPilot(), pilot.getFullName(), null)));
+        OutputPilotsAndFlights expected = new PilotFlightServiceImpl(null, (entity, id, rule) -> {
+        }, regime).process(new InputPilotsAndFlights(batchPilots, new HashSet<>(flights)));
+
+        OutputPilotsAndFlights actual = service.snapshot();
+        assertEquals(expected.getSpecialists().size(), actual.getSpecialists().size());
+        for (int i = 0; i < expected.getSpecialists().size(); i++) {
+            assertEquals(expected.getSpecialists().get(i).getIdPilot(), actual.getSpecialists().get(i).getIdPilot());
+            assertEquals(expected.getSpecialists().get(i).getTimeMonthList(), actual.getSpecialists().get(i).getTimeMonthList());
+        }
+    }
+
+    private static CompiledDutyRegime regime() {
+        DutyRegime regime = DutyRegime.standard();
+        regime.getRules().add(new DutyRule("MONTH_40", DutyPeriod.MONTH, 40));
+        regime.getRules().add(new DutyRule("YEAR_150", DutyPeriod.YEAR, 150));
+        regime.getRules().add(DutyRule.rolling("ROLLING_45D_60", 45, 60));
+        return regime.compile();
+    }
+
+    private static Flight randomFlight(Random random, long id) {
+        LocalDateTime departure = LocalDateTime.of(2024, 11, 15, 0, 0).plusMinutes(random.nextInt(120 * 24 * 60));
+        int minutes = random.nextInt(10) == 0 ? 24 * 60 + random.nextInt(48 * 60) : 20 + random.nextInt(12 * 60);
+        List<Long> crew = new ArrayList<>();
+        crew.add(1L + random.nextInt(10));
+        crew.add(1L + random.nextInt(10));
+        return flight(id, departure, minutes, crew);
+    }
+
+    private static Flight flight(long id, LocalDateTime departure, int minutes, List<Long> crew) {
+        return new Flight(id, "Boeing 737", "ABC123", departure, departure.plusMinutes(minutes), "SVO", "LED", crew);
+    }
+}
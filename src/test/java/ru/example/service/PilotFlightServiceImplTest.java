@@ -2,16 +2,42 @@ package ru.example.service;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import ru.example.aggregation.FlightTimePrecision;
+import ru.example.config.ObjectMapperConfig;
 import ru.example.model.Flight;
 import ru.example.dto.InputPilotsAndFlights;
 import ru.example.dto.OutputPilotsAndFlights;
 import ru.example.model.Pilot;
-
+import ru.example.model.TimeMonth;
+import ru.example.rules.DutyRegime;
+import ru.example.validator.ValidationRule;
+import ru.example.zone.AirportZones;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -89,6 +115,25 @@ class PilotFlightServiceImplTest {
         assertTrue(outSpecialist.getFirst().getTimeMonthList().getFirst().isExceedsMonthlyLimit());
     }
 
+    @Test
+    void process_RollingWindowsRegime_RollingRulesSetLimitFlags() {
+        Pilot pilot = new Pilot(1L, "Иван Иванов", null);
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2025, 2, 4, 12, 0),
+                LocalDateTime.of(2025, 2, 15, 12, 0),
+                "SVO", "LED", List.of(1L));
+        PilotFlightServiceImpl rollingService = new PilotFlightServiceImpl(null, new ConsoleRejectionSink(),
+                DutyRegime.rolling().compile());
+
+        TimeMonth month = rollingService.process(new InputPilotsAndFlights(Set.of(pilot), Set.of(flight)))
+                .getSpecialists().getFirst().getTimeMonthList().getFirst();
+
+        assertEquals(List.of("ROLLING_7D_36", "ROLLING_28D_80", "DAY_8"), month.getViolatedRules());
+        assertTrue(month.isExceedsDailyLimit());
+        assertTrue(month.isExceedsWeeklyLimit());
+        assertTrue(month.isExceedsMonthlyLimit());
+    }
+
     @Test
     void process_FlightsSpanningMonthBoundary_WeeklyLimitFlagCorrectlySet() {
         Pilot invalidPilot = new Pilot(1L, "Иван Иванов", null);
@@ -155,4 +200,328 @@ class PilotFlightServiceImplTest {
 
         assertEquals(3, outSpecialist.getFirst().getTimeMonthList().getFirst().getTotalFlightsInMonth());
     }
-}
\ No newline at end of file
+
+    @Test
+    void processStream_SameFlights_MatchesBatchResult() throws Exception {
+        Pilot pilot = new Pilot(1L, "Иван Иванов", null);
+        Flight flight1 = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2025, 1, 30, 1, 0),
+                LocalDateTime.of(2025, 2, 1, 12, 0),
+                "SVO", "LED", List.of(1L));
+        Flight flight2 = new Flight(2L, "Boeing 312", "ABC323",
+                LocalDateTime.of(2025, 2, 10, 10, 0),
+                LocalDateTime.of(2025, 2, 10, 20, 0),
+                "SVO", "LED", List.of(1L, 2L));
+
+        OutputPilotsAndFlights batch = new PilotFlightServiceImpl()
+                .process(new InputPilotsAndFlights(Set.of(pilot), Set.of(flight1, flight2)));
+
+        Pilot streamedPilot = new Pilot(1L, "Иван Иванов", null);
+        OutputPilotsAndFlights streamed = service.process(handler -> {
+            handler.onPilots(List.of(streamedPilot));
+            handler.onFlight(flight1);
+            handler.onFlight(flight2);
+        });
+
+        assertEquals(1, streamed.getSpecialists().size());
+        assertEquals(batch.getSpecialists().getFirst().getTimeMonthList(),
+                streamed.getSpecialists().getFirst().getTimeMonthList());
+    }
+
+    @Test
+    void processStream_DuplicateFlightIds_MatchesBatchResult(@TempDir Path tempDir) throws Exception {
+        // Повтор рейса 1 длиннее первого: учтен может быть только первый, как при чтении документа целиком
+        File file = tempDir.resolve("duplicates.json").toFile();
+        Files.writeString(file.toPath(), """
+                {
+                  "pilots": [ { "idPilot": 1, "fullName": "Иван Иванов" } ],
+                  "flights": [
+                    { "id": 1, "aircraftType": "Boeing 737", "aircraftNumber": "B737-800",
+                      "departureTime": "2025-01-10T08:00:00", "arrivalTime": "2025-01-10T13:00:00",
+                      "departureAirport": "SVO", "arrivalAirport": "LED", "idPilots": [1] },
+                    { "id": 2, "aircraftType": "Boeing 737", "aircraftNumber": "B737-800",
+                      "departureTime": "2025-01-11T08:00:00", "arrivalTime": "2025-01-11T10:00:00",
+                      "departureAirport": "LED", "arrivalAirport": "SVO", "idPilots": [1] },
+                    { "id": 1, "aircraftType": "Boeing 737", "aircraftNumber": "B737-800",
+                      "departureTime": "2025-01-12T08:00:00", "arrivalTime": "2025-01-12T18:00:00",
+                      "departureAirport": "SVO", "arrivalAirport": "LED", "idPilots": [1] }
+                  ]
+                }
+                """);
+        DataPersistenceService persistence = new DataPersistenceServiceImpl(ObjectMapperConfig.createConfigObjectMapperTime());
+        ConsoleRejectionSink rejections = new ConsoleRejectionSink();
+        PilotFlightServiceImpl streamingService = new PilotFlightServiceImpl(null, rejections);
+
+        OutputPilotsAndFlights batch = service.process(persistence.readFile(file, InputPilotsAndFlights.class));
+        OutputPilotsAndFlights streamed = streamingService.process(handler -> persistence.readPilotsAndFlights(file, handler));
+
+        assertEquals(batch.getSpecialists(), streamed.getSpecialists());
+        TimeMonth january = streamed.getSpecialists().getFirst().getTimeMonthList().getFirst();
+        assertEquals(7L, january.getTotalFlightHours());
+        assertEquals(2L, january.getTotalFlightsInMonth());
+        assertFalse(january.isExceedsDailyLimit());
+        assertEquals(1L, rejections.count(ValidationRule.FLIGHT_ID_DUPLICATE));
+    }
+
+    @Test
+    void process_SameMonthInDifferentYears_LimitsEvaluatedPerYear() {
+        Pilot pilot = new Pilot(1L, "Иван Иванов", null);
+        Flight longFlight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2024, 11, 5, 8, 0),
+                LocalDateTime.of(2024, 11, 5, 20, 0),
+                "SVO", "LED", List.of(1L));
+        Flight shortFlight = new Flight(2L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2025, 11, 5, 8, 0),
+                LocalDateTime.of(2025, 11, 5, 10, 0),
+                "SVO", "LED", List.of(1L));
+
+        OutputPilotsAndFlights output = service.process(
+                new InputPilotsAndFlights(Set.of(pilot), Set.of(longFlight, shortFlight)));
+        List<TimeMonth> timeMonths = output.getSpecialists().getFirst().getTimeMonthList();
+
+        assertEquals(2, timeMonths.size());
+        assertEquals(LocalDate.of(2024, 11, 1), timeMonths.get(0).getDate());
+        assertTrue(timeMonths.get(0).isExceedsDailyLimit());
+        assertFalse(timeMonths.get(1).isExceedsDailyLimit());
+    }
+
+    @Test
+    void process_ParallelPool_SameResultOrderedByPilotId() {
+        Set<Pilot> pilots = new HashSet<>();
+        Set<Flight> flights = new HashSet<>();
+        for (long id = 1; id <= 3000; id++) {
+            pilots.add(new Pilot(id, "Пилот Номер", null));
+            flights.add(new Flight(id, "Boeing 737", "ABC123",
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(id),
+                    LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id),
+                    "SVO", "LED", List.of(id, id % 7 + 1)));
+        }
+        InputPilotsAndFlights input = new InputPilotsAndFlights(pilots, flights);
+
+        List<Pilot> sequential = service.process(input).getSpecialists();
+        List<List<TimeMonth>> expected = sequential.stream().map(Pilot::getTimeMonthList).toList();
+
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            List<Pilot> parallel = new PilotFlightServiceImpl(pool).process(input).getSpecialists();
+
+            assertEquals(3000, parallel.size());
+            assertEquals(sequential.stream().map(Pilot::getIdPilot).sorted().toList(),
+                    parallel.stream().map(Pilot::getIdPilot).toList());
+            assertEquals(expected, parallel.stream().map(Pilot::getTimeMonthList).toList());
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    void processPipelined_ManyBatchesWithDuplicateIds_MatchesBatchResult() throws Exception {
+        List<Pilot> pilots = new ArrayList<>();
+        List<Flight> flights = new ArrayList<>();
+        for (long id = 1; id <= 3000; id++) {
+            pilots.add(new Pilot(id, "Пилот Номер", null));
+            flights.add(new Flight(id, "Boeing 737", "ABC123",
+                    LocalDateTime.of(2025, 1, 1, 0, 0).plusHours(id),
+                    LocalDateTime.of(2025, 1, 1, 9, 0).plusHours(id),
+                    "SVO", "LED", List.of(id, id % 7 + 1)));
+        }
+        // Невалидный рейс отбрасывается на этапе валидации
+        flights.add(new Flight(3001L, "Boeing 737", "ABC123", LocalDateTime.of(2025, 1, 2, 10, 0),
+                LocalDateTime.of(2025, 1, 2, 8, 0), "SVO", "LED", List.of(1L)));
+        // Повтор идентификатора в другой порции: как и в множестве рейсов документа, учитывается первый рейс
+        flights.add(new Flight(5L, "Boeing 737", "ABC123", LocalDateTime.of(2025, 3, 1, 0, 0),
+                LocalDateTime.of(2025, 3, 1, 20, 0), "SVO", "LED", List.of(5L, 6L)));
+        List<Pilot> expected = service.process(
+                new InputPilotsAndFlights(new HashSet<>(pilots), new HashSet<>(flights))).getSpecialists();
+
+        List<Pilot> written = new ArrayList<>();
+        service.processPipelined(handler -> {
+            handler.onPilots(pilots.stream().map(p -> new Pilot(p.getIdPilot(), p.getFullName(), null)).toList());
+            flights.forEach(handler::onFlight);
+        }, written::add);
+
+        assertEquals(expected.stream().map(Pilot::getIdPilot).toList(), written.stream().map(Pilot::getIdPilot).toList());
+        assertEquals(expected.stream().map(Pilot::getTimeMonthList).toList(),
+                written.stream().map(Pilot::getTimeMonthList).toList());
+    }
+
+    @Test
+    void processPipelined_ReaderFails_ErrorPropagatedAndStagesStopped() {
+        Pilot pilot = new Pilot(1L, "Иван Иванов", null);
+        IOException failure = new IOException("Обрыв входного файла");
+        List<Pilot> written = new ArrayList<>();
+
+        IOException thrown = assertThrows(IOException.class, () -> service.processPipelined(handler -> {
+            handler.onPilots(List.of(pilot));
+            for (long id = 1; id <= 5000; id++) {
+                handler.onFlight(new Flight(id, "Boeing 737", "ABC123", LocalDateTime.of(2025, 1, 1, 8, 0),
+                        LocalDateTime.of(2025, 1, 1, 9, 0), "SVO", "LED", List.of(1L)));
+            }
+            throw failure;
+        }, written::add));
+
+        assertSame(failure, thrown);
+        assertTrue(written.isEmpty());
+    }
+
+    @Test
+    void process_SameInstanceCalledTwice_ResultsDoNotMix() {
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                LocalDateTime.of(2023, 10, 1, 12, 0),
+                "SVO", "LED", List.of(1L));
+
+        service.process(new InputPilotsAndFlights(Set.of(new Pilot(1L, "Иван Иванов", null)), Set.of(flight)));
+        OutputPilotsAndFlights second = service.process(
+                new InputPilotsAndFlights(Set.of(new Pilot(1L, "Иван Иванов", null)), Set.of(flight)));
+
+        assertEquals(1, second.getSpecialists().size());
+        assertEquals(2, second.getSpecialists().getFirst().getTimeMonthList().getFirst().getTotalFlightHours());
+        assertEquals(1, second.getSpecialists().getFirst().getTimeMonthList().getFirst().getTotalFlightsInMonth());
+    }
+
+    @Test
+    void process_ConcurrentCallsOnSameInstance_EachCallGetsOwnResult() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        try {
+            List<Future<OutputPilotsAndFlights>> futures = new ArrayList<>();
+            for (long job = 1; job <= 32; job++) {
+                long hours = job % 10 + 1;
+                futures.add(executor.submit(() -> service.process(new InputPilotsAndFlights(
+                        Set.of(new Pilot(1L, "Иван Иванов", null)),
+                        Set.of(new Flight(1L, "Boeing 737", "ABC123",
+                                LocalDateTime.of(2023, 10, 1, 0, 0),
+                                LocalDateTime.of(2023, 10, 1, 0, 0).plusHours(hours),
+                                "SVO", "LED", List.of(1L)))))));
+            }
+            for (int job = 1; job <= 32; job++) {
+                OutputPilotsAndFlights output = futures.get(job - 1).get();
+                assertEquals(job % 10 + 1,
+                        output.getSpecialists().getFirst().getTimeMonthList().getFirst().getTotalFlightHours());
+            }
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void process_InvalidRecords_EachViolationPassedToRejectionSink() {
+        List<String> rejections = new ArrayList<>();
+        PilotFlightServiceImpl rejectingService = new PilotFlightServiceImpl(null,
+                (entity, id, rule) -> rejections.add(entity + ":" + id + ":" + rule));
+        Pilot pilot = new Pilot(1L, "Иван", null);
+        Flight flight = new Flight(2L, "Boeing 737", "",
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                "SVO", "LED", List.of(1L));
+
+        OutputPilotsAndFlights output = rejectingService.process(new InputPilotsAndFlights(Set.of(pilot), Set.of(flight)));
+
+        assertTrue(output.getSpecialists().isEmpty());
+        assertEquals(List.of("PILOT:1:FULL_NAME_SINGLE_WORD", "FLIGHT:2:AIRCRAFT_NUMBER_EMPTY", "FLIGHT:2:ZERO_DURATION"),
+                rejections);
+    }
+
+    @Test
+    void process_DefaultRejectionSinkCalledTwice_EachCallReportsOwnViolations() {
+        ByteArrayOutputStream err = new ByteArrayOutputStream();
+        PrintStream originalErr = System.err;
+        System.setErr(new PrintStream(err, true, StandardCharsets.UTF_8));
+        try {
+            InputPilotsAndFlights input = new InputPilotsAndFlights(Set.of(new Pilot(1L, "Иван", null)), Set.of());
+            service.process(input);
+            service.process(input);
+        } finally {
+            System.setErr(originalErr);
+        }
+
+        String report = err.toString(StandardCharsets.UTF_8);
+        assertEquals(2, report.split("Обнаружены ошибки валидации:", -1).length - 1);
+        assertEquals(2, report.split("Ошибка валидации ID пилота 1:", -1).length - 1);
+    }
+
+    @Test
+    void process_MinutePrecision_KeepsPartialHoursAcrossDays() {
+        Pilot pilot = new Pilot(1L, "Иван Иванов", null);
+        LocalDateTime departure = LocalDateTime.of(2025, 1, 31, 23, 30);
+        Set<Flight> flights = Set.of(
+                // 30 минут 31 января и 8 часов 40 минут 1 февраля
+                new Flight(1L, "Boeing 737", "ABC123", departure, departure.plusMinutes(550), "SVO", "LED", List.of(1L)),
+                new Flight(2L, "Boeing 737", "ABC123", departure.minusHours(2), departure.minusHours(1).minusMinutes(15),
+                        "LED", "SVO", List.of(1L)));
+        InputPilotsAndFlights input = new InputPilotsAndFlights(Set.of(pilot), flights);
+
+        List<TimeMonth> hours = service.process(input).getSpecialists().getFirst().getTimeMonthList();
+        PilotFlightServiceImpl minuteService = new PilotFlightServiceImpl(null, new ConsoleRejectionSink(),
+                DutyRegime.standard().compile(FlightTimePrecision.MINUTES));
+        List<TimeMonth> minutes = minuteService.process(input).getSpecialists().getFirst().getTimeMonthList();
+
+        assertEquals(0L, hours.get(0).getTotalFlightHours());
+        assertEquals(null, hours.get(0).getPreciseFlightHours());
+        assertEquals(8L, hours.get(1).getTotalFlightHours());
+        assertFalse(hours.get(1).isExceedsDailyLimit());
+
+        assertEquals(1L, minutes.get(0).getTotalFlightHours());
+        assertEquals(new BigDecimal("1.25"), minutes.get(0).getPreciseFlightHours());
+        assertEquals(8L, minutes.get(1).getTotalFlightHours());
+        assertEquals(new BigDecimal("8.67"), minutes.get(1).getPreciseFlightHours());
+        assertTrue(minutes.get(1).isExceedsDailyLimit());
+    }
+
+    @Test
+    void process_TimeZones_SplitsDaysInCrewBaseZone() {
+        // 20:00 28 февраля в Нью-Йорке (01:00 UTC 1 марта) — 23:30 28 февраля в Лос-Анджелесе, 6,5 часа полета
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123", LocalDateTime.of(2025, 2, 28, 20, 0),
+                LocalDateTime.of(2025, 2, 28, 23, 30), "JFK", "LAX", List.of(1L, 2L));
+        Pilot losAngeles = new Pilot(1L, "Иван Иванов", "LAX", null);
+        Pilot newYork = new Pilot(2L, "Петр Петров", "JFK", null);
+        PilotFlightServiceImpl zonedService = new PilotFlightServiceImpl(null, new ConsoleRejectionSink(),
+                DutyRegime.standard().compile(FlightTimePrecision.MINUTES), AirportZones.builtIn(ZoneOffset.UTC));
+
+        List<Pilot> specialists = zonedService.process(
+                new InputPilotsAndFlights(Set.of(losAngeles, newYork), Set.of(flight))).getSpecialists();
+
+        List<TimeMonth> losAngelesMonths = specialists.get(0).getTimeMonthList();
+        assertEquals(1, losAngelesMonths.size());
+        assertEquals(LocalDate.of(2025, 2, 1), losAngelesMonths.get(0).getDate());
+        assertEquals(new BigDecimal("6.50"), losAngelesMonths.get(0).getPreciseFlightHours());
+
+        List<TimeMonth> newYorkMonths = specialists.get(1).getTimeMonthList();
+        assertEquals(new BigDecimal("4.00"), newYorkMonths.get(0).getPreciseFlightHours());
+        assertEquals(new BigDecimal("2.50"), newYorkMonths.get(1).getPreciseFlightHours());
+        assertEquals(1L, newYorkMonths.get(0).getTotalFlightsInMonth());
+    }
+
+    @Test
+    void processSnapshot_SameInput_MatchesBatchResult(@TempDir Path tempDir) throws Exception {
+        Set<Pilot> pilots = new HashSet<>();
+        Set<Flight> flights = new HashSet<>();
+        for (long id = 1; id <= 30; id++) {
+            pilots.add(new Pilot(id, "Пилот Номер", null));
+        }
+        for (long id = 1; id <= 300; id++) {
+            LocalDateTime departure = LocalDateTime.of(2025, 1, 1, 6, 0).plusHours(id * 13);
+            flights.add(new Flight(id, "Boeing 737", "ABC123", departure, departure.plusHours(3 + id % 20),
+                    "SVO", "LED", List.of(id % 30 + 1, (id * 7) % 30 + 1)));
+        }
+        InputPilotsAndFlights input = new InputPilotsAndFlights(pilots, flights);
+        File file = tempDir.resolve("snapshot.bin").toFile();
+        DataPersistenceService persistence = new DataPersistenceServiceImpl(ObjectMapperConfig.createConfigObjectMapperTime());
+
+        for (FlightTimePrecision precision : FlightTimePrecision.values()) {
+            PilotFlightServiceImpl preciseService = new PilotFlightServiceImpl(null, new ConsoleRejectionSink(),
+                    DutyRegime.rolling().compile(precision));
+            persistence.writeSnapshot(file, pilots, preciseService.savedPilotAndFlights(input), precision);
+            OutputPilotsAndFlights fromSnapshot = preciseService.process(persistence.loadSnapshot(file));
+            OutputPilotsAndFlights batch = preciseService.process(input);
+
+            assertEquals(batch.getSpecialists().size(), fromSnapshot.getSpecialists().size());
+            for (int i = 0; i < batch.getSpecialists().size(); i++) {
+                assertEquals(batch.getSpecialists().get(i).getIdPilot(), fromSnapshot.getSpecialists().get(i).getIdPilot());
+                assertEquals(batch.getSpecialists().get(i).getFullName(), fromSnapshot.getSpecialists().get(i).getFullName());
+                assertEquals(batch.getSpecialists().get(i).getTimeMonthList(), fromSnapshot.getSpecialists().get(i).getTimeMonthList());
+            }
+        }
+        assertThrows(IllegalArgumentException.class, () -> service.process(persistence.loadSnapshot(file)));
+    }
+}
@@ -2,8 +2,12 @@ package ru.example.validator;
 
 import org.junit.jupiter.api.Test;
 import ru.example.model.Flight;
+import ru.example.zone.AirportZones;
 
 import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
@@ -116,4 +120,79 @@ class FlightValidatorTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> validator.validate(flight));
         assertEquals("Идентификатор пилота должен быть положительным и отличным от null.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validated_ValidFlight_CarriesEpochSeconds() {
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(1970, 1, 2, 0, 0),
+                LocalDateTime.of(1970, 1, 2, 1, 30),
+                "SVO", "LED", List.of(1L));
+
+        ValidatedFlight validated = validator.validated(flight);
+
+        assertSame(flight, validated.getFlight());
+        assertEquals(86_400L, validated.getDepartureEpochSecond());
+        assertEquals(86_400L + 5_400L, validated.getArrivalEpochSecond());
+    }
+
+    @Test
+    void validated_InvalidFlight_ThrowsException() {
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2023, 10, 1, 12, 0),
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                "SVO", "LED", List.of(1L));
+        assertThrows(IllegalArgumentException.class, () -> validator.validated(flight));
+    }
+
+    @Test
+    void validateWithSink_CollectsAllViolations() {
+        Flight flight = new Flight(null, "", "ABC123",
+                LocalDateTime.of(2023, 10, 1, 12, 0),
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                "SVO", null, Arrays.asList(1L, null, -2L));
+        List<ValidationRule> violations = new ArrayList<>();
+
+        assertNull(validator.validated(flight, violations::add));
+        assertEquals(List.of(ValidationRule.FLIGHT_ID_NULL, ValidationRule.AIRCRAFT_TYPE_EMPTY,
+                ValidationRule.ARRIVAL_BEFORE_DEPARTURE, ValidationRule.ARRIVAL_AIRPORT_EMPTY,
+                ValidationRule.CREW_PILOT_ID_INVALID), violations);
+    }
+
+    @Test
+    void validatedWithSink_ValidFlight_NoViolations() {
+        Flight flight = new Flight(1L, "Boeing 737", "ABC123",
+                LocalDateTime.of(2023, 10, 1, 10, 0),
+                LocalDateTime.of(2023, 10, 1, 12, 0),
+                "SVO", "LED", List.of(1L, 2L));
+        List<ValidationRule> violations = new ArrayList<>();
+
+        ValidatedFlight validatedFlight = validator.validated(flight, violations::add);
+
+        assertNotNull(validatedFlight);
+        assertSame(flight, validatedFlight.getFlight());
+        assertTrue(violations.isEmpty());
+    }
+
+    @Test
+    void validatedWithAirportZones_WestboundLocalArrivalBeforeDeparture_ConvertedToInstants() {
+        FlightValidator zoned = new FlightValidator(AirportZones.builtIn(ZoneOffset.UTC));
+        // 18:00 в Токио (09:00 UTC) — 11:00 в Лос-Анджелесе (19:00 UTC) того же дня
+        Flight flight = new Flight(1L, "Boeing 777", "ABC123",
+                LocalDateTime.of(2025, 1, 10, 18, 0),
+                LocalDateTime.of(2025, 1, 10, 11, 0),
+                "NRT", "LAX", List.of(1L));
+        List<ValidationRule> violations = new ArrayList<>();
+
+        assertNull(validator.validated(flight, violations::add));
+        assertEquals(List.of(ValidationRule.ARRIVAL_BEFORE_DEPARTURE), violations);
+
+        ValidatedFlight validatedFlight = zoned.validated(flight);
+        assertEquals(LocalDateTime.of(2025, 1, 10, 9, 0).toEpochSecond(ZoneOffset.UTC), validatedFlight.getDepartureEpochSecond());
+        assertEquals(LocalDateTime.of(2025, 1, 10, 19, 0).toEpochSecond(ZoneOffset.UTC), validatedFlight.getArrivalEpochSecond());
+
+        violations.clear();
+        flight.setArrivalAirport("XXX");
+        assertNull(zoned.validated(flight, violations::add));
+        assertEquals(List.of(ValidationRule.AIRPORT_ZONE_UNKNOWN), violations);
+    }
+}
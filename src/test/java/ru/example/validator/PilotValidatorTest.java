@@ -3,6 +3,10 @@ package ru.example.validator;
 import org.junit.jupiter.api.Test;
 import ru.example.model.Pilot;
 
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
 import static org.junit.jupiter.api.Assertions.*;
 
 class PilotValidatorTest {
@@ -64,4 +68,73 @@ class PilotValidatorTest {
         IllegalArgumentException exception = assertThrows(IllegalArgumentException.class, () -> validator.validate(pilot));
         assertEquals("Полное имя не может быть длиннее 100 символов.", exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @Test
+    void validate_FullNameWithTabsAndLeadingSpace_SameAsSplit() {
+        assertDoesNotThrow(() -> validator.validate(new Pilot(1L, "Иван\tИванов", null)));
+        // split("\\s+") дает пустое первое слово, поэтому одно слово с пробелом в начале проходит проверку
+        assertDoesNotThrow(() -> validator.validate(new Pilot(1L, " Иван", null)));
+    }
+
+    @Test
+    void validate_ControlCharacters_SameMessagesAsRegex() {
+        IllegalArgumentException blank = assertThrows(IllegalArgumentException.class,
+                () -> validator.validate(new Pilot(1L, " \u0001 ", null)));
+        assertEquals("Полное имя не может быть пустым.", blank.getMessage());
+
+        IllegalArgumentException invalid = assertThrows(IllegalArgumentException.class,
+                () -> validator.validate(new Pilot(1L, "Иван\u0001Иванов", null)));
+        assertEquals("Полное имя может содержать только буквы и пробелы.", invalid.getMessage());
+    }
+
+    @Test
+    void checkFullName_RandomNames_MatchesRegexImplementation() {
+        char[] alphabet = {'a', 'Z', 'ж', 'Я', 'ё', 'Ё', ' ', '\t', '\n', '\u000B', '\u0001', '1', '-', '\u00A0'};
+        Random random = new Random(7);
+        for (int i = 0; i < 20_000; i++) {
+            char[] chars = new char[random.nextInt(i % 100 == 0 ? 110 : 8)];
+            for (int j = 0; j < chars.length; j++) {
+                chars[j] = alphabet[random.nextInt(alphabet.length)];
+            }
+            String fullName = new String(chars);
+            List<ValidationRule> violations = new ArrayList<>();
+            boolean valid = PilotValidator.checkFullName(fullName, violations::add);
+            String firstMessage = violations.isEmpty() ? null : violations.get(0).getMessage();
+            assertEquals(checkWithRegex(fullName), firstMessage, () -> "'" + fullName + "'");
+            assertEquals(valid, violations.isEmpty());
+        }
+    }
+
+    private static String checkWithRegex(String fullName) {
+        if (fullName.trim().isEmpty()) {
+            return "Полное имя не может быть пустым.";
+        }
+        if (!fullName.matches("[a-zA-Zа-яА-ЯёЁ\\s]+")) {
+            return "Полное имя может содержать только буквы и пробелы.";
+        }
+        if (fullName.split("\\s+").length < 2) {
+            return "Полное имя должно содержать хотя бы два слова.";
+        }
+        if (fullName.length() > 100) {
+            return "Полное имя не может быть длиннее 100 символов.";
+        }
+        return null;
+    }
+
+    @Test
+    void validateWithSink_CollectsAllViolations() {
+        List<ValidationRule> violations = new ArrayList<>();
+        boolean valid = validator.validate(new Pilot(-1L, "1" + "а".repeat(100), null), violations::add);
+
+        assertFalse(valid);
+        assertEquals(List.of(ValidationRule.PILOT_ID_NOT_POSITIVE, ValidationRule.FULL_NAME_INVALID_CHARS,
+                ValidationRule.FULL_NAME_SINGLE_WORD, ValidationRule.FULL_NAME_TOO_LONG), violations);
+    }
+
+    @Test
+    void validateWithSink_ValidPilot_NoViolations() {
+        List<ValidationRule> violations = new ArrayList<>();
+        assertTrue(validator.validate(new Pilot(1L, "Иван Иванов", null), violations::add));
+        assertTrue(violations.isEmpty());
+    }
+}
@@ -0,0 +1,68 @@
+package ru.example.zone;
+
+import org.junit.jupiter.api.Test;
+import ru.example.model.Pilot;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class ZoneTimelineTest {
+
+    private static final List<String> ZONES = List.of("America/New_York", "America/Los_Angeles", "Europe/London",
+            "Europe/Moscow", "Australia/Sydney", "Asia/Kolkata", "Pacific/Chatham", "UTC");
+
+    @Test
+    void conversions_MatchJavaTimeIncludingGapsAndOverlaps() {
+        Random random = new Random(11);
+        long from = LocalDateTime.of(1950, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        long to = LocalDateTime.of(2060, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC);
+        for (String id : ZONES) {
+            ZoneId zone = ZoneId.of(id);
+            ZoneTimeline timeline = ZoneTimeline.of(zone);
+            for (int i = 0; i < 20_000; i++) {
+                long second = from + (long) (random.nextDouble() * (to - from));
+                assertEquals(zone.getRules().getOffset(Instant.ofEpochSecond(second)).getTotalSeconds(),
+                        timeline.offsetAt(second), id);
+
+                LocalDateTime local = LocalDateTime.ofEpochSecond(second, 0, ZoneOffset.UTC);
+                assertEquals(local.atZone(zone).toEpochSecond(), timeline.toEpochSecond(second), id + " " + local);
+            }
+            // Время вокруг переходов, включая пропуски и перекрытия
+            zone.getRules().getTransitions().stream()
+                    .filter(t -> t.getDateTimeBefore().getYear() >= 1950)
+                    .forEach(t -> {
+                        long local = t.getDateTimeBefore().toEpochSecond(ZoneOffset.UTC);
+                        for (long delta = -7200; delta <= 7200; delta += 900) {
+                            LocalDateTime time = LocalDateTime.ofEpochSecond(local + delta, 0, ZoneOffset.UTC);
+                            assertEquals(time.atZone(zone).toEpochSecond(), timeline.toEpochSecond(local + delta), id + " " + time);
+                        }
+                    });
+        }
+    }
+
+    @Test
+    void of_SameZone_ReturnsCachedInstance() {
+        assertSame(ZoneTimeline.of(ZoneId.of("Europe/Moscow")), ZoneTimeline.of(ZoneId.of("Europe/Moscow")));
+    }
+
+    @Test
+    void airportZones_BuiltInTable_ResolvesAirportsAndCrewBase() {
+        AirportZones zones = AirportZones.builtIn(ZoneId.of("Europe/Moscow"));
+
+        assertEquals(ZoneId.of("America/New_York"), zones.timeline("JFK").zone());
+        assertEquals(ZoneId.of("Asia/Dubai"), zones.timeline("dxb").zone());
+        assertNull(zones.timeline("XXX"));
+        assertNull(zones.timeline(null));
+        assertEquals(ZoneId.of("Europe/London"), zones.baseOf(new Pilot(1L, "Иван Иванов", "LHR", null)).zone());
+        assertEquals(ZoneId.of("Europe/Moscow"), zones.baseOf(new Pilot(2L, "Петр Петров", null)).zone());
+        assertEquals(ZoneId.of("Europe/Moscow"), zones.baseOf(new Pilot(3L, "Петр Петров", "XXX", null)).zone());
+    }
+}